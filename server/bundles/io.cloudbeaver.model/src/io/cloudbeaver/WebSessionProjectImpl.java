@@ -29,8 +29,7 @@ import org.jkiss.dbeaver.model.navigator.DBNModel;
 import org.jkiss.dbeaver.model.rm.RMProject;
 import org.jkiss.dbeaver.model.rm.RMUtils;
 import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceEvent;
-import org.jkiss.dbeaver.registry.DataSourceDescriptor;
-import org.jkiss.dbeaver.registry.DataSourceRegistry;
+import org.jkiss.dbeaver.registry.*;
 import org.jkiss.dbeaver.runtime.jobs.DisconnectJob;
 
 import java.nio.file.Path;
@@ -197,7 +196,23 @@ public class WebSessionProjectImpl extends WebProjectImpl {
      * @param dataSourceIds list of updated connections
      * @param eventId  id of event
      */
-    public synchronized boolean updateProjectDataSources(@NotNull List<String> dataSourceIds, @NotNull String eventId) {
+    public boolean updateProjectDataSources(@NotNull List<String> dataSourceIds, @NotNull String eventId) {
+        return updateProjectDataSources(dataSourceIds, eventId, null);
+    }
+
+    /**
+     * updates data sources based on event in web session
+     *
+     * @param dataSourceIds list of updated connections
+     * @param eventId  id of event
+     * @param configuration data sources configuration which is already read from the resource controller.
+     *                      If null then configuration is read by the registry.
+     */
+    public synchronized boolean updateProjectDataSources(
+        @NotNull List<String> dataSourceIds,
+        @NotNull String eventId,
+        @Nullable byte[] configuration
+    ) {
         var sendDataSourceUpdatedEvent = false;
         DBPDataSourceRegistry registry = getDataSourceRegistry();
         // save old connections
@@ -209,7 +224,17 @@ public class WebSessionProjectImpl extends WebProjectImpl {
                 Function.identity())
             );
         if (WSDataSourceEvent.CREATED.equals(eventId) || WSDataSourceEvent.UPDATED.equals(eventId)) {
-            registry.refreshConfig(dataSourceIds);
+            if (configuration != null && registry instanceof DataSourcePersistentRegistry persistentRegistry) {
+                persistentRegistry.loadDataSources(
+                    List.of(new DataSourceMemoryStorage(configuration)),
+                    new DataSourceConfigurationManagerBuffer(),
+                    dataSourceIds,
+                    true,
+                    false
+                );
+            } else {
+                registry.refreshConfig(dataSourceIds);
+            }
         }
         for (String dsId : dataSourceIds) {
             DataSourceDescriptor ds = (DataSourceDescriptor) registry.getDataSource(dsId);
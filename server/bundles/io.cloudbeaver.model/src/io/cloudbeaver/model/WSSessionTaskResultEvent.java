@@ -0,0 +1,40 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.websocket.event.session.WSSessionTaskInfoEvent;
+
+/**
+ * Task completion event which carries task results.
+ * Has the same type as a regular task info event, so clients which don't expect results just ignore them.
+ */
+public class WSSessionTaskResultEvent extends WSSessionTaskInfoEvent {
+
+    @NotNull
+    private final Object result;
+
+    public WSSessionTaskResultEvent(@NotNull String taskId, String statusName, @NotNull Object result) {
+        super(taskId, statusName, false);
+        this.result = result;
+    }
+
+    @NotNull
+    public Object getResult() {
+        return result;
+    }
+}
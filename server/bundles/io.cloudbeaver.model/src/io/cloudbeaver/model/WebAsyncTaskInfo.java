@@ -16,6 +16,8 @@
  */
 package io.cloudbeaver.model;
 
+import io.cloudbeaver.model.session.WebAsyncTaskProcessor;
+import io.cloudbeaver.model.session.WebAsyncTaskScheduler;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 
@@ -31,10 +33,13 @@ public class WebAsyncTaskInfo {
     private boolean running = false;
     private Object result;
     private Object extendedResult;
+    private Object eventResult;
     private String status;
     private Throwable jobError;
 
     private AbstractJob job;
+    private WebAsyncTaskScheduler scheduler;
+    private WebAsyncTaskProcessor<?> processor;
 
     public WebAsyncTaskInfo(@NotNull String id, @NotNull String name) {
         this.id = id;
@@ -80,6 +85,15 @@ public class WebAsyncTaskInfo {
         this.extendedResult = extendedResult;
     }
 
+    // Event results are sent to client in task completion event
+    public Object getEventResult() {
+        return eventResult;
+    }
+
+    public void setEventResult(Object eventResult) {
+        this.eventResult = eventResult;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -108,4 +122,20 @@ public class WebAsyncTaskInfo {
         this.job = job;
     }
 
+    public WebAsyncTaskScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public void setScheduler(WebAsyncTaskScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public WebAsyncTaskProcessor<?> getProcessor() {
+        return processor;
+    }
+
+    public void setProcessor(WebAsyncTaskProcessor<?> processor) {
+        this.processor = processor;
+    }
+
 }
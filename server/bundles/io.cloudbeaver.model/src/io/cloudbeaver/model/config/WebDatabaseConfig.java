@@ -33,7 +33,7 @@ public class WebDatabaseConfig implements InternalDatabaseConfig {
 
     private boolean backupEnabled;
 
-    private final Pool pool = new Pool();
+    private final WebPool pool = new WebPool();
 
     @Override
     public String getDriver() {
@@ -73,7 +73,7 @@ public class WebDatabaseConfig implements InternalDatabaseConfig {
         return initialDataConfiguration;
     }
 
-    public Pool getPool() {
+    public WebPool getPool() {
         return pool;
     }
 
@@ -97,4 +97,20 @@ public class WebDatabaseConfig implements InternalDatabaseConfig {
     public void setUser(String user) {
         this.user = user;
     }
+
+    /**
+     * Connection pool configuration
+     */
+    public static class WebPool extends Pool {
+        // Max number of cached prepared statements per connection, 0 disables statements pooling
+        private int maxCachedStatements = 100;
+
+        public int getMaxCachedStatements() {
+            return maxCachedStatements;
+        }
+
+        public void setMaxCachedStatements(int maxCachedStatements) {
+            this.maxCachedStatements = maxCachedStatements;
+        }
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.rm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Resource controller which can read and write resource contents without loading them in memory.
+ */
+public interface RMResourceStreamController {
+
+    /**
+     * Opens read-only channel of the resource contents.
+     * Channel position may be changed to read a range of the resource.
+     */
+    @NotNull
+    SeekableByteChannel openResourceChannel(@NotNull String projectId, @NotNull String resourcePath) throws DBException;
+
+    /**
+     * Replaces resource contents with the stream data. The stream is read to the end but not closed.
+     */
+    @NotNull
+    String setResourceContents(
+        @NotNull String projectId,
+        @NotNull String resourcePath,
+        @NotNull InputStream data,
+        boolean forceOverwrite
+    ) throws DBException;
+}
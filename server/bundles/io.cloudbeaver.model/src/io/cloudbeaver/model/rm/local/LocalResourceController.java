@@ -19,6 +19,7 @@ package io.cloudbeaver.model.rm.local;
 import io.cloudbeaver.BaseWebProjectImpl;
 import io.cloudbeaver.DBWConstants;
 import io.cloudbeaver.model.app.ServletApplication;
+import io.cloudbeaver.model.rm.RMResourceStreamController;
 import io.cloudbeaver.model.rm.lock.RMFileLockController;
 import io.cloudbeaver.service.security.SMUtils;
 import io.cloudbeaver.service.sql.WebSQLConstants;
@@ -48,6 +49,10 @@ import org.jkiss.utils.IOUtils;
 import org.jkiss.utils.Pair;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.*;
 import java.text.MessageFormat;
 import java.time.OffsetDateTime;
@@ -60,10 +65,12 @@ import java.util.stream.Stream;
 /**
  * Resource manager API
  */
-public class LocalResourceController extends BaseLocalResourceController {
+public class LocalResourceController extends BaseLocalResourceController implements RMResourceStreamController {
 
     private static final Log log = Log.getLog(LocalResourceController.class);
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
     protected final SMCredentialsProvider credentialsProvider;
 
     private final Path rootPath;
@@ -74,6 +81,7 @@ public class LocalResourceController extends BaseLocalResourceController {
     protected final List<RMFileOperationHandler> fileHandlers;
 
     private final Map<String, BaseWebProjectImpl> projectRegistries = new LinkedHashMap<>();
+    private final RMResourceMetadataCache metadataCache = RMResourceMetadataCache.getInstance();
 
     public LocalResourceController(
         DBPWorkspace workspace,
@@ -83,7 +91,7 @@ public class LocalResourceController extends BaseLocalResourceController {
         Path sharedProjectsPath,
         Supplier<SMController> smControllerSupplier
     ) throws DBException {
-        super(workspace, new RMFileLockController(ServletAppUtils.getServletApplication()));
+        super(workspace, RMFileLockController.getWorkspaceController(ServletAppUtils.getServletApplication()));
         this.credentialsProvider = credentialsProvider;
         this.rootPath = rootPath;
         this.userProjectsPath = userProjectsPath;
@@ -307,6 +315,7 @@ public class LocalResourceController extends BaseLocalResourceController {
             try {
                 log.debug("Deleting project '" + projectId + "'");
                 IOUtils.deleteDirectory(targetPath);
+                metadataCache.invalidatePath(targetPath);
                 getSecurityController().deleteAllObjectPermissions(projectId, SMObjectType.project);
                 synchronized (projectRegistries) {
                     projectRegistries.remove(projectId);
@@ -377,16 +386,19 @@ public class LocalResourceController extends BaseLocalResourceController {
         boolean readHistory,
         boolean recursive
     ) throws IOException {
-        try (Stream<Path> files = Files.list(folderPath)) {
-            return files.filter(path -> {
-                    String fileName = path.getFileName().toString();
-                    return (nameMask == null || nameMask.equals(fileName)) && !fileName.startsWith(".");
-                }) // skip hidden files
-                .sorted(Comparator.comparing(path -> path.getFileName().toString(), String.CASE_INSENSITIVE_ORDER))
-                .map((Path path) -> makeResourceFromPath(projectId, path, nameMask, readProperties, readHistory, recursive))
-                .filter(Objects::nonNull)
-                .toArray(RMResource[]::new);
-        }
+        // hidden files are skipped by the cache
+        return metadataCache.getFolderEntries(folderPath).stream()
+            .filter(metadata -> nameMask == null || nameMask.equals(metadata.name()))
+            .map(metadata -> makeResource(
+                projectId,
+                folderPath.resolve(metadata.name()),
+                metadata,
+                nameMask,
+                readProperties,
+                readHistory,
+                recursive
+            ))
+            .toArray(RMResource[]::new);
     }
 
     @Override
@@ -452,6 +464,8 @@ public class LocalResourceController extends BaseLocalResourceController {
                     Files.move(oldTargetPath, newTargetPath);
                 } catch (IOException e) {
                     throw new DBException("Error moving resource '" + normalizedOldResourcePath + "'", e);
+                } finally {
+                    metadataCache.invalidatePath(newTargetPath);
                 }
 
                 log.debug("Moving resource properties");
@@ -579,6 +593,23 @@ public class LocalResourceController extends BaseLocalResourceController {
         });
     }
 
+    @NotNull
+    @Override
+    public SeekableByteChannel openResourceChannel(@NotNull String projectId, @NotNull String resourcePath) throws DBException {
+        validateResourcePath(resourcePath);
+        Path targetPath = getTargetPath(projectId, resourcePath);
+        if (!Files.exists(targetPath)) {
+            throw new DBException("Resource '" + resourcePath + "' doesn't exists");
+        }
+        return doFileReadOperation(projectId, targetPath, () -> {
+            try {
+                return FileChannel.open(targetPath, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new DBException("Error reading resource '" + resourcePath + "'", e);
+            }
+        });
+    }
+
     @NotNull
     @Override
     public String setResourceContents(
@@ -589,17 +620,7 @@ public class LocalResourceController extends BaseLocalResourceController {
     ) throws DBException {
         try (var ignoredLock = lockController.lockProject(projectId, "setResourceContents")) {
             validateResourcePath(resourcePath);
-            Number fileSizeLimit = ServletAppUtils.getServletApplication()
-                .getAppConfiguration()
-                .getResourceQuota(WebSQLConstants.QUOTA_PROP_RM_FILE_SIZE_LIMIT);
-            if (fileSizeLimit != null && data.length > fileSizeLimit.longValue()) {
-                throw new DBQuotaException(
-                    "File size quota exceeded",
-                    WebSQLConstants.QUOTA_PROP_RM_FILE_SIZE_LIMIT,
-                    fileSizeLimit.longValue(),
-                    data.length
-                );
-            }
+            checkFileSizeQuota(getFileSizeLimit(), data.length);
             Path targetPath = getTargetPath(projectId, resourcePath);
             if (!forceOverwrite && Files.exists(targetPath)) {
                 throw new DBException("Resource '" + IOUtils.getFileNameWithoutExtension(targetPath) + "' already exists");
@@ -623,6 +644,82 @@ public class LocalResourceController extends BaseLocalResourceController {
         return DEFAULT_CHANGE_ID;
     }
 
+    @NotNull
+    @Override
+    public String setResourceContents(
+        @NotNull String projectId,
+        @NotNull String resourcePath,
+        @NotNull InputStream data,
+        boolean forceOverwrite
+    ) throws DBException {
+        try (var ignoredLock = lockController.lockProject(projectId, "setResourceContents")) {
+            validateResourcePath(resourcePath);
+            long fileSizeLimit = getFileSizeLimit();
+            Path targetPath = getTargetPath(projectId, resourcePath);
+            if (!forceOverwrite && Files.exists(targetPath)) {
+                throw new DBException("Resource '" + IOUtils.getFileNameWithoutExtension(targetPath) + "' already exists");
+            }
+
+            doFileWriteOperation(projectId, targetPath, () -> {
+                createFolder(targetPath.getParent());
+                // Data is written to a hidden file first, so the resource is never seen partially written
+                Path tempPath = targetPath.resolveSibling("." + targetPath.getFileName() + "." + UUID.randomUUID() + ".tmp");
+                try {
+                    log.debug("Writing data stream to resource '" + targetPath + " in project " + projectId + "'");
+                    try (OutputStream out = Files.newOutputStream(tempPath, StandardOpenOption.CREATE_NEW)) {
+                        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                        long length = 0;
+                        for (int count = data.read(buffer); count != -1; count = data.read(buffer)) {
+                            length += count;
+                            checkFileSizeQuota(fileSizeLimit, length);
+                            out.write(buffer, 0, count);
+                        }
+                    }
+                    try {
+                        Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException e) {
+                    throw new DBException("Error writing resource '" + resourcePath + "'", e);
+                } finally {
+                    try {
+                        Files.deleteIfExists(tempPath);
+                    } catch (IOException e) {
+                        log.debug("Failed to delete temporary file " + tempPath + ": " + e.getMessage());
+                    }
+                }
+                return null;
+            });
+
+            if (!forceOverwrite) {
+                fireRmResourceAddEvent(projectId, resourcePath);
+            }
+        }
+        return DEFAULT_CHANGE_ID;
+    }
+
+    /**
+     * @return file size limit or -1 if files are not limited
+     */
+    private static long getFileSizeLimit() {
+        Number fileSizeLimit = ServletAppUtils.getServletApplication()
+            .getAppConfiguration()
+            .getResourceQuota(WebSQLConstants.QUOTA_PROP_RM_FILE_SIZE_LIMIT);
+        return fileSizeLimit == null ? -1 : fileSizeLimit.longValue();
+    }
+
+    private static void checkFileSizeQuota(long fileSizeLimit, long fileSize) throws DBQuotaException {
+        if (fileSizeLimit >= 0 && fileSize > fileSizeLimit) {
+            throw new DBQuotaException(
+                "File size quota exceeded",
+                WebSQLConstants.QUOTA_PROP_RM_FILE_SIZE_LIMIT,
+                fileSizeLimit,
+                fileSize
+            );
+        }
+    }
+
 
     @NotNull
     @Override
@@ -826,6 +923,8 @@ public class LocalResourceController extends BaseLocalResourceController {
                 fileHandler.handleFileChangeException(projectId, file, e);
             }
             throw e;
+        } finally {
+            metadataCache.invalidatePath(file);
         }
         for (RMFileOperationHandler fileHandler : fileHandlers) {
             fileHandler.afterFileChange(projectId, file, credentialsProvider.getActiveUserCredentials());
@@ -881,30 +980,37 @@ public class LocalResourceController extends BaseLocalResourceController {
         boolean readHistory,
         boolean recursive
     ) {
-        if (Files.notExists(path)) {
+        RMResourceMetadataCache.ResourceMetadata metadata = RMResourceMetadataCache.readMetadata(path);
+        if (metadata == null) {
             return null;
         }
+        return makeResource(projectId, path, metadata, nameMask, readProperties, readHistory, recursive);
+    }
+
+    @NotNull
+    private RMResource makeResource(
+        @NotNull String projectId,
+        @NotNull Path path,
+        @NotNull RMResourceMetadataCache.ResourceMetadata metadata,
+        @Nullable String nameMask,
+        boolean readProperties,
+        boolean readHistory,
+        boolean recursive
+    ) {
         RMResource resource = new RMResource();
-        resource.setName(path.getFileName().toString());
-        resource.setFolder(Files.isDirectory(path));
+        resource.setName(metadata.name());
+        resource.setFolder(metadata.folder());
         if (!resource.isFolder()) {
-            try {
-                resource.setLastModified(
-                    Files.getLastModifiedTime(path).toMillis());
-            } catch (IOException e) {
-                log.debug("Error getting last modified time: " + e.getMessage());
-            }
+            resource.setLastModified(metadata.lastModified());
+            resource.setLength(metadata.length());
         }
         try {
-            if (!resource.isFolder()) {
-                resource.setLength(Files.size(path));
-            }
             if (readHistory) {
                 resource.setChanges(
                     Collections.singletonList(
                         new RMResourceChange(
                             DEFAULT_CHANGE_ID,
-                            new Date(Files.getLastModifiedTime(path).toMillis()),
+                            new Date(metadata.lastModified()),
                             null
                         ))
                 );
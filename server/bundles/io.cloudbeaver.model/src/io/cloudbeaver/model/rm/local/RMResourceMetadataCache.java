@@ -0,0 +1,277 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.rm.local;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.utils.IOUtils;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of resource folder listings with basic file attributes of each entry.
+ * Shared by all resource controllers, since they are created per user context.
+ * <p>
+ * Cached folders are watched by the watch service, listings are invalidated on any change in the folder.
+ * Resource controllers also invalidate listings explicitly when they change resources.
+ * Changes made by other nodes may be not reported by the watch service (e.g. on network file systems),
+ * so listings also expire after a short time.
+ */
+public class RMResourceMetadataCache {
+
+    private static final Log log = Log.getLog(RMResourceMetadataCache.class);
+
+    private static final long ENTRY_TTL_MS = 60_000;
+    // Each cached folder is a watch registration, and the number of watches is limited by OS
+    private static final int MAX_CACHED_FOLDERS = 1000;
+
+    private static final RMResourceMetadataCache instance = new RMResourceMetadataCache();
+
+    public static RMResourceMetadataCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Resource metadata read with a single attributes call.
+     */
+    public record ResourceMetadata(@NotNull String name, boolean folder, long lastModified, long length) {
+        @NotNull
+        static ResourceMetadata of(@NotNull String name, @NotNull BasicFileAttributes attributes) {
+            return new ResourceMetadata(
+                name,
+                attributes.isDirectory(),
+                attributes.lastModifiedTime().toMillis(),
+                attributes.isDirectory() ? 0 : attributes.size()
+            );
+        }
+    }
+
+    private record FolderListing(@NotNull List<ResourceMetadata> entries, long loadTime, @Nullable WatchKey watchKey) {
+    }
+
+    // Listings by absolute folder path, in access order
+    private final LinkedHashMap<Path, FolderListing> folders = new LinkedHashMap<>(64, 0.75f, true);
+    // Incremented on each invalidation. Listings read before invalidation are not cached.
+    private final AtomicLong generation = new AtomicLong();
+    @Nullable
+    private WatchService watchService;
+    private boolean watchServiceFailed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private RMResourceMetadataCache() {
+    }
+
+    /**
+     * Reads metadata of a single resource.
+     *
+     * @return null if resource does not exist
+     */
+    @Nullable
+    public static ResourceMetadata readMetadata(@NotNull Path path) {
+        try {
+            return ResourceMetadata.of(path.getFileName().toString(), Files.readAttributes(path, BasicFileAttributes.class));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.debug("Error reading resource attributes: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns not hidden entries of the folder sorted by name (case-insensitive).
+     */
+    @NotNull
+    public List<ResourceMetadata> getFolderEntries(@NotNull Path folderPath) throws IOException {
+        Path folder = folderPath.toAbsolutePath().normalize();
+        synchronized (folders) {
+            FolderListing listing = folders.get(folder);
+            if (listing != null) {
+                if (System.currentTimeMillis() - listing.loadTime < ENTRY_TTL_MS) {
+                    hits.increment();
+                    return listing.entries;
+                }
+                removeListing(folder);
+            }
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        // Register watch before reading, so changes made during reading invalidate the listing
+        WatchKey watchKey = registerWatch(folder);
+        List<ResourceMetadata> entries = readFolderEntries(folder);
+        synchronized (folders) {
+            if (generation.get() == loadGeneration) {
+                folders.put(folder, new FolderListing(entries, System.currentTimeMillis(), watchKey));
+                for (Iterator<Map.Entry<Path, FolderListing>> iter = folders.entrySet().iterator();
+                     iter.hasNext() && folders.size() > MAX_CACHED_FOLDERS; ) {
+                    FolderListing eldest = iter.next().getValue();
+                    iter.remove();
+                    cancelWatch(eldest);
+                }
+            } else if (watchKey != null && !folders.containsKey(folder)) {
+                watchKey.cancel();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Invalidates listings of the resource path, all its sub-folders and parent folders.
+     */
+    public void invalidatePath(@NotNull Path path) {
+        Path resourcePath = path.toAbsolutePath().normalize();
+        synchronized (folders) {
+            generation.incrementAndGet();
+            invalidations.increment();
+            for (Iterator<Map.Entry<Path, FolderListing>> iter = folders.entrySet().iterator(); iter.hasNext(); ) {
+                Map.Entry<Path, FolderListing> entry = iter.next();
+                Path folder = entry.getKey();
+                if (folder.startsWith(resourcePath) || resourcePath.startsWith(folder)) {
+                    iter.remove();
+                    cancelWatch(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidates all listings
+     */
+    public void invalidateAll() {
+        synchronized (folders) {
+            generation.incrementAndGet();
+            invalidations.increment();
+            for (FolderListing listing : folders.values()) {
+                cancelWatch(listing);
+            }
+            folders.clear();
+        }
+    }
+
+    public void getStatusInfo(@NotNull Map<String, Object> infoMap) {
+        synchronized (folders) {
+            infoMap.put("rm.metadataCache.folders", folders.size());
+        }
+        infoMap.put("rm.metadataCache.hits", hits.sum());
+        infoMap.put("rm.metadataCache.misses", misses.sum());
+        infoMap.put("rm.metadataCache.invalidations", invalidations.sum());
+    }
+
+    @NotNull
+    private static List<ResourceMetadata> readFolderEntries(@NotNull Path folder) throws IOException {
+        List<ResourceMetadata> entries = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+            for (Path path : files) {
+                String fileName = path.getFileName().toString();
+                if (fileName.startsWith(".")) {
+                    // skip hidden files
+                    continue;
+                }
+                ResourceMetadata metadata = readMetadata(path);
+                if (metadata != null) {
+                    entries.add(metadata);
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(ResourceMetadata::name, String.CASE_INSENSITIVE_ORDER));
+        return Collections.unmodifiableList(entries);
+    }
+
+    private void removeListing(@NotNull Path folder) {
+        FolderListing listing = folders.remove(folder);
+        if (listing != null) {
+            cancelWatch(listing);
+        }
+    }
+
+    private static void cancelWatch(@NotNull FolderListing listing) {
+        if (listing.watchKey != null) {
+            listing.watchKey.cancel();
+        }
+    }
+
+    @Nullable
+    private WatchKey registerWatch(@NotNull Path folder) {
+        if (!IOUtils.isFileFromDefaultFS(folder)) {
+            return null;
+        }
+        WatchService service = getWatchService();
+        if (service == null) {
+            return null;
+        }
+        try {
+            return folder.register(
+                service,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+            );
+        } catch (IOException e) {
+            log.debug("Failed to watch resource folder " + folder + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private synchronized WatchService getWatchService() {
+        if (watchService == null && !watchServiceFailed) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+            } catch (IOException e) {
+                log.warn("Resource folders watch service is not available, listings are cached for a short time only", e);
+                watchServiceFailed = true;
+                return null;
+            }
+            Thread watchThread = new Thread(() -> processWatchEvents(watchService), "RM resource folders watcher");
+            watchThread.setDaemon(true);
+            watchThread.start();
+        }
+        return watchService;
+    }
+
+    private void processWatchEvents(@NotNull WatchService service) {
+        while (true) {
+            WatchKey watchKey;
+            try {
+                watchKey = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            watchKey.pollEvents();
+            Path folder = (Path) watchKey.watchable();
+            synchronized (folders) {
+                generation.incrementAndGet();
+                FolderListing listing = folders.get(folder);
+                if (listing != null && listing.watchKey == watchKey) {
+                    // the watch is registered again when the listing is read next time
+                    removeListing(folder);
+                } else {
+                    watchKey.cancel();
+                }
+            }
+        }
+    }
+}
@@ -28,27 +28,39 @@ import org.jkiss.utils.IOUtils;
 import java.io.IOException;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.file.*;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
- * File based resource locks
+ * File based resource locks.
+ * <p>
+ * Operations of the same node are serialized by in-process project locks,
+ * lock file is used to synchronize with other nodes which share the workspace.
  */
 public class RMFileLockController {
     private static final Log log = Log.getLog(RMFileLockController.class);
     private static final int DEFAULT_MAX_LOCK_TIME = 1 * 60 * 1000; // 1 min
     private static final int CHECK_PERIOD = 10;
+    // Lock file deletion made by another node may be not reported by the watch service (e.g. on network file systems)
+    private static final int WATCH_CHECK_PERIOD = 500;
 
     private static final String LOCK_META_FOLDER = ".locks";
     private static final String LOCK_FILE_EXTENSION = ".lock";
 
+    // Lock controllers shared by resource controllers of the same workspace
+    private static final Map<Path, RMFileLockController> workspaceControllers = new ConcurrentHashMap<>();
+
     private final Gson gson = new Gson();
 
     private final Path lockFolderPath;
     private final String applicationId;
     private final int maxLockTime;
-
+    // In-process project locks. Project ids are never removed, there are not so many projects in the workspace.
+    private final Map<String, Semaphore> projectLocks = new ConcurrentHashMap<>();
 
     public RMFileLockController(ServletApplication application) throws DBException {
         this(application, DEFAULT_MAX_LOCK_TIME);
@@ -56,18 +68,35 @@ public class RMFileLockController {
 
     // for tests
     public RMFileLockController(ServletApplication application, int maxLockTime) throws DBException {
-        this.lockFolderPath = application.getWorkspaceDirectory()
-            .resolve(DBPWorkspace.METADATA_FOLDER)
-            .resolve(LOCK_META_FOLDER);
+        this.lockFolderPath = getLockFolderPath(application);
         this.applicationId = application.getApplicationInstanceId();
         this.maxLockTime = maxLockTime;
     }
 
+    /**
+     * Returns lock controller of the application workspace.
+     * Resource controllers must share it, otherwise their operations are synchronized with lock files only.
+     */
+    @NotNull
+    public static RMFileLockController getWorkspaceController(@NotNull ServletApplication application) throws DBException {
+        Path lockFolderPath = getLockFolderPath(application);
+        synchronized (workspaceControllers) {
+            RMFileLockController controller = workspaceControllers.get(lockFolderPath);
+            if (controller == null) {
+                controller = new RMFileLockController(application);
+                workspaceControllers.put(lockFolderPath, controller);
+            }
+            return controller;
+        }
+    }
+
     /**
      * Lock the project for the duration of any operation.
      * Other threads/processes will also see this lock, and will wait for it to end
      * or force intercept lock, if the operation will take too long and
      * exceeds the maximum available locking time {@link #maxLockTime} or the lock is invalid {@link #awaitUnlock)}.
+     * Operations of the same node wait for the in-process project lock, so only locks of the same project
+     * are contended.
      *
      * @param projectId     - project to be locked
      * @param operationName - executed operation name
@@ -75,28 +104,19 @@ public class RMFileLockController {
      */
     @NotNull
     public RMLock lockProject(@NotNull String projectId, @NotNull String operationName) throws DBException {
-        synchronized (RMFileLockController.class) {
-            try {
-                RMLockInfo lockInfo = new RMLockInfo.Builder(projectId, UUID.randomUUID().toString())
-                    .setApplicationId(applicationId)
-                    .setOperationName(operationName)
-                    .setOperationStartTime(System.currentTimeMillis())
-                    .build();
-                Path projectLockFile = getProjectLockFilePath(projectId);
-
-                if (!IOUtils.isFileFromDefaultFS(lockFolderPath)) {
-                    // fake lock for external file system?
-                    return new RMLock(projectLockFile);
-                }
-                createLockFolderIfNeeded();
-                createProjectFolder(projectId);
-
-                createLockFile(projectLockFile, lockInfo);
-                return new RMLock(projectLockFile);
-            } catch (Exception e) {
-                throw new DBException("Failed to lock project: " + projectId, e);
-            }
+        Semaphore projectLock = getProjectLock(projectId);
+        boolean projectLockAcquired;
+        try {
+            projectLockAcquired = projectLock.tryAcquire(maxLockTime, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DBException("Failed to lock project: " + projectId, e);
+        }
+        if (!projectLockAcquired) {
+            // the same as for lock files - the operation takes too long, intercept the lock
+            log.warn("Project '" + projectId + "' has not been unlocked within the expected period, force unlock");
         }
+        return lockProjectFile(projectId, operationName, projectLockAcquired ? projectLock : null);
     }
 
     /**
@@ -109,22 +129,74 @@ public class RMFileLockController {
      */
     @Nullable
     public RMLock lockIfNotLocked(@NotNull String projectId, @NotNull String operationName) throws DBException {
-        synchronized (RMFileLockController.class) {
-            if (isProjectLocked(projectId)) {
-                return null;
-            }
-            return lockProject(projectId, operationName);
+        Semaphore projectLock = getProjectLock(projectId);
+        if (!projectLock.tryAcquire()) {
+            // locked by another operation of this node
+            return null;
         }
+        if (isProjectLocked(projectId)) {
+            projectLock.release();
+            return null;
+        }
+        return lockProjectFile(projectId, operationName, projectLock);
     }
 
     /**
      * Check that project locked
      */
     public boolean isProjectLocked(String projectId) {
+        Semaphore projectLock = projectLocks.get(projectId);
+        if (projectLock != null && projectLock.availablePermits() == 0) {
+            return true;
+        }
         Path projectLockFilePath = getProjectLockFilePath(projectId);
         return isLocked(projectLockFilePath);
     }
 
+    @NotNull
+    private Semaphore getProjectLock(@NotNull String projectId) {
+        return projectLocks.computeIfAbsent(projectId, id -> new Semaphore(1, true));
+    }
+
+    /**
+     * Creates the lock file. The in-process project lock (if any) must be already acquired,
+     * it is released on unlock or if the lock file can't be created.
+     */
+    @NotNull
+    private RMLock lockProjectFile(
+        @NotNull String projectId,
+        @NotNull String operationName,
+        @Nullable Semaphore projectLock
+    ) throws DBException {
+        Runnable releaseProjectLock = projectLock == null ? null : projectLock::release;
+        try {
+            RMLockInfo lockInfo = new RMLockInfo.Builder(projectId, UUID.randomUUID().toString())
+                .setApplicationId(applicationId)
+                .setOperationName(operationName)
+                .setOperationStartTime(System.currentTimeMillis())
+                .build();
+            Path projectLockFile = getProjectLockFilePath(projectId);
+
+            if (!IOUtils.isFileFromDefaultFS(lockFolderPath)) {
+                // fake lock for external file system?
+                return new RMLock(projectLockFile, releaseProjectLock);
+            }
+            createLockFolderIfNeeded();
+            createProjectFolder(projectId);
+
+            createLockFile(projectLockFile, lockInfo);
+            return new RMLock(projectLockFile, releaseProjectLock);
+        } catch (Exception e) {
+            if (projectLock != null) {
+                projectLock.release();
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new DBException("Failed to lock project: " + projectId, e);
+        }
+    }
+
     protected boolean isLocked(Path lockFilePath) {
         return Files.exists(lockFilePath);
     }
@@ -152,7 +224,7 @@ public class RMFileLockController {
             } catch (IOException e) {
                 log.error("Failed to write lock info, unlock project: " + lockInfo.getProjectId());
                 try {
-                    Files.deleteIfExists(lockFolderPath);
+                    Files.deleteIfExists(projectLockFile);
                 } catch (IOException ex) {
                     throw new DBException("Failed to remove invalid lock file: " + projectLockFile, ex);
                 }
@@ -189,21 +261,42 @@ public class RMFileLockController {
         log.info("Waiting for a file to be unlocked: " + projectLockFile);
         RMLockInfo originalLockInfo = readLockInfo(projectId, projectLockFile);
         boolean fileUnlocked = originalLockInfo == null; //lock can be removed at the moment when we try to read lock file info
-        int maxIterations = maxLockTime / CHECK_PERIOD;
-        int currentCheckCount = 0;
+        if (fileUnlocked) {
+            return;
+        }
+        long waitEndTime = System.currentTimeMillis() + maxLockTime;
 
-        while (!fileUnlocked) {
-            fileUnlocked = !isLocked(projectLockFile);
-            if (currentCheckCount >= maxIterations || fileUnlocked) {
-                break;
+        WatchService watchService = openWatchService(projectLockFile);
+        try {
+            while (true) {
+                fileUnlocked = !isLocked(projectLockFile);
+                long waitTime = waitEndTime - System.currentTimeMillis();
+                if (waitTime <= 0 || fileUnlocked) {
+                    break;
+                }
+                if (originalLockInfo != null && originalLockInfo.isBlank()) {
+                    // possible in situation where the project has just been locked
+                    // and the lock information has not yet been written
+                    originalLockInfo = readLockInfo(projectId, projectLockFile);
+                }
+                if (watchService == null) {
+                    Thread.sleep(Math.min(waitTime, CHECK_PERIOD));
+                } else {
+                    WatchKey watchKey = watchService.poll(Math.min(waitTime, WATCH_CHECK_PERIOD), TimeUnit.MILLISECONDS);
+                    if (watchKey != null) {
+                        watchKey.pollEvents();
+                        watchKey.reset();
+                    }
+                }
             }
-            if (originalLockInfo != null & originalLockInfo.isBlank()) {
-                // possible in situation where the project has just been locked
-                // and the lock information has not yet been written
-                originalLockInfo = readLockInfo(projectId, projectLockFile);
+        } finally {
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close lock file watch service", e);
+                }
             }
-            currentCheckCount++;
-            Thread.sleep(CHECK_PERIOD);
         }
         if (fileUnlocked) {
             return;
@@ -219,7 +312,32 @@ public class RMFileLockController {
         if (originalLockInfo.getOperationId().equals(currentLockInfo.getOperationId())) {
             forceUnlock(projectLockFile);
         } else {
-            awaitUnlock(projectId, lockFolderPath);
+            awaitUnlock(projectId, projectLockFile);
+        }
+    }
+
+    /**
+     * Watches the lock folder for lock file deletion.
+     *
+     * @return watch service or null if the file system does not support it, the lock file is polled then
+     */
+    @Nullable
+    private WatchService openWatchService(@NotNull Path projectLockFile) {
+        WatchService watchService = null;
+        try {
+            watchService = projectLockFile.getFileSystem().newWatchService();
+            projectLockFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_DELETE);
+            return watchService;
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("Lock file watch service is not available, poll the lock file: " + e.getMessage());
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (IOException ex) {
+                    log.debug(ex);
+                }
+            }
+            return null;
         }
     }
 
@@ -255,6 +373,13 @@ public class RMFileLockController {
         }
     }
 
+    @NotNull
+    private static Path getLockFolderPath(@NotNull ServletApplication application) {
+        return application.getWorkspaceDirectory()
+            .resolve(DBPWorkspace.METADATA_FOLDER)
+            .resolve(LOCK_META_FOLDER);
+    }
+
     private Path getProjectLockFilePath(String projectId) {
         return lockFolderPath.resolve(projectId).resolve(projectId + LOCK_FILE_EXTENSION);
     }
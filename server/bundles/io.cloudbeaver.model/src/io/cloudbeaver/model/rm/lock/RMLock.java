@@ -16,6 +16,7 @@
  */
 package io.cloudbeaver.model.rm.lock;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 
 import java.io.IOException;
@@ -29,22 +30,47 @@ public class RMLock implements AutoCloseable {
     private static final Log log = Log.getLog(RMLock.class);
 
     private final Path lockFilePath;
+    @Nullable
+    private Runnable unlockHandler;
 
     public RMLock(Path lockFilePath) {
+        this(lockFilePath, null);
+    }
+
+    /**
+     * @param unlockHandler called once, after the lock file is removed
+     */
+    public RMLock(Path lockFilePath, @Nullable Runnable unlockHandler) {
         this.lockFilePath = lockFilePath;
+        this.unlockHandler = unlockHandler;
     }
 
     /**
      * Unlock resource and remove .lock file
      */
     public void unlock() {
+        try {
+            deleteLockFile();
+        } finally {
+            Runnable handler;
+            synchronized (this) {
+                handler = unlockHandler;
+                unlockHandler = null;
+            }
+            if (handler != null) {
+                handler.run();
+            }
+        }
+    }
+
+    private void deleteLockFile() {
         try {
             Files.deleteIfExists(lockFilePath);
         } catch (IOException e) {
             log.error("Failed to unlock file: " + lockFilePath, e);
             if (Files.exists(lockFilePath)) {
                 // file still locket, try to unlock again
-                unlock();
+                deleteLockFile();
             }
         }
     }
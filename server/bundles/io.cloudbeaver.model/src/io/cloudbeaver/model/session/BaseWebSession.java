@@ -55,7 +55,7 @@ public abstract class BaseWebSession extends AbstractSessionPersistent {
     protected volatile long lastAccessTime;
 
     private final List<CBWebSessionEventHandler> sessionEventHandlers = new CopyOnWriteArrayList<>();
-    private WebSessionEventsFilter eventsFilter = new WebSessionEventsFilter();
+    private volatile WebSessionEventsFilter eventsFilter = new WebSessionEventsFilter();
     private final WebSessionWorkspace workspace;
 
     public BaseWebSession(@NotNull String id, @NotNull ServletApplication application) throws DBException {
@@ -87,14 +87,13 @@ public abstract class BaseWebSession extends AbstractSessionPersistent {
         if (!eventAllowedByFilter) {
             return;
         }
-        synchronized (sessionEventHandlers) {
-            for (CBWebSessionEventHandler eventHandler : sessionEventHandlers) {
-                try {
-                    eventHandler.handleWebSessionEvent(event);
-                } catch (DBException e) {
-                    log.error(e.getMessage(), e);
-                    addSessionError(e);
-                }
+        // Handlers list is copy-on-write, no need to block handlers registration while event is dispatched
+        for (CBWebSessionEventHandler eventHandler : sessionEventHandlers) {
+            try {
+                eventHandler.handleWebSessionEvent(event);
+            } catch (DBException e) {
+                log.error(e.getMessage(), e);
+                addSessionError(e);
             }
         }
     }
@@ -104,12 +103,24 @@ public abstract class BaseWebSession extends AbstractSessionPersistent {
     public void addEventHandler(@NotNull CBWebSessionEventHandler handler) {
         synchronized (sessionEventHandlers) {
             sessionEventHandlers.add(handler);
+            // Only sessions with event handlers are routed by the events index
+            eventsFilter.attachToIndex(this);
         }
     }
 
+    /**
+     * Returns true if session has connected event handlers (websockets), so pushed events reach the client
+     */
+    public boolean hasEventHandlers() {
+        return !sessionEventHandlers.isEmpty();
+    }
+
     public void removeEventHandler(@NotNull CBWebSessionEventHandler handler) {
         synchronized (sessionEventHandlers) {
             sessionEventHandlers.remove(handler);
+            if (sessionEventHandlers.isEmpty()) {
+                eventsFilter.detachFromIndex();
+            }
         }
     }
 
@@ -201,6 +212,7 @@ public abstract class BaseWebSession extends AbstractSessionPersistent {
                 sessionEventHandler.close();
             }
             sessionEventHandlers.clear();
+            eventsFilter.detachFromIndex();
 
             workspace.dispose();
 
@@ -214,7 +226,13 @@ public abstract class BaseWebSession extends AbstractSessionPersistent {
     }
 
     public void setEventsFilter(@NotNull WebSessionEventsFilter eventsFilter) {
-        this.eventsFilter = eventsFilter;
+        synchronized (sessionEventHandlers) {
+            this.eventsFilter.detachFromIndex();
+            this.eventsFilter = eventsFilter;
+            if (!sessionEventHandlers.isEmpty()) {
+                eventsFilter.attachToIndex(this);
+            }
+        }
     }
 
     public boolean isProjectAccessible(String projectId) {
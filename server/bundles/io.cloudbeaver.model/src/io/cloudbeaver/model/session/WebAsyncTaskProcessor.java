@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.model.runtime.DBRRunnableWithResult;
 public abstract class WebAsyncTaskProcessor<TYPE> extends DBRRunnableWithResult<TYPE> {
 
     protected Object extendedResults;
+    protected Object eventResults;
 
     public Object getExtendedResults() {
         return extendedResults;
@@ -32,4 +33,22 @@ public abstract class WebAsyncTaskProcessor<TYPE> extends DBRRunnableWithResult<
     public void setExtendedResults(Object extendedResults) {
         this.extendedResults = extendedResults;
     }
+
+    /**
+     * Results which are sent to the client in task completion event.
+     * Must be serializable to JSON.
+     */
+    public Object getEventResults() {
+        return eventResults;
+    }
+
+    public void setEventResults(Object eventResults) {
+        this.eventResults = eventResults;
+    }
+
+    /**
+     * Called if task was canceled before it started, so {@link #run} is never called.
+     */
+    public void onTaskCanceled() {
+    }
 }
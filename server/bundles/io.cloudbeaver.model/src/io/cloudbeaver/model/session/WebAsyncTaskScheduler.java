@@ -0,0 +1,197 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.session;
+
+import io.cloudbeaver.model.app.ServletApplication;
+import io.cloudbeaver.service.sql.WebSQLConstants;
+import io.cloudbeaver.utils.ServletAppUtils;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Limits the number of simultaneously running web session async tasks.
+ * <p>
+ * Tasks which exceed the limit are queued. Each user (or anonymous session) has its own queue,
+ * queues are served in round-robin order, so one user can't delay tasks of other users.
+ * Tasks are executed as regular jobs, scheduler only decides when the job is scheduled.
+ * <p>
+ * Long-running data transfer tasks (results streaming, export and import) have their own scheduler,
+ * so they can't occupy all slots of regular queries.
+ */
+public class WebAsyncTaskScheduler {
+
+    private static final int DEFAULT_MAX_RUNNING_TASKS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    private static final int DEFAULT_MAX_RUNNING_TRANSFERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    // Maximum number of waiting tasks of a single user
+    private static final int DEFAULT_MAX_QUEUED_TASKS = 100;
+
+    private static final WebAsyncTaskScheduler instance = new WebAsyncTaskScheduler(
+        "tasks",
+        () -> getQuotaLimit(WebSQLConstants.QUOTA_PROP_SERVER_QUERY_LIMIT, DEFAULT_MAX_RUNNING_TASKS),
+        DEFAULT_MAX_QUEUED_TASKS);
+    private static final WebAsyncTaskScheduler transferInstance = new WebAsyncTaskScheduler(
+        "transfers",
+        () -> getQuotaLimit(WebSQLConstants.QUOTA_PROP_SERVER_TRANSFER_LIMIT, DEFAULT_MAX_RUNNING_TRANSFERS),
+        DEFAULT_MAX_QUEUED_TASKS);
+
+    public static WebAsyncTaskScheduler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Scheduler for results streaming, data export and import tasks
+     */
+    public static WebAsyncTaskScheduler getTransferInstance() {
+        return transferInstance;
+    }
+
+    @NotNull
+    private final String name;
+    @NotNull
+    private final IntSupplier maxRunningTasks;
+    private final int maxQueuedTasks;
+
+    // Queues of waiting tasks by user. Queue is removed once it is empty.
+    private final Map<String, ArrayDeque<AbstractJob>> queues = new HashMap<>();
+    // Order in which user queues are served
+    private final ArrayDeque<String> queueOrder = new ArrayDeque<>();
+    private int runningTasks;
+    private int queuedTasks;
+
+    private final LongAdder totalTasks = new LongAdder();
+    private final LongAdder totalQueuedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    /**
+     * @param name            name used as a prefix of status properties
+     * @param maxRunningTasks maximum number of simultaneously running tasks, it is read on each scheduling decision
+     * @param maxQueuedTasks  maximum number of waiting tasks in a single user queue
+     */
+    public WebAsyncTaskScheduler(@NotNull String name, @NotNull IntSupplier maxRunningTasks, int maxQueuedTasks) {
+        this.name = name;
+        this.maxRunningTasks = maxRunningTasks;
+        this.maxQueuedTasks = maxQueuedTasks;
+    }
+
+    /**
+     * Schedules the job immediately if there is a free slot, otherwise adds it to the user queue.
+     *
+     * @return false if the user queue is full and the job was rejected
+     */
+    public boolean submit(@NotNull String queueKey, @NotNull AbstractJob job) {
+        totalTasks.increment();
+        synchronized (queues) {
+            if (runningTasks >= maxRunningTasks.getAsInt() || !queues.isEmpty()) {
+                ArrayDeque<AbstractJob> queue = queues.get(queueKey);
+                if (queue == null) {
+                    queue = new ArrayDeque<>();
+                    queues.put(queueKey, queue);
+                    queueOrder.add(queueKey);
+                } else if (queue.size() >= maxQueuedTasks) {
+                    rejectedTasks.increment();
+                    return false;
+                }
+                queue.add(job);
+                queuedTasks++;
+                totalQueuedTasks.increment();
+                return true;
+            }
+            runningTasks++;
+            // Job is scheduled under the lock, so cancel() either finds it in the queue or it is already scheduled
+            job.schedule();
+        }
+        return true;
+    }
+
+    /**
+     * Must be called when job scheduled by this scheduler is finished.
+     */
+    public void taskFinished() {
+        synchronized (queues) {
+            runningTasks--;
+            int maxRunning = maxRunningTasks.getAsInt();
+            while (runningTasks < maxRunning && !queueOrder.isEmpty()) {
+                String queueKey = queueOrder.poll();
+                ArrayDeque<AbstractJob> queue = queues.get(queueKey);
+                AbstractJob job = queue.poll();
+                queuedTasks--;
+                runningTasks++;
+                if (queue.isEmpty()) {
+                    queues.remove(queueKey);
+                } else {
+                    // Move to the end of the line
+                    queueOrder.add(queueKey);
+                }
+                job.schedule();
+            }
+        }
+    }
+
+    /**
+     * Removes job from the queue.
+     *
+     * @return true if job was waiting in the queue and won't be executed.
+     * Otherwise the job is already scheduled and must be canceled as a regular job.
+     */
+    public boolean cancel(@NotNull AbstractJob job) {
+        synchronized (queues) {
+            for (Iterator<Map.Entry<String, ArrayDeque<AbstractJob>>> iter = queues.entrySet().iterator(); iter.hasNext(); ) {
+                Map.Entry<String, ArrayDeque<AbstractJob>> entry = iter.next();
+                if (entry.getValue().remove(job)) {
+                    queuedTasks--;
+                    if (entry.getValue().isEmpty()) {
+                        iter.remove();
+                        queueOrder.remove(entry.getKey());
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void taskRejected() {
+        rejectedTasks.increment();
+    }
+
+    public void getStatusInfo(@NotNull Map<String, Object> infoMap) {
+        synchronized (queues) {
+            infoMap.put(name + ".running", runningTasks);
+            infoMap.put(name + ".queued", queuedTasks);
+            infoMap.put(name + ".queuedUsers", queues.size());
+        }
+        infoMap.put(name + ".maxRunning", maxRunningTasks.getAsInt());
+        infoMap.put(name + ".total", totalTasks.sum());
+        infoMap.put(name + ".totalQueued", totalQueuedTasks.sum());
+        infoMap.put(name + ".rejected", rejectedTasks.sum());
+    }
+
+    private static int getQuotaLimit(@NotNull String quotaName, int defaultLimit) {
+        ServletApplication application = ServletAppUtils.getServletApplication();
+        if (application != null && application.getAppConfiguration() != null) {
+            Number limit = application.getAppConfiguration().getResourceQuota(quotaName);
+            if (limit != null && limit.intValue() > 0) {
+                return limit.intValue();
+            }
+        }
+        return defaultLimit;
+    }
+}
@@ -36,6 +36,8 @@ import io.cloudbeaver.utils.WebEventUtils;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
@@ -459,6 +461,7 @@ public class WebSession extends BaseWebSession
     @Override
     public void close() {
         try {
+            cancelQueuedTasks();
             resetNavigationModel();
             resetSessionCache();
         } catch (Throwable e) {
@@ -476,6 +479,7 @@ public class WebSession extends BaseWebSession
     @Override
     public void close(boolean clearTokens, boolean sendSessionExpiredEvent) {
         try {
+            cancelQueuedTasks();
             resetNavigationModel();
             resetSessionCache();
         } catch (Throwable e) {
@@ -545,32 +549,99 @@ public class WebSession extends BaseWebSession
         }
         AbstractJob job = taskInfo.getJob();
         if (job != null) {
-            job.cancel();
+            if (taskInfo.getScheduler().cancel(job)) {
+                // Task was waiting in the queue and never started
+                taskCount.decrementAndGet();
+                finishCanceledTask(taskInfo);
+            } else {
+                job.cancel();
+            }
         }
         return true;
     }
 
+    private void cancelQueuedTasks() {
+        List<WebAsyncTaskInfo> tasks;
+        synchronized (asyncTasks) {
+            tasks = new ArrayList<>(asyncTasks.values());
+        }
+        for (WebAsyncTaskInfo taskInfo : tasks) {
+            if (taskInfo.getJob() != null && taskInfo.getScheduler().cancel(taskInfo.getJob())) {
+                taskCount.decrementAndGet();
+                taskInfo.setStatus("Canceled");
+                taskInfo.setRunning(false);
+                notifyTaskCanceled(taskInfo);
+            }
+        }
+    }
+
+    private void finishCanceledTask(@NotNull WebAsyncTaskInfo taskInfo) {
+        taskInfo.setStatus("Canceled");
+        taskInfo.setRunning(false);
+        notifyTaskCanceled(taskInfo);
+        WebEventUtils.sendAsyncTaskEvent(this, taskInfo);
+    }
+
+    private static void notifyTaskCanceled(@NotNull WebAsyncTaskInfo taskInfo) {
+        WebAsyncTaskProcessor<?> processor = taskInfo.getProcessor();
+        taskInfo.setProcessor(null);
+        if (processor != null) {
+            try {
+                processor.onTaskCanceled();
+            } catch (Throwable e) {
+                log.error("Error processing task cancel", e);
+            }
+        }
+    }
+
+    /**
+     * Tasks of the same user share a single queue in the task scheduler
+     */
+    @NotNull
+    private String getTaskQueueKey() {
+        String userId = getUserId();
+        return userId != null ? "user:" + userId : "session:" + getSessionId();
+    }
+
     public WebAsyncTaskInfo createAndRunAsyncTask(@NotNull String taskName, @NotNull WebAsyncTaskProcessor<?> runnable) {
+        return createAndRunAsyncTask(taskName, runnable, WebAsyncTaskScheduler.getInstance());
+    }
+
+    /**
+     * Runs the task in the specified scheduler.
+     * Results streaming, export and import tasks use {@link WebAsyncTaskScheduler#getTransferInstance()}.
+     */
+    public WebAsyncTaskInfo createAndRunAsyncTask(
+        @NotNull String taskName,
+        @NotNull WebAsyncTaskProcessor<?> runnable,
+        @NotNull WebAsyncTaskScheduler scheduler
+    ) {
         int taskId = TASK_ID.incrementAndGet();
         WebAsyncTaskInfo asyncTask = getAsyncTask(String.valueOf(taskId), taskName, true);
 
+        // Check quota before the task is queued, so it is rejected instead of starting and failing
+        int curTaskCount = taskCount.incrementAndGet();
+        Number queryLimit = application.getAppConfiguration().getResourceQuota(WebSQLConstants.QUOTA_PROP_QUERY_LIMIT);
+        if (queryLimit != null && curTaskCount > queryLimit.intValue()) {
+            taskCount.decrementAndGet();
+            scheduler.taskRejected();
+            rejectTask(asyncTask, new DBQuotaException(
+                "Maximum simultaneous queries quota exceeded", WebSQLConstants.QUOTA_PROP_QUERY_LIMIT, queryLimit.intValue(), curTaskCount));
+            return asyncTask;
+        }
+
         AbstractJob job = new AbstractJob(taskName) {
             @Override
             protected IStatus run(DBRProgressMonitor monitor) {
-                int curTaskCount = taskCount.incrementAndGet();
-
                 DBRProgressMonitor taskMonitor = new TaskProgressMonitor(monitor, WebSession.this, asyncTask);
 
                 try {
-                    Number queryLimit = application.getAppConfiguration().getResourceQuota(WebSQLConstants.QUOTA_PROP_QUERY_LIMIT);
-                    if (queryLimit != null && curTaskCount > queryLimit.intValue()) {
-                        throw new DBQuotaException(
-                            "Maximum simultaneous queries quota exceeded", WebSQLConstants.QUOTA_PROP_QUERY_LIMIT, queryLimit.intValue(), curTaskCount);
-                    }
-
                     runnable.run(taskMonitor);
                     asyncTask.setResult(runnable.getResult());
                     asyncTask.setExtendedResult(runnable.getExtendedResults());
+                    asyncTask.setEventResult(runnable.getEventResults());
+                    // Job keeps the processor, event results must be released once they are sent
+                    runnable.setEventResults(null);
                     asyncTask.setStatus("Finished");
                 } catch (InvocationTargetException e) {
                     addSessionError(e.getTargetException());
@@ -586,12 +657,39 @@ public class WebSession extends BaseWebSession
             }
         };
 
+        job.addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void done(IJobChangeEvent event) {
+                scheduler.taskFinished();
+                if (asyncTask.isRunning()) {
+                    // Job was canceled before it started
+                    taskCount.decrementAndGet();
+                    finishCanceledTask(asyncTask);
+                }
+                asyncTask.setProcessor(null);
+            }
+        });
+
         asyncTask.setJob(job);
+        asyncTask.setScheduler(scheduler);
+        asyncTask.setProcessor(runnable);
         asyncTask.setRunning(true);
-        job.schedule();
+        if (!scheduler.submit(getTaskQueueKey(), job)) {
+            taskCount.decrementAndGet();
+            asyncTask.setJob(null);
+            asyncTask.setProcessor(null);
+            rejectTask(asyncTask, new DBException("Too many queued tasks, try again later"));
+        }
         return asyncTask;
     }
 
+    private void rejectTask(@NotNull WebAsyncTaskInfo asyncTask, @NotNull Throwable error) {
+        asyncTask.setJobError(error);
+        asyncTask.setStatus("Rejected");
+        asyncTask.setRunning(false);
+        WebEventUtils.sendAsyncTaskEvent(this, asyncTask);
+    }
+
     public void addSessionError(Throwable exception) {
         addSessionMessage(new WebServerMessage(exception));
     }
@@ -27,25 +27,51 @@ import java.util.concurrent.CopyOnWriteArraySet;
 public class WebSessionEventsFilter {
     private final Set<String> subscribedEventTopics = new CopyOnWriteArraySet<>();
     private final Set<String> subscribedProjectIds = new CopyOnWriteArraySet<>();
+    // Session which subscriptions are kept in the events index
+    @Nullable
+    private BaseWebSession indexedSession;
 
-    public void subscribeOnEventTopic(@Nullable String topic) {
+    public synchronized void subscribeOnEventTopic(@Nullable String topic) {
         if (topic == null) {
             return;
         }
-        subscribedEventTopics.add(topic);
+        if (subscribedEventTopics.add(topic)) {
+            updateIndex();
+        }
     }
 
-    public void unsubscribeFromEventTopic(@Nullable String topic) {
+    public synchronized void unsubscribeFromEventTopic(@Nullable String topic) {
         if (topic == null) {
             return;
         }
-        subscribedEventTopics.remove(topic);
+        if (subscribedEventTopics.remove(topic)) {
+            updateIndex();
+        }
+    }
+
+    public synchronized void setSubscribedProjects(@NotNull Set<String> subscribedProjectIds) {
+        this.subscribedProjectIds.clear();
+        this.subscribedProjectIds.addAll(subscribedProjectIds);
+        updateIndex();
+    }
+
+    synchronized void attachToIndex(@NotNull BaseWebSession session) {
+        if (indexedSession != session) {
+            indexedSession = session;
+            updateIndex();
+        }
+    }
+
+    synchronized void detachFromIndex() {
+        if (indexedSession != null) {
+            WebSessionEventsIndex.getInstance().removeSession(indexedSession);
+            indexedSession = null;
+        }
     }
 
-    public void setSubscribedProjects(@NotNull Set<String> subscribedProjectIds) {
-        synchronized (this.subscribedProjectIds) {
-            this.subscribedProjectIds.clear();
-            this.subscribedProjectIds.addAll(subscribedProjectIds);
+    private void updateIndex() {
+        if (indexedSession != null) {
+            WebSessionEventsIndex.getInstance().updateSession(indexedSession, subscribedEventTopics, subscribedProjectIds);
         }
     }
 
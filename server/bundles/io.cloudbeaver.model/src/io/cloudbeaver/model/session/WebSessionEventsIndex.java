@@ -0,0 +1,189 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.session;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.websocket.event.WSEvent;
+import org.jkiss.dbeaver.model.websocket.event.WSProjectResourceEvent;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Index of event subscriptions of sessions with connected event handlers (websockets).
+ * <p>
+ * Sessions are indexed by subscribed topics and projects, so event is routed only to interested sessions.
+ * Session without topic (or project) subscriptions receives events of all topics (projects),
+ * the same as in {@link WebSessionEventsFilter}.
+ */
+public class WebSessionEventsIndex {
+
+    private static final WebSessionEventsIndex instance = new WebSessionEventsIndex();
+
+    public static WebSessionEventsIndex getInstance() {
+        return instance;
+    }
+
+    private record Subscription(@NotNull Set<String> topics, @NotNull Set<String> projectIds) {
+    }
+
+    private final Map<BaseWebSession, Subscription> sessions = new HashMap<>();
+    private final Set<BaseWebSession> allTopicsSessions = new HashSet<>();
+    private final Map<String, Set<BaseWebSession>> topicSessions = new HashMap<>();
+    private final Set<BaseWebSession> allProjectsSessions = new HashSet<>();
+    private final Map<String, Set<BaseWebSession>> projectSessions = new HashMap<>();
+
+    private WebSessionEventsIndex() {
+    }
+
+    /**
+     * Adds session to the index or replaces its subscriptions.
+     * Empty topics (projects) set means subscription to all topics (projects).
+     */
+    public synchronized void updateSession(
+        @NotNull BaseWebSession session,
+        @NotNull Set<String> topics,
+        @NotNull Set<String> projectIds
+    ) {
+        removeSession(session);
+        Subscription subscription = new Subscription(Set.copyOf(topics), Set.copyOf(projectIds));
+        sessions.put(session, subscription);
+        addToIndex(session, subscription.topics, allTopicsSessions, topicSessions);
+        addToIndex(session, subscription.projectIds, allProjectsSessions, projectSessions);
+    }
+
+    public synchronized void removeSession(@NotNull BaseWebSession session) {
+        Subscription subscription = sessions.remove(session);
+        if (subscription == null) {
+            return;
+        }
+        removeFromIndex(session, subscription.topics, allTopicsSessions, topicSessions);
+        removeFromIndex(session, subscription.projectIds, allProjectsSessions, projectSessions);
+    }
+
+    /**
+     * Returns sessions which are subscribed to the event.
+     */
+    @NotNull
+    public synchronized List<BaseWebSession> getSubscribedSessions(@NotNull WSEvent event) {
+        if (event.isForceProcessed()) {
+            return new ArrayList<>(sessions.keySet());
+        }
+        List<BaseWebSession> result = new ArrayList<>();
+        String projectId = event instanceof WSProjectResourceEvent projectEvent ? projectEvent.getProjectId() : null;
+        if (projectId == null) {
+            collectSessions(event.getTopicId(), allTopicsSessions, topicSessions, null, result);
+            return result;
+        }
+        // Iterate the smaller index and check subscription of each session in the other one
+        Set<BaseWebSession> topicSubscribers = getIndexSet(event.getTopicId(), topicSessions);
+        Set<BaseWebSession> projectSubscribers = getIndexSet(projectId, projectSessions);
+        if (allTopicsSessions.size() + topicSubscribers.size() <= allProjectsSessions.size() + projectSubscribers.size()) {
+            collectSessions(event.getTopicId(), allTopicsSessions, topicSessions,
+                subscription -> isSubscribed(subscription.projectIds, projectId), result);
+        } else {
+            collectSessions(projectId, allProjectsSessions, projectSessions,
+                subscription -> isSubscribed(subscription.topics, event.getTopicId()), result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if session is in the index and is subscribed to the event.
+     */
+    public synchronized boolean isSubscribed(@NotNull BaseWebSession session, @NotNull WSEvent event) {
+        Subscription subscription = sessions.get(session);
+        if (subscription == null) {
+            return false;
+        }
+        if (event.isForceProcessed()) {
+            return true;
+        }
+        String projectId = event instanceof WSProjectResourceEvent projectEvent ? projectEvent.getProjectId() : null;
+        return isSubscribed(subscription.topics, event.getTopicId()) &&
+            (projectId == null || isSubscribed(subscription.projectIds, projectId));
+    }
+
+    public synchronized int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void collectSessions(
+        @Nullable String key,
+        @NotNull Set<BaseWebSession> allKeysSessions,
+        @NotNull Map<String, Set<BaseWebSession>> keySessions,
+        @Nullable Predicate<Subscription> filter,
+        @NotNull List<BaseWebSession> result
+    ) {
+        for (BaseWebSession session : allKeysSessions) {
+            if (filter == null || filter.test(sessions.get(session))) {
+                result.add(session);
+            }
+        }
+        for (BaseWebSession session : getIndexSet(key, keySessions)) {
+            if (filter == null || filter.test(sessions.get(session))) {
+                result.add(session);
+            }
+        }
+    }
+
+    private static boolean isSubscribed(@NotNull Set<String> subscribedKeys, @Nullable String key) {
+        return subscribedKeys.isEmpty() || subscribedKeys.contains(key);
+    }
+
+    @NotNull
+    private static Set<BaseWebSession> getIndexSet(@Nullable String key, @NotNull Map<String, Set<BaseWebSession>> index) {
+        if (key == null) {
+            return Set.of();
+        }
+        return index.getOrDefault(key, Set.of());
+    }
+
+    private static void addToIndex(
+        @NotNull BaseWebSession session,
+        @NotNull Set<String> keys,
+        @NotNull Set<BaseWebSession> allKeysSessions,
+        @NotNull Map<String, Set<BaseWebSession>> index
+    ) {
+        if (keys.isEmpty()) {
+            allKeysSessions.add(session);
+            return;
+        }
+        for (String key : keys) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(session);
+        }
+    }
+
+    private static void removeFromIndex(
+        @NotNull BaseWebSession session,
+        @NotNull Set<String> keys,
+        @NotNull Set<BaseWebSession> allKeysSessions,
+        @NotNull Map<String, Set<BaseWebSession>> index
+    ) {
+        if (keys.isEmpty()) {
+            allKeysSessions.remove(session);
+            return;
+        }
+        for (String key : keys) {
+            Set<BaseWebSession> keySessions = index.get(key);
+            if (keySessions != null && keySessions.remove(session) && keySessions.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -66,6 +66,8 @@ public class WebUserContext implements SMCredentialsProvider {
     private DBFileController fileController;
     private Set<String> accessibleProjectIds = new HashSet<>();
     private final WebSessionPreferenceStore preferenceStore;
+    @Nullable
+    private Runnable identityChangeListener;
 
     public WebUserContext(ServletApplication application, DBPWorkspace workspace) throws DBException {
         this.application = application;
@@ -169,6 +171,21 @@ public class WebUserContext implements SMCredentialsProvider {
         this.securityController = application.createSecurityController(this);
         this.adminSecurityController = null;
         this.secretController = null;
+        fireIdentityChanged();
+    }
+
+    /**
+     * Sets listener which is notified when user or security manager session of this context changes.
+     * Listener is called while context is locked, so it must not block.
+     */
+    public synchronized void setIdentityChangeListener(@Nullable Runnable identityChangeListener) {
+        this.identityChangeListener = identityChangeListener;
+    }
+
+    private void fireIdentityChanged() {
+        if (identityChangeListener != null) {
+            identityChangeListener.run();
+        }
     }
 
     @NotNull
@@ -201,6 +218,7 @@ public class WebUserContext implements SMCredentialsProvider {
 
     protected synchronized void setUser(@Nullable WebUser user) {
         this.user = user;
+        fireIdentityChanged();
     }
 
     public synchronized SMAdminController getAdminSecurityController() {
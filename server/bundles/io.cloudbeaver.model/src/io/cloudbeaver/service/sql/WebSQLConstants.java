@@ -23,13 +23,22 @@ public class WebSQLConstants {
 
     public static final String QUOTA_PROP_ROW_LIMIT = "sqlResultSetRowsLimit";
     public static final String QUOTA_PROP_QUERY_LIMIT = "sqlMaxRunningQueries";
+    // Maximum number of async tasks running simultaneously on the server
+    public static final String QUOTA_PROP_SERVER_QUERY_LIMIT = "serverMaxRunningQueries";
+    // Maximum number of results streaming, export and import tasks running simultaneously on the server
+    public static final String QUOTA_PROP_SERVER_TRANSFER_LIMIT = "serverMaxRunningTransfers";
     public static final String QUOTA_PROP_SQL_QUERY_TIMEOUT = "sqlQueryTimeout";
     public static final String QUOTA_PROP_TEXT_PREVIEW_MAX_LENGTH = "sqlTextPreviewMaxLength";
     public static final String QUOTA_PROP_BINARY_PREVIEW_MAX_LENGTH = "sqlBinaryPreviewMaxLength";
     public static final String QUOTA_PROP_RM_FILE_SIZE_LIMIT = "resourceManagerFileSizeLimit";
+    public static final String QUOTA_PROP_RESULT_CURSOR_LIMIT = "sqlMaxResultCursors";
+    public static final String QUOTA_PROP_RESULT_CURSOR_TTL = "sqlResultCursorTTL";
 
     public static final int TEXT_PREVIEW_MAX_LENGTH = 4 * 1024;
     public static final int BINARY_PREVIEW_MAX_LENGTH = 255 * 1024;
+    public static final int RESULT_CURSOR_LIMIT = 5;
+    // Seconds
+    public static final int RESULT_CURSOR_TTL = 300;
 
     public static final String VALUE_TYPE_ATTR = "$type";
 
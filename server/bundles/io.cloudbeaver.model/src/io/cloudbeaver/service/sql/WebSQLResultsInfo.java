@@ -41,6 +41,9 @@ public class WebSQLResultsInfo {
     private DBDAttributeBinding[] attributes;
     private DBCTrace trace;
     private String queryText;
+    @Nullable
+    private Object[] lastRowKey;
+    private long nextRowOffset = -1;
 
     public WebSQLResultsInfo(@NotNull DBSDataContainer dataContainer, @NotNull String id) {
         this.dataContainer = dataContainer;
@@ -73,6 +76,29 @@ public class WebSQLResultsInfo {
         this.queryText = queryText;
     }
 
+    /**
+     * Original values of the default row identifier attributes of the last fetched row.
+     */
+    @Nullable
+    public Object[] getLastRowKey() {
+        return lastRowKey;
+    }
+
+    public void setLastRowKey(@Nullable Object[] lastRowKey) {
+        this.lastRowKey = lastRowKey;
+    }
+
+    /**
+     * Offset of the row which follows the last fetched row, -1 if unknown
+     */
+    public long getNextRowOffset() {
+        return nextRowOffset;
+    }
+
+    public void setNextRowOffset(long nextRowOffset) {
+        this.nextRowOffset = nextRowOffset;
+    }
+
     @Nullable
     public DBDRowIdentifier getDefaultRowIdentifier() {
         for (DBDAttributeBinding column : attributes) {
@@ -16,6 +16,7 @@
  */
 package io.cloudbeaver.utils;
 
+import io.cloudbeaver.model.WSSessionTaskResultEvent;
 import io.cloudbeaver.model.WebAsyncTaskInfo;
 import io.cloudbeaver.model.session.WebSession;
 import org.jkiss.code.NotNull;
@@ -186,6 +187,17 @@ public class WebEventUtils {
     }
 
     public static void sendAsyncTaskEvent(@NotNull WebSession webSession, @NotNull WebAsyncTaskInfo taskInfo) {
+        if (!taskInfo.isRunning() && taskInfo.getEventResult() != null) {
+            WSSessionTaskResultEvent resultEvent = new WSSessionTaskResultEvent(
+                taskInfo.getId(),
+                taskInfo.getStatus(),
+                taskInfo.getEventResult()
+            );
+            // Results are sent once, task info must not hold them until the task is removed
+            taskInfo.setEventResult(null);
+            webSession.addSessionEvent(resultEvent);
+            return;
+        }
         webSession.addSessionEvent(
             new WSSessionTaskInfoEvent(
                 taskInfo.getId(),
@@ -482,6 +482,9 @@ public abstract class CBApplication<T extends CBServerConfig> extends
 
     protected void shutdown() {
         log.debug("Cloudbeaver Server is stopping"); //$NON-NLS-1$
+        if (sessionManager != null) {
+            sessionManager.dispose();
+        }
     }
 
     @Override
@@ -21,7 +21,9 @@ import io.cloudbeaver.model.session.BaseWebSession;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.server.CBApplication;
 import io.cloudbeaver.server.WebAppUtils;
+import io.cloudbeaver.service.security.EmbeddedSecurityControllerFactory;
 import io.cloudbeaver.service.security.SMUtils;
+import io.cloudbeaver.service.security.db.CBDatabase;
 import io.cloudbeaver.utils.ServletAppUtils;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
@@ -45,6 +47,11 @@ public class WSObjectPermissionUpdatedEventHandler extends WSDefaultEventHandler
 
     @Override
     public void handleEvent(@NotNull WSObjectPermissionEvent event) {
+        // Permissions may be changed on another node
+        CBDatabase database = EmbeddedSecurityControllerFactory.getDbInstance();
+        if (database != null) {
+            database.getPermissionsCache().invalidateObjectPermissions(event.getSmObjectType());
+        }
         String objectId = event.getObjectId();
         Consumer<BaseWebSession> runnable = switch (event.getSmObjectType()) {
             case project:
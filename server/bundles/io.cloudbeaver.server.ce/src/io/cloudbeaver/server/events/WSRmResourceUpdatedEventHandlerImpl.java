@@ -35,6 +35,11 @@ public class WSRmResourceUpdatedEventHandlerImpl extends WSAbstractProjectEventH
     private static final Log log = Log.getLog(WSRmResourceUpdatedEventHandlerImpl.class);
     private static final Gson gson = new GsonBuilder().create();
 
+    @Override
+    protected boolean isDeliveryOnly() {
+        return false;
+    }
+
     @Override
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSResourceUpdatedEvent event) {
         if (activeUserSession instanceof WebSession) {
@@ -45,7 +50,7 @@ public class WSRmResourceUpdatedEventHandlerImpl extends WSAbstractProjectEventH
                 webSession.getProjectById(event.getProjectId())
             );
         }
-        activeUserSession.addSessionEvent(event);
+        sendSessionEvent(activeUserSession, event);
     }
 
     private void acceptChangesInNavigatorTree(@NotNull String eventId, String resourcePath, WebProjectImpl project) {
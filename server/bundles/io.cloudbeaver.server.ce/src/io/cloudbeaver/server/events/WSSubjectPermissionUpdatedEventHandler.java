@@ -18,7 +18,9 @@ package io.cloudbeaver.server.events;
 
 import io.cloudbeaver.model.session.BaseWebSession;
 import io.cloudbeaver.model.session.WebHeadlessSession;
+import io.cloudbeaver.service.security.EmbeddedSecurityControllerFactory;
 import io.cloudbeaver.service.security.SMUtils;
+import io.cloudbeaver.service.security.db.CBDatabase;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
@@ -31,6 +33,21 @@ import java.util.HashSet;
 public class WSSubjectPermissionUpdatedEventHandler extends WSDefaultEventHandler<WSSubjectPermissionEvent> {
     private static final Log log = Log.getLog(WSSubjectPermissionUpdatedEventHandler.class);
 
+    @Override
+    public void handleEvent(@NotNull WSSubjectPermissionEvent event) {
+        // Permissions may be changed on another node, cached permissions must be reloaded before sessions refresh
+        CBDatabase database = EmbeddedSecurityControllerFactory.getDbInstance();
+        if (database != null) {
+            database.getPermissionsCache().invalidateSubject(event.getSubjectId(), event.getSubjectType());
+        }
+        super.handleEvent(event);
+    }
+
+    @Override
+    protected boolean isDeliveryOnly() {
+        return false;
+    }
+
     @Override
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSSubjectPermissionEvent event) {
         var oldUserPermissions = new HashSet<>(activeUserSession.getUserContext().getUserPermissions());
@@ -45,7 +62,7 @@ public class WSSubjectPermissionUpdatedEventHandler extends WSDefaultEventHandle
         boolean shouldUpdateData = activeUserSession instanceof WebHeadlessSession
             || !(SMUtils.isRMAdmin(oldUserPermissions) && SMUtils.isRMAdmin(newUserPermissions));
         if (shouldUpdateData) {
-            super.updateSessionData(activeUserSession, event);
+            sendSessionEvent(activeUserSession, event);
         }
     }
 
@@ -35,10 +35,15 @@ public class WSUserSecretEventHandlerImpl extends WSDefaultEventHandler<WSUserSe
 
     private static final Log log = Log.getLog(WSUserSecretEventHandlerImpl.class);
 
+    @Override
+    protected boolean isDeliveryOnly() {
+        return false;
+    }
+
     @Override
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSUserSecretEvent event) {
         if (!(activeUserSession instanceof WebSession webSession)) {
-            activeUserSession.addSessionEvent(event);
+            sendSessionEvent(activeUserSession, event);
             return;
         }
         WebSessionProjectImpl project = webSession.getProjectById(event.getProjectId());
@@ -57,7 +62,8 @@ public class WSUserSecretEventHandlerImpl extends WSDefaultEventHandler<WSUserSe
             log.error("Error on resolving secrets in session " + activeUserSession.getSessionId(), e);
             return;
         }
-        activeUserSession.addSessionEvent(
+        sendSessionEvent(
+            activeUserSession,
             WSDataSourceEvent.update(
                 event.getSessionId(),
                 event.getUserId(),
@@ -17,7 +17,6 @@
 package io.cloudbeaver.service.session;
 
 import io.cloudbeaver.DBWebException;
-import io.cloudbeaver.auth.SMTokenCredentialProvider;
 import io.cloudbeaver.model.session.*;
 import io.cloudbeaver.registry.WebHandlerRegistry;
 import io.cloudbeaver.registry.WebSessionHandlerDescriptor;
@@ -39,6 +38,11 @@ import org.jkiss.dbeaver.model.websocket.event.session.WSSessionStateEvent;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -48,11 +52,62 @@ public class CBSessionManager implements WebAppSessionManager {
 
     private static final Log log = Log.getLog(CBSessionManager.class);
 
+    private static final int SESSION_CLOSE_THREADS = 4;
+    private static final long SESSION_CLOSE_TIMEOUT = 10000;
+
     private final CBApplication application;
-    private final Map<String, BaseWebSession> sessionMap = new HashMap<>();
+    private final Map<String, BaseWebSession> sessionMap = new ConcurrentHashMap<>();
+    // Locks which guarantee that a session with particular id is created only once.
+    // Lock is removed when the last thread waiting for it is finished.
+    private final Map<String, SessionCreateLock> sessionCreateLocks = new ConcurrentHashMap<>();
+    // Secondary indexes: ids of sessions by user id and by security manager session id
+    private final Map<String, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sessionsBySmSession = new ConcurrentHashMap<>();
+    private final Map<String, SessionIndexKeys> sessionIndexKeys = new ConcurrentHashMap<>();
+    private final CBTokenPermissionsCache tokenPermissionsCache;
+    // Session ids ordered by expiration deadline. Deadlines are updated lazily: when a due entry is polled
+    // and the session was accessed since then, entry is put back with a new deadline.
+    // Only ids are queued, so closed sessions are not referenced from the queue.
+    private final PriorityQueue<SessionExpiryEntry> expiryQueue = new PriorityQueue<>(
+        Comparator.comparingLong(SessionExpiryEntry::deadline));
+    // Ids which have an entry in the expiry queue, guarded by expiry queue lock
+    private final Set<String> expiryQueueIds = new HashSet<>();
+    // Idle time used for deadlines in expiry queue, -1 if queue is not built yet
+    private long expiryQueueIdleTime = -1;
+    private final ThreadPoolExecutor sessionCloseExecutor;
+
+    private record SessionIndexKeys(@Nullable String userId, @Nullable String smSessionId) {
+    }
+
+    private record SessionExpiryEntry(long deadline, @NotNull String sessionId) {
+    }
+
+    @FunctionalInterface
+    private interface SessionProvider<T, E extends Exception> {
+        T getSession() throws E;
+    }
+
+    private static class SessionCreateLock {
+        // Guarded by sessionCreateLocks map
+        private int refCount;
+    }
 
     public CBSessionManager(CBApplication application) {
         this.application = application;
+        this.tokenPermissionsCache = new CBTokenPermissionsCache(application);
+        AtomicInteger closeThreadCounter = new AtomicInteger();
+        this.sessionCloseExecutor = new ThreadPoolExecutor(
+            SESSION_CLOSE_THREADS,
+            SESSION_CLOSE_THREADS,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "Web session close " + closeThreadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.sessionCloseExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -70,11 +125,8 @@ public class CBSessionManager implements WebAppSessionManager {
 
     @Override
     public BaseWebSession closeSession(@NotNull String sessionId) {
-        BaseWebSession webSession;
-        synchronized (sessionMap) {
-            webSession = sessionMap.remove(sessionId);
-        }
-        if (webSession == null) {
+        BaseWebSession webSession = sessionMap.get(sessionId);
+        if (webSession == null || !unregisterSession(sessionId, webSession)) {
             return null;
         }
 
@@ -117,48 +169,52 @@ public class CBSessionManager implements WebAppSessionManager {
     ) throws DBWebException {
         HttpSession httpSession = request.getSession(true);
         String sessionId = httpSession.getId();
-        WebSession webSession;
-        synchronized (sessionMap) {
-            var baseWebSession = sessionMap.get(sessionId);
-            if (baseWebSession == null && CBApplication.getInstance().isConfigurationMode()) {
-                try {
-                    webSession = createWebSession(new WebHttpRequestInfo(request));
-                } catch (DBException e) {
-                    throw new DBWebException("Failed to create web session", e);
-                }
-                sessionMap.put(sessionId, webSession);
-            } else if (baseWebSession == null) {
-                try {
-                    webSession = createWebSession(new WebHttpRequestInfo(request));
-                } catch (DBException e) {
-                    throw new DBWebException("Failed to create web session", e);
-                }
-
-                boolean restored = false;
-                try {
-                    restored = restorePreviousUserSession(webSession);
-                } catch (DBException e) {
-                    log.error("Failed to restore previous user session", e);
+        BaseWebSession baseWebSession = sessionMap.get(sessionId);
+        if (baseWebSession == null) {
+            baseWebSession = runWithSessionLock(sessionId, () -> {
+                BaseWebSession existingSession = sessionMap.get(sessionId);
+                if (existingSession != null) {
+                    return existingSession;
                 }
+                return createHttpWebSession(request, httpSession, sessionId, errorOnNoFound);
+            });
+        }
+        if (!(baseWebSession instanceof WebSession webSession)) {
+            throw new DBWebException("Unexpected session type: " + baseWebSession.getClass().getName());
+        }
+        return webSession;
+    }
 
-                if (!restored && errorOnNoFound && !httpSession.isNew()) {
-                    throw new DBWebException("Session has expired", DBWebException.ERROR_CODE_SESSION_EXPIRED);
-                }
+    @NotNull
+    private BaseWebSession createHttpWebSession(
+        @NotNull HttpServletRequest request,
+        @NotNull HttpSession httpSession,
+        @NotNull String sessionId,
+        boolean errorOnNoFound
+    ) throws DBWebException {
+        WebSession webSession;
+        try {
+            webSession = createWebSession(new WebHttpRequestInfo(request));
+        } catch (DBException e) {
+            throw new DBWebException("Failed to create web session", e);
+        }
+        if (!CBApplication.getInstance().isConfigurationMode()) {
+            boolean restored = false;
+            try {
+                restored = restorePreviousUserSession(webSession);
+            } catch (DBException e) {
+                log.error("Failed to restore previous user session", e);
+            }
 
-                log.debug((restored ? "Restored " : "New ") + "web session '" + webSession.getSessionId() + "'");
+            if (!restored && errorOnNoFound && !httpSession.isNew()) {
+                throw new DBWebException("Session has expired", DBWebException.ERROR_CODE_SESSION_EXPIRED);
+            }
 
-                webSession.setCacheExpired(!httpSession.isNew());
+            log.debug((restored ? "Restored " : "New ") + "web session '" + webSession.getSessionId() + "'");
 
-                sessionMap.put(sessionId, webSession);
-            } else {
-                if (!(baseWebSession instanceof WebSession)) {
-                    throw new DBWebException("Unexpected session type: " + baseWebSession.getClass().getName());
-                }
-                webSession = (WebSession) baseWebSession;
-            }
+            webSession.setCacheExpired(!httpSession.isNew());
         }
-
-        return webSession;
+        return registerSession(sessionId, webSession);
     }
 
     /**
@@ -173,16 +229,13 @@ public class CBSessionManager implements WebAppSessionManager {
             log.debug("Http session is null. No Web Session returned");
             return null;
         }
-        WebSession webSession;
-        synchronized (sessionMap) {
-            if (sessionMap.containsKey(sessionId)) {
-                var cachedWebSession = sessionMap.get(sessionId);
-                if (!(cachedWebSession instanceof WebSession)) {
-                    log.warn("Unexpected session type: " + cachedWebSession.getClass().getName());
-                    return null;
+        BaseWebSession cachedWebSession = sessionMap.get(sessionId);
+        if (cachedWebSession == null) {
+            cachedWebSession = runWithSessionLock(sessionId, () -> {
+                BaseWebSession existingSession = sessionMap.get(sessionId);
+                if (existingSession != null) {
+                    return existingSession;
                 }
-                return (WebSession) cachedWebSession;
-            } else {
                 try {
                     var oldAuthInfo = getApplication().getSecurityController().restoreUserSession(sessionId);
                     if (oldAuthInfo == null) {
@@ -190,18 +243,25 @@ public class CBSessionManager implements WebAppSessionManager {
                         return null;
                     }
 
-                    webSession = createWebSession(requestInfo);
+                    WebSession webSession = createWebSession(requestInfo);
                     restorePreviousUserSession(webSession, oldAuthInfo);
 
-                    sessionMap.put(sessionId, webSession);
                     log.debug("Web session restored");
-                    return webSession;
+                    return registerSession(sessionId, webSession);
                 } catch (DBException e) {
                     log.error("Failed to restore previous user session", e);
                     return null;
                 }
-            }
+            });
         }
+        if (cachedWebSession == null) {
+            return null;
+        }
+        if (!(cachedWebSession instanceof WebSession webSession)) {
+            log.warn("Unexpected session type: " + cachedWebSession.getClass().getName());
+            return null;
+        }
+        return webSession;
     }
 
     private boolean restorePreviousUserSession(@NotNull WebSession webSession) throws DBException {
@@ -238,22 +298,18 @@ public class CBSessionManager implements WebAppSessionManager {
     @Override
     @Nullable
     public BaseWebSession getSession(@NotNull String sessionId) {
-        synchronized (sessionMap) {
-            return sessionMap.get(sessionId);
-        }
+        return sessionMap.get(sessionId);
     }
 
     @Override
     @Nullable
     public WebSession findWebSession(HttpServletRequest request) {
         String sessionId = request.getSession().getId();
-        synchronized (sessionMap) {
-            var session = sessionMap.get(sessionId);
-            if (session instanceof WebSession) {
-                return (WebSession) session;
-            }
-            return null;
+        var session = sessionMap.get(sessionId);
+        if (session instanceof WebSession) {
+            return (WebSession) session;
         }
+        return null;
     }
 
     @Override
@@ -268,32 +324,92 @@ public class CBSessionManager implements WebAppSessionManager {
         return null;
     }
 
+    /**
+     * Closes sessions which were not accessed for max session idle time.
+     * Only sessions with a due deadline are checked, expired sessions are closed asynchronously.
+     */
     public void expireIdleSessions() {
         long maxSessionIdleTime = application.getMaxSessionIdleTime();
-
-        List<BaseWebSession> expiredList = new ArrayList<>();
-        synchronized (sessionMap) {
-            for (Iterator<BaseWebSession> iterator = sessionMap.values().iterator(); iterator.hasNext(); ) {
-                var session = iterator.next();
-                long idleMillis = System.currentTimeMillis() - session.getLastAccessTimeMillis();
-                if (idleMillis >= maxSessionIdleTime) {
-                    iterator.remove();
-                    expiredList.add(session);
+        long currentTime = System.currentTimeMillis();
+
+        Map<String, BaseWebSession> expiredSessions = new LinkedHashMap<>();
+        synchronized (expiryQueue) {
+            if (expiryQueueIdleTime != maxSessionIdleTime) {
+                // First run or idle time configuration was changed
+                expiryQueue.clear();
+                expiryQueueIds.clear();
+                expiryQueueIdleTime = maxSessionIdleTime;
+                for (Map.Entry<String, BaseWebSession> entry : sessionMap.entrySet()) {
+                    addExpiryEntry(entry.getKey(), entry.getValue());
+                }
+            }
+            while (!expiryQueue.isEmpty() && expiryQueue.peek().deadline() <= currentTime) {
+                SessionExpiryEntry entry = expiryQueue.poll();
+                BaseWebSession session = sessionMap.get(entry.sessionId());
+                if (session == null) {
+                    // Session was already closed
+                    expiryQueueIds.remove(entry.sessionId());
+                    continue;
+                }
+                long deadline = session.getLastAccessTimeMillis() + maxSessionIdleTime;
+                if (deadline > currentTime) {
+                    expiryQueue.add(new SessionExpiryEntry(deadline, entry.sessionId()));
+                } else {
+                    expiryQueueIds.remove(entry.sessionId());
+                    expiredSessions.put(entry.sessionId(), session);
                 }
             }
         }
 
-        for (var session : expiredList) {
-            log.debug("> Expire session '" + session.getSessionId() + "'");
-            session.close();
+        for (Map.Entry<String, BaseWebSession> entry : expiredSessions.entrySet()) {
+            BaseWebSession session = entry.getValue();
+            if (unregisterSession(entry.getKey(), session)) {
+                sessionCloseExecutor.execute(() -> {
+                    log.debug("> Expire session '" + session.getSessionId() + "'");
+                    try {
+                        session.close();
+                    } catch (Exception e) {
+                        log.error("Error closing expired session '" + session.getSessionId() + "'", e);
+                    }
+                });
+            }
+        }
+    }
+
+    private void addExpiryEntry(@NotNull String sessionId, @NotNull BaseWebSession session) {
+        if (!expiryQueueIds.add(sessionId)) {
+            // Session with the same id was re-created, existing entry is used for the new session
+            return;
+        }
+        expiryQueue.add(new SessionExpiryEntry(
+            session.getLastAccessTimeMillis() + expiryQueueIdleTime,
+            sessionId));
+    }
+
+    /**
+     * Stops session close threads. Closes which are already queued are completed.
+     */
+    public void dispose() {
+        synchronized (expiryQueue) {
+            expiryQueue.clear();
+            expiryQueueIds.clear();
+            expiryQueueIdleTime = -1;
+        }
+        sessionCloseExecutor.shutdown();
+        try {
+            if (!sessionCloseExecutor.awaitTermination(SESSION_CLOSE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                log.warn("Web sessions were not closed in " + SESSION_CLOSE_TIMEOUT + "ms");
+                sessionCloseExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sessionCloseExecutor.shutdownNow();
         }
     }
 
     @Override
     public Collection<BaseWebSession> getAllActiveSessions() {
-        synchronized (sessionMap) {
-            return new ArrayList<>(sessionMap.values());
-        }
+        return new ArrayList<>(sessionMap.values());
     }
 
     @Nullable
@@ -305,12 +421,12 @@ public class CBSessionManager implements WebAppSessionManager {
         if (CommonUtils.isEmpty(smAccessToken)) {
             return null;
         }
-        synchronized (sessionMap) {
-            var tempCredProvider = new SMTokenCredentialProvider(smAccessToken);
-            SMAuthPermissions authPermissions = application.createSecurityController(tempCredProvider).getTokenPermissions();
-            var sessionId = requestInfo.getId() != null ? requestInfo.getId()
-                : authPermissions.getSessionId();
+        // Token lookup is a security manager call, it must not be done under session lock
+        SMAuthPermissions authPermissions = tokenPermissionsCache.getTokenPermissions(smAccessToken);
+        var sessionId = requestInfo.getId() != null ? requestInfo.getId()
+            : authPermissions.getSessionId();
 
+        return runWithSessionLock(sessionId, () -> {
             var existSession = sessionMap.get(sessionId);
 
             if (existSession instanceof WebHeadlessSession) {
@@ -340,62 +456,64 @@ public class CBSessionManager implements WebAppSessionManager {
                 null,
                 authPermissions
             );
-            sessionMap.put(sessionId, headlessSession);
-            return headlessSession;
-        }
+            BaseWebSession registeredSession = registerSession(sessionId, headlessSession);
+            return registeredSession instanceof WebHeadlessSession registeredHeadless ? registeredHeadless : null;
+        });
     }
 
     /**
      * Send session state with remaining alive time to all cached session
      */
     public void sendSessionsStates() {
-        synchronized (sessionMap) {
-            sessionMap.values()
-                .parallelStream()
-                .filter(session -> {
-                    if (session instanceof WebSession webSession) {
-                        return webSession.isAuthorizedInSecurityManager();
-                    }
-                    return false;
-                })
-                .forEach(session -> {
-                    try {
-                        session.addSessionEvent(new WSSessionStateEvent(
-                            session.getLastAccessTimeMillis(),
-                            session.getRemainingTime(),
-                            session.isValid(),
-                            ((WebSession) session).isCacheExpired(),
-                            ((WebSession) session).getLocale(),
-                            ((WebSession) session).getActionParameters()));
-                    } catch (Exception e) {
-                        log.error("Failed to refresh session state: " + session.getSessionId(), e);
-                    }
-                });
-        }
+        sessionMap.values()
+            .parallelStream()
+            .filter(session -> {
+                if (session instanceof WebSession webSession) {
+                    return webSession.isAuthorizedInSecurityManager();
+                }
+                return false;
+            })
+            .forEach(session -> {
+                try {
+                    session.addSessionEvent(new WSSessionStateEvent(
+                        session.getLastAccessTimeMillis(),
+                        session.getRemainingTime(),
+                        session.isValid(),
+                        ((WebSession) session).isCacheExpired(),
+                        ((WebSession) session).getLocale(),
+                        ((WebSession) session).getActionParameters()));
+                } catch (Exception e) {
+                    log.error("Failed to refresh session state: " + session.getSessionId(), e);
+                }
+            });
     }
 
     public void closeUserSession(@NotNull WSUserDeletedEvent userDeletedEvent) {
-        synchronized (sessionMap) {
-            for (Iterator<BaseWebSession> iterator = sessionMap.values().iterator(); iterator.hasNext(); ) {
-                var session = iterator.next();
-                if (CommonUtils.equalObjects(session.getUserContext().getUserId(),
-                    userDeletedEvent.getDeletedUserId())) {
-                    if (session instanceof WebHeadlessSession headlessSession) {
-                        headlessSession.addSessionEvent(userDeletedEvent);
-                    }
-                    iterator.remove();
-                    session.close();
+        String deletedUserId = userDeletedEvent.getDeletedUserId();
+        tokenPermissionsCache.invalidateUser(deletedUserId);
+        for (String sessionId : getIndexedSessionIds(sessionsByUser, deletedUserId)) {
+            var session = sessionMap.get(sessionId);
+            if (session != null
+                && CommonUtils.equalObjects(session.getUserContext().getUserId(), deletedUserId)
+                && unregisterSession(sessionId, session)
+            ) {
+                if (session instanceof WebHeadlessSession headlessSession) {
+                    headlessSession.addSessionEvent(userDeletedEvent);
                 }
+                session.close();
             }
         }
     }
 
     public void closeSessions(@NotNull List<String> smSessionsId) {
-        synchronized (sessionMap) {
-            for (Iterator<BaseWebSession> iterator = sessionMap.values().iterator(); iterator.hasNext(); ) {
-                var session = iterator.next();
-                if (smSessionsId.contains(session.getUserContext().getSmSessionId())) {
-                    iterator.remove();
+        tokenPermissionsCache.invalidateSessions(smSessionsId);
+        for (String smSessionId : smSessionsId) {
+            for (String sessionId : getIndexedSessionIds(sessionsBySmSession, smSessionId)) {
+                var session = sessionMap.get(sessionId);
+                if (session != null
+                    && CommonUtils.equalObjects(session.getUserContext().getSmSessionId(), smSessionId)
+                    && unregisterSession(sessionId, session)
+                ) {
                     session.close(false, true);
                 }
             }
@@ -406,12 +524,136 @@ public class CBSessionManager implements WebAppSessionManager {
      * Closes all sessions in session manager.
      */
     public void closeAllSessions(@Nullable String initiatorSessionId) {
-        synchronized (sessionMap) {
-            for (Iterator<BaseWebSession> iterator = sessionMap.values().iterator(); iterator.hasNext(); ) {
-                var session = iterator.next();
-                iterator.remove();
+        for (Map.Entry<String, BaseWebSession> entry : sessionMap.entrySet()) {
+            var session = entry.getValue();
+            if (unregisterSession(entry.getKey(), session)) {
                 session.close(false, !WSWebUtils.isSessionIdEquals(session, initiatorSessionId));
             }
         }
     }
+
+    /**
+     * Executes session lookup/creation exclusively for the specified session id.
+     * Sessions with different ids are processed in parallel.
+     */
+    private <T, E extends Exception> T runWithSessionLock(
+        @NotNull String sessionId,
+        @NotNull SessionProvider<T, E> provider
+    ) throws E {
+        SessionCreateLock createLock = sessionCreateLocks.compute(sessionId, (id, lock) -> {
+            if (lock == null) {
+                lock = new SessionCreateLock();
+            }
+            lock.refCount++;
+            return lock;
+        });
+        try {
+            synchronized (createLock) {
+                return provider.getSession();
+            }
+        } finally {
+            // Lock must stay in the map while any other thread is waiting for it
+            sessionCreateLocks.computeIfPresent(sessionId, (id, lock) -> --lock.refCount <= 0 ? null : lock);
+        }
+    }
+
+    /**
+     * Registers the new session. If a session with the same id is already registered then the new one is discarded.
+     *
+     * @return registered session
+     */
+    @NotNull
+    private BaseWebSession registerSession(@NotNull String sessionId, @NotNull BaseWebSession session) {
+        BaseWebSession existingSession = sessionMap.putIfAbsent(sessionId, session);
+        if (existingSession != null) {
+            // New session was not published anywhere yet. It must not be closed because
+            // closing cleans up resources (e.g. temp files) shared by session id.
+            log.warn("Web session '" + sessionId + "' is already registered, new session is discarded");
+            return existingSession;
+        }
+        synchronized (expiryQueue) {
+            if (expiryQueueIdleTime >= 0) {
+                addExpiryEntry(sessionId, session);
+            }
+        }
+        // Listener is called under user context lock, so it must not access session itself
+        WebUserContext userContext = session.getUserContext();
+        userContext.setIdentityChangeListener(() -> updateSessionIndex(sessionId, session, userContext));
+        updateSessionIndex(sessionId, session, userContext);
+        return session;
+    }
+
+    /**
+     * Removes session from the registry.
+     *
+     * @return false if session was already removed
+     */
+    private boolean unregisterSession(@NotNull String sessionId, @NotNull BaseWebSession session) {
+        if (!sessionMap.remove(sessionId, session)) {
+            return false;
+        }
+        session.getUserContext().setIdentityChangeListener(null);
+        sessionIndexKeys.computeIfPresent(sessionId, (id, keys) -> {
+            removeFromIndex(sessionsByUser, keys.userId(), id);
+            removeFromIndex(sessionsBySmSession, keys.smSessionId(), id);
+            return null;
+        });
+        return true;
+    }
+
+    private void updateSessionIndex(
+        @NotNull String sessionId,
+        @NotNull BaseWebSession session,
+        @NotNull WebUserContext userContext
+    ) {
+        SessionIndexKeys newKeys = new SessionIndexKeys(userContext.getUserId(), userContext.getSmSessionId());
+        sessionIndexKeys.compute(sessionId, (id, oldKeys) -> {
+            if (newKeys.equals(oldKeys) && sessionMap.get(id) == session) {
+                return oldKeys;
+            }
+            if (oldKeys != null) {
+                removeFromIndex(sessionsByUser, oldKeys.userId(), id);
+                removeFromIndex(sessionsBySmSession, oldKeys.smSessionId(), id);
+            }
+            if (sessionMap.get(id) != session) {
+                // Session was closed concurrently
+                return null;
+            }
+            addToIndex(sessionsByUser, newKeys.userId(), id);
+            addToIndex(sessionsBySmSession, newKeys.smSessionId(), id);
+            return newKeys;
+        });
+    }
+
+    @NotNull
+    private static Collection<String> getIndexedSessionIds(@NotNull Map<String, Set<String>> index, @Nullable String key) {
+        if (key == null) {
+            return List.of();
+        }
+        Set<String> sessionIds = index.get(key);
+        return sessionIds == null ? List.of() : new ArrayList<>(sessionIds);
+    }
+
+    private static void addToIndex(@NotNull Map<String, Set<String>> index, @Nullable String key, @NotNull String sessionId) {
+        if (key == null) {
+            return;
+        }
+        index.compute(key, (k, sessionIds) -> {
+            if (sessionIds == null) {
+                sessionIds = ConcurrentHashMap.newKeySet();
+            }
+            sessionIds.add(sessionId);
+            return sessionIds;
+        });
+    }
+
+    private static void removeFromIndex(@NotNull Map<String, Set<String>> index, @Nullable String key, @NotNull String sessionId) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, sessionIds) -> {
+            sessionIds.remove(sessionId);
+            return sessionIds.isEmpty() ? null : sessionIds;
+        });
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.session;
+
+import io.cloudbeaver.auth.SMTokenCredentialProvider;
+import io.cloudbeaver.server.CBApplication;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.security.user.SMAuthPermissions;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Short-lived cache of access token permissions used to resolve headless sessions.
+ * <p>
+ * Concurrent requests with the same token share a single security manager lookup.
+ * Failed lookups are not cached.
+ */
+class CBTokenPermissionsCache {
+
+    // Permissions are cached for a short time only, so revoked tokens stop working quickly
+    private static final long CACHE_TTL_MS = 5000;
+    // Expired entries are purged when cache grows over this size
+    private static final int PURGE_THRESHOLD = 1000;
+
+    private record CachedPermissions(@NotNull CompletableFuture<SMAuthPermissions> permissions, long expireTime) {
+        boolean isExpired(long currentTime) {
+            return currentTime >= expireTime;
+        }
+    }
+
+    private final CBApplication<?> application;
+    private final Map<String, CachedPermissions> cache = new ConcurrentHashMap<>();
+
+    CBTokenPermissionsCache(@NotNull CBApplication<?> application) {
+        this.application = application;
+    }
+
+    @NotNull
+    SMAuthPermissions getTokenPermissions(@NotNull String smAccessToken) throws DBException {
+        long currentTime = System.currentTimeMillis();
+        CachedPermissions entry = cache.get(smAccessToken);
+        if (entry != null && !entry.isExpired(currentTime)) {
+            return waitForPermissions(entry);
+        }
+
+        CachedPermissions newEntry = new CachedPermissions(new CompletableFuture<>(), currentTime + CACHE_TTL_MS);
+        entry = cache.compute(
+            smAccessToken,
+            (token, oldEntry) -> oldEntry != null && !oldEntry.isExpired(currentTime) ? oldEntry : newEntry
+        );
+        if (entry != newEntry) {
+            // Somebody else is already reading permissions of this token
+            return waitForPermissions(entry);
+        }
+        if (cache.size() > PURGE_THRESHOLD) {
+            cache.values().removeIf(cached -> cached.isExpired(currentTime));
+        }
+
+        try {
+            SMAuthPermissions permissions = application.createSecurityController(
+                new SMTokenCredentialProvider(smAccessToken)).getTokenPermissions();
+            newEntry.permissions.complete(permissions);
+            return permissions;
+        } catch (Throwable e) {
+            cache.remove(smAccessToken, newEntry);
+            newEntry.permissions.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Removes cached permissions of the specified user
+     */
+    void invalidateUser(@NotNull String userId) {
+        cache.values().removeIf(entry -> {
+            SMAuthPermissions permissions = entry.permissions.getNow(null);
+            return permissions != null && CommonUtils.equalObjects(permissions.getUserId(), userId);
+        });
+    }
+
+    /**
+     * Removes cached permissions of the specified security manager sessions
+     */
+    void invalidateSessions(@NotNull Collection<String> smSessionIds) {
+        cache.values().removeIf(entry -> {
+            SMAuthPermissions permissions = entry.permissions.getNow(null);
+            return permissions != null && smSessionIds.contains(permissions.getSessionId());
+        });
+    }
+
+    @NotNull
+    private static SMAuthPermissions waitForPermissions(@NotNull CachedPermissions entry) throws DBException {
+        try {
+            return entry.permissions.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DBException("Interrupted while reading token permissions", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DBException dbException) {
+                throw dbException;
+            }
+            throw new DBException("Error reading token permissions", e.getCause());
+        }
+    }
+}
@@ -20,9 +20,15 @@ import io.cloudbeaver.WebSessionProjectImpl;
 import io.cloudbeaver.model.session.BaseWebSession;
 import io.cloudbeaver.model.session.WebSession;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceEvent;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Notify all active user session that datasource has been updated
  */
@@ -30,6 +36,63 @@ public class WSDataSourceUpdatedEventHandlerImpl extends WSAbstractProjectEventH
 
     public static final Log log = Log.getLog(WSDataSourceUpdatedEventHandlerImpl.class);
 
+    // Data sources configuration of the event being handled by the current thread
+    private static final ThreadLocal<EventConfiguration> eventConfiguration = new ThreadLocal<>();
+
+    private static final LongAdder configLoadCount = new LongAdder();
+    private static final LongAdder configLoadTime = new LongAdder();
+    private static final LongAdder configApplyCount = new LongAdder();
+    private static final LongAdder configApplyTime = new LongAdder();
+
+    /**
+     * Configuration is read from the resource controller once per event and then applied to all session registries.
+     */
+    private static class EventConfiguration {
+        private boolean loaded;
+        @Nullable
+        private byte[] data;
+
+        @Nullable
+        byte[] getData(@NotNull WebSessionProjectImpl project, @NotNull WSDataSourceEvent event) {
+            if (!loaded) {
+                loaded = true;
+                long startTime = System.nanoTime();
+                try {
+                    String configuration = project.getResourceController().getProjectsDataSources(
+                        project.getId(),
+                        event.getDataSourceIds().toArray(new String[0])
+                    );
+                    data = configuration == null ? null : configuration.getBytes(StandardCharsets.UTF_8);
+                } catch (Exception e) {
+                    // Each session will read configuration itself
+                    log.debug("Error reading data sources configuration of project " + project.getId(), e);
+                }
+                configLoadCount.increment();
+                configLoadTime.add(System.nanoTime() - startTime);
+            }
+            return data;
+        }
+    }
+
+    @Override
+    public void handleEvent(@NotNull WSDataSourceEvent event) {
+        if (!WSDataSourceEvent.CREATED.equals(event.getId()) && !WSDataSourceEvent.UPDATED.equals(event.getId())) {
+            super.handleEvent(event);
+            return;
+        }
+        eventConfiguration.set(new EventConfiguration());
+        try {
+            super.handleEvent(event);
+        } finally {
+            eventConfiguration.remove();
+        }
+    }
+
+    @Override
+    protected boolean isDeliveryOnly() {
+        return false;
+    }
+
     @Override
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSDataSourceEvent event) {
         var sendEvent = true;
@@ -39,14 +102,29 @@ public class WSDataSourceUpdatedEventHandlerImpl extends WSAbstractProjectEventH
                 log.debug("Project " + event.getProjectId() + " is not found in session " + webSession.getSessionId());
                 return;
             }
+            EventConfiguration configuration = eventConfiguration.get();
+            long startTime = System.nanoTime();
             sendEvent = project.updateProjectDataSources(
                 event.getDataSourceIds(),
-                event.getId()
+                event.getId(),
+                configuration == null ? null : configuration.getData(project, event)
             );
+            configApplyCount.increment();
+            configApplyTime.add(System.nanoTime() - startTime);
         }
         if (sendEvent) {
-            activeUserSession.addSessionEvent(event);
+            sendSessionEvent(activeUserSession, event);
         }
     }
-}
 
+    public static void getStatusInfo(@NotNull Map<String, Object> infoMap) {
+        long loadCount = configLoadCount.sum();
+        long applyCount = configApplyCount.sum();
+        infoMap.put("datasourceEvents.configLoads", loadCount);
+        infoMap.put("datasourceEvents.avgConfigLoadMicros",
+            loadCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(configLoadTime.sum() / loadCount));
+        infoMap.put("datasourceEvents.sessionUpdates", applyCount);
+        infoMap.put("datasourceEvents.avgSessionUpdateMicros",
+            applyCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(configApplyTime.sum() / applyCount));
+    }
+}
@@ -17,40 +17,122 @@
 package io.cloudbeaver.server.events;
 
 import io.cloudbeaver.model.session.BaseWebSession;
+import io.cloudbeaver.model.session.WebSessionEventsIndex;
 import io.cloudbeaver.server.WebAppUtils;
+import io.cloudbeaver.server.websockets.CBEventMessage;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.websocket.WSEventHandler;
 import org.jkiss.dbeaver.model.websocket.event.WSEvent;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 public class WSDefaultEventHandler<EVENT extends WSEvent> implements WSEventHandler<EVENT> {
 
     private static final Log log = Log.getLog(WSDefaultEventHandler.class);
 
+    // Broadcast statistics of all event handlers
+    private static final LongAdder broadcastCount = new LongAdder();
+    private static final LongAdder broadcastRecipients = new LongAdder();
+    private static final LongAdder broadcastBytes = new LongAdder();
+    private static final LongAdder broadcastTime = new LongAdder();
+    private static final LongAccumulator broadcastMaxTime = new LongAccumulator(Math::max, 0);
+
+    // Sessions subscribed to the event being handled by the current thread
+    private static final ThreadLocal<EventSubscribers> eventSubscribers = new ThreadLocal<>();
+
+    private record EventSubscribers(@NotNull WSEvent event, @NotNull Set<BaseWebSession> sessions) {
+    }
+
     @Override
     public void handleEvent(@NotNull EVENT event) {
         log.debug(event.getTopicId() + " event handled");
-        Collection<BaseWebSession> allSessions = WebAppUtils.getWebApplication()
-            .getSessionManager()
-            .getAllActiveSessions();
-        for (var activeUserSession : allSessions) {
-            if (!isAcceptableInSession(activeUserSession, event)) {
-                log.debug("Cannot handle " + event.getTopicId() + " event '" + event.getId() +
-                    "' in session " + activeUserSession.getSessionId());
-                continue;
+        long startTime = System.nanoTime();
+        int recipients = 0;
+        WebSessionEventsIndex eventsIndex = WebSessionEventsIndex.getInstance();
+        Collection<BaseWebSession> allSessions;
+        if (isDeliveryOnly()) {
+            allSessions = eventsIndex.getSubscribedSessions(event);
+        } else {
+            // State is updated in all sessions, but the event is sent only to subscribed ones
+            allSessions = WebAppUtils.getWebApplication().getSessionManager().getAllActiveSessions();
+            eventSubscribers.set(new EventSubscribers(event, new HashSet<>(eventsIndex.getSubscribedSessions(event))));
+        }
+        // Event is serialized once for all sessions
+        CBEventMessage message = CBEventMessage.startBroadcast(event);
+        try {
+            for (var activeUserSession : allSessions) {
+                if (!isAcceptableInSession(activeUserSession, event)) {
+                    log.debug("Cannot handle " + event.getTopicId() + " event '" + event.getId() +
+                        "' in session " + activeUserSession.getSessionId());
+                    continue;
+                }
+                log.debug(event.getTopicId() + " event '" + event.getId() + "' handled");
+                updateSessionData(activeUserSession, event);
+                recipients++;
             }
-            log.debug(event.getTopicId() + " event '" + event.getId() + "' handled");
-            updateSessionData(activeUserSession, event);
+        } finally {
+            CBEventMessage.endBroadcast(message);
+            eventSubscribers.remove();
+        }
+        long fanOutTime = System.nanoTime() - startTime;
+        broadcastCount.increment();
+        broadcastRecipients.add(recipients);
+        if (recipients > 0) {
+            // Usually it is already serialized by the first socket
+            message.getText();
+            broadcastBytes.add(message.getByteLength());
         }
+        broadcastTime.add(fanOutTime);
+        broadcastMaxTime.accumulate(fanOutTime);
+    }
+
+    /**
+     * Returns true if the handler only delivers event to session clients.
+     * Then event is routed only to sessions subscribed to its topic and project.
+     * Handlers which update session state must return false: the state must be updated in all sessions.
+     * Such handlers send events with {@link #sendSessionEvent}.
+     */
+    protected boolean isDeliveryOnly() {
+        return true;
     }
 
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull EVENT event) {
         activeUserSession.addSessionEvent(event);
     }
 
+    /**
+     * Sends event to the session client if the session is subscribed to it.
+     * Subscribers of the handled event are resolved once, other events are checked in the events index.
+     */
+    protected void sendSessionEvent(@NotNull BaseWebSession activeUserSession, @NotNull WSEvent event) {
+        EventSubscribers subscribers = eventSubscribers.get();
+        boolean subscribed = subscribers != null && subscribers.event() == event
+            ? subscribers.sessions().contains(activeUserSession)
+            : WebSessionEventsIndex.getInstance().isSubscribed(activeUserSession, event);
+        if (subscribed) {
+            activeUserSession.addSessionEvent(event);
+        }
+    }
+
     protected boolean isAcceptableInSession(@NotNull BaseWebSession activeUserSession, @NotNull EVENT event) {
         return !WSWebUtils.isSessionIdEquals(activeUserSession, event.getSessionId()); // skip events from current session
     }
+
+    public static void getStatusInfo(@NotNull Map<String, Object> infoMap) {
+        long count = broadcastCount.sum();
+        infoMap.put("events.indexedSessions", WebSessionEventsIndex.getInstance().getSessionCount());
+        infoMap.put("events.broadcasts", count);
+        infoMap.put("events.broadcastRecipients", broadcastRecipients.sum());
+        infoMap.put("events.broadcastBytes", broadcastBytes.sum());
+        infoMap.put("events.avgBytesPerEvent", count == 0 ? 0 : broadcastBytes.sum() / count);
+        infoMap.put("events.avgFanOutMicros", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(broadcastTime.sum() / count));
+        infoMap.put("events.maxFanOutMicros", TimeUnit.NANOSECONDS.toMicros(broadcastMaxTime.get()));
+    }
 }
@@ -31,6 +31,11 @@ public class WSFolderUpdatedEventHandlerImpl extends WSAbstractProjectEventHandl
 
     private static final Log log = Log.getLog(WSFolderUpdatedEventHandlerImpl.class);
 
+    @Override
+    protected boolean isDeliveryOnly() {
+        return false;
+    }
+
     @Override
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSDatasourceFolderEvent event) {
         if (activeUserSession instanceof WebSession webSession) {
@@ -47,7 +52,7 @@ public class WSFolderUpdatedEventHandlerImpl extends WSAbstractProjectEventHandl
             }
             navigatorModel.getRoot().getProjectNode(project).getDatabases().refreshChildren();
         }
-        activeUserSession.addSessionEvent(event);
+        sendSessionEvent(activeUserSession, event);
     }
 
     @Override
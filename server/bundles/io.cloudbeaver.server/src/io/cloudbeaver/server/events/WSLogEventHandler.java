@@ -23,6 +23,11 @@ import org.jkiss.dbeaver.model.websocket.event.WSSessionLogUpdatedEvent;
 
 public class WSLogEventHandler extends WSDefaultEventHandler<WSSessionLogUpdatedEvent> {
 
+    @Override
+    protected boolean isDeliveryOnly() {
+        return false;
+    }
+
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSSessionLogUpdatedEvent event) {
         activeUserSession.addSessionMessage(new WebServerMessage(event.getMessageType(), event.getMessage()));
     }
@@ -27,6 +27,11 @@ public class WSProjectUpdatedEventHandler extends WSAbstractProjectEventHandler<
 
     private static final Log log = Log.getLog(WSProjectUpdatedEventHandler.class);
 
+    @Override
+    protected boolean isDeliveryOnly() {
+        return false;
+    }
+
     @Override
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSProjectUpdateEvent event) {
         var eventId = event.getId();
@@ -39,7 +44,7 @@ public class WSProjectUpdatedEventHandler extends WSAbstractProjectEventHandler<
                 activeUserSession.removeSessionProject(projectId);
                 log.info("Project '" + projectId + "' removed from '" + activeUserSession.getSessionId() + "' session");
             }
-            activeUserSession.addSessionEvent(event);
+            sendSessionEvent(activeUserSession, event);
         } catch (DBException e) {
             log.warn("Failed to handle project lifecycle event", e);
         }
@@ -0,0 +1,165 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executes operations of a batched GraphQL request concurrently.
+ * <p>
+ * Pool size is bounded and each session may occupy only a few pool threads at once.
+ * Operations which can't get a thread are executed by the calling (servlet) thread,
+ * so a batch always completes even if the pool is saturated.
+ * Failure of one operation is reported in its result and doesn't affect other operations.
+ * <p>
+ * Operations must not share non thread-safe state (e.g. servlet request and response).
+ */
+public class GraphQLBatchExecutor {
+
+    private static final Log log = Log.getLog(GraphQLBatchExecutor.class);
+
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int QUEUE_SIZE = POOL_SIZE * 4;
+    public static final int MAX_SESSION_THREADS = 4;
+
+    private final ThreadPoolExecutor executor;
+    // Number of pool threads used by each session
+    private final Map<String, AtomicInteger> sessionThreads = new ConcurrentHashMap<>();
+
+    public GraphQLBatchExecutor() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+            POOL_SIZE,
+            POOL_SIZE,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE),
+            runnable -> {
+                Thread thread = new Thread(runnable, "GraphQL batch executor " + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Executes operations and returns their results in the original order.
+     */
+    @NotNull
+    public List<Map<String, Object>> execute(@NotNull String sessionId, @NotNull List<Supplier<Map<String, Object>>> operations) {
+        List<Future<Map<String, Object>>> futures = new ArrayList<>(operations.size());
+        List<Map<String, Object>> results = new ArrayList<>(operations.size());
+        // The last operation is always executed by the calling thread, it would wait for others anyway
+        for (int i = 0; i < operations.size() - 1; i++) {
+            futures.add(submit(sessionId, operations.get(i)));
+        }
+        Map<String, Object> lastResult = runOperation(operations.get(operations.size() - 1));
+        for (int i = 0; i < futures.size(); i++) {
+            Future<Map<String, Object>> future = futures.get(i);
+            if (future == null) {
+                results.add(runOperation(operations.get(i)));
+            } else {
+                results.add(waitForResult(future));
+            }
+        }
+        results.add(lastResult);
+        return results;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns null if operation must be executed by the calling thread
+     */
+    private Future<Map<String, Object>> submit(@NotNull String sessionId, @NotNull Supplier<Map<String, Object>> operation) {
+        if (!acquireSessionThread(sessionId)) {
+            return null;
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return runOperation(operation);
+                } finally {
+                    releaseSessionThread(sessionId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releaseSessionThread(sessionId);
+            return null;
+        }
+    }
+
+    private boolean acquireSessionThread(@NotNull String sessionId) {
+        boolean[] acquired = new boolean[1];
+        sessionThreads.compute(sessionId, (id, counter) -> {
+            if (counter == null) {
+                counter = new AtomicInteger();
+            }
+            if (counter.get() < MAX_SESSION_THREADS) {
+                counter.incrementAndGet();
+                acquired[0] = true;
+            }
+            return counter;
+        });
+        return acquired[0];
+    }
+
+    private void releaseSessionThread(@NotNull String sessionId) {
+        sessionThreads.computeIfPresent(sessionId, (id, counter) -> counter.decrementAndGet() <= 0 ? null : counter);
+    }
+
+    @NotNull
+    private static Map<String, Object> runOperation(@NotNull Supplier<Map<String, Object>> operation) {
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            log.error("Error executing batched GraphQL operation", e);
+            return makeErrorResult(e);
+        }
+    }
+
+    @NotNull
+    private static Map<String, Object> makeErrorResult(@NotNull Throwable error) {
+        return Map.of("errors", List.of(Map.of("message", String.valueOf(error.getMessage()))));
+    }
+
+    @NotNull
+    private static Map<String, Object> waitForResult(@NotNull Future<Map<String, Object>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return Map.of("errors", List.of(Map.of("message", "Request interrupted")));
+        } catch (ExecutionException e) {
+            log.error("Error executing batched GraphQL operation", e.getCause());
+            return makeErrorResult(e.getCause());
+        }
+    }
+}
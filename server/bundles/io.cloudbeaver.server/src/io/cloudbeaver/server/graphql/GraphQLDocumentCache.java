@@ -0,0 +1,173 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * LRU cache of parsed and validated GraphQL documents, keyed by SHA-256 hash of the query text.
+ * Cache is bounded both by number of entries and by total query text length.
+ * <p>
+ * Persisted queries are not looked up here, see {@link GraphQLPersistedQueryStore}.
+ */
+public class GraphQLDocumentCache implements PreparsedDocumentProvider {
+
+    private static final int MAX_ENTRIES = 1000;
+    private static final long MAX_TOTAL_QUERY_LENGTH = 8 * 1024 * 1024;
+    // Large ad-hoc queries are not worth caching
+    private static final int MAX_QUERY_LENGTH = 256 * 1024;
+
+    private record CacheEntry(@NotNull String query, @NotNull PreparsedDocumentEntry document) {
+    }
+
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalQueryLength;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+        ExecutionInput executionInput,
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction
+    ) {
+        String query = executionInput.getQuery();
+        if (query.length() > MAX_QUERY_LENGTH) {
+            misses.increment();
+            return CompletableFuture.completedFuture(parseAndValidateFunction.apply(executionInput));
+        }
+        String hash = getQueryHash(query);
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(hash);
+        }
+        if (entry != null && entry.query.equals(query)) {
+            hits.increment();
+            return CompletableFuture.completedFuture(entry.document);
+        }
+        misses.increment();
+        // Parse outside of lock. Concurrent misses of the same query may parse it twice, it is harmless.
+        PreparsedDocumentEntry document = parseAndValidateFunction.apply(executionInput);
+        if (!document.hasErrors()) {
+            put(hash, new CacheEntry(query, document));
+        }
+        return CompletableFuture.completedFuture(document);
+    }
+
+    /**
+     * Checks whether the executed operation of the document is a query.
+     * Cached document is used if present, otherwise query is parsed (but not validated).
+     *
+     * @return false for mutations, subscriptions, invalid documents and ambiguous operations
+     */
+    public boolean isQueryOperation(@NotNull String query, @Nullable String operationName) {
+        Document document = null;
+        if (query.length() <= MAX_QUERY_LENGTH) {
+            CacheEntry entry;
+            synchronized (entries) {
+                entry = entries.get(getQueryHash(query));
+            }
+            if (entry != null && entry.query.equals(query)) {
+                document = entry.document.getDocument();
+            }
+        }
+        if (document == null) {
+            try {
+                document = Parser.parse(query);
+            } catch (InvalidSyntaxException e) {
+                return false;
+            }
+        }
+        OperationDefinition operation = null;
+        for (OperationDefinition definition : document.getDefinitionsOfType(OperationDefinition.class)) {
+            if (operationName == null) {
+                if (operation != null) {
+                    // Operation name is required for documents with multiple operations
+                    return false;
+                }
+                operation = definition;
+            } else if (operationName.equals(definition.getName())) {
+                operation = definition;
+                break;
+            }
+        }
+        return operation != null && operation.getOperation() == OperationDefinition.Operation.QUERY;
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+            totalQueryLength = 0;
+        }
+    }
+
+    void getStatusInfo(@NotNull Map<String, Object> infoMap) {
+        synchronized (entries) {
+            infoMap.put("graphql.documentCache.size", entries.size());
+        }
+        infoMap.put("graphql.documentCache.hits", hits.sum());
+        infoMap.put("graphql.documentCache.misses", misses.sum());
+        infoMap.put("graphql.documentCache.evictions", evictions.sum());
+    }
+
+    private void put(@NotNull String hash, @NotNull CacheEntry entry) {
+        synchronized (entries) {
+            CacheEntry oldEntry = entries.put(hash, entry);
+            if (oldEntry != null) {
+                totalQueryLength -= oldEntry.query.length();
+            }
+            totalQueryLength += entry.query.length();
+            for (Iterator<CacheEntry> iter = entries.values().iterator();
+                 iter.hasNext() && (entries.size() > MAX_ENTRIES || totalQueryLength > MAX_TOTAL_QUERY_LENGTH); ) {
+                CacheEntry eldest = iter.next();
+                iter.remove();
+                totalQueryLength -= eldest.query.length();
+                evictions.increment();
+            }
+        }
+    }
+
+    @NotNull
+    public static String getQueryHash(@NotNull String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
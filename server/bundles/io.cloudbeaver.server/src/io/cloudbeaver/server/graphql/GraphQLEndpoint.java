@@ -17,6 +17,7 @@
 package io.cloudbeaver.server.graphql;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import graphql.*;
 import graphql.execution.*;
 import graphql.execution.instrumentation.SimplePerformantInstrumentation;
@@ -32,6 +33,7 @@ import io.cloudbeaver.WebServiceUtils;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.registry.WebServiceRegistry;
 import io.cloudbeaver.server.HttpConstants;
+import io.cloudbeaver.server.WebAppUtils;
 import io.cloudbeaver.service.DBWBindingContext;
 import io.cloudbeaver.service.DBWServiceBindingGraphQL;
 import io.cloudbeaver.service.WebServiceBindingBase;
@@ -40,19 +42,19 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class GraphQLEndpoint extends HttpServlet {
 
@@ -67,19 +69,42 @@ public class GraphQLEndpoint extends HttpServlet {
     private static final String CORE_SCHEMA_FILE_NAME = "schema/schema.graphqls";
     private final GraphQL graphQL;
 
+    // Responses larger than this are compressed if client supports it
+    private static final int RESPONSE_COMPRESS_THRESHOLD = 8 * 1024;
+
     private static final Gson gson = new GsonBuilder()
+        .serializeNulls()
+        .create();
+    // Pretty printed output is used in devel mode only
+    private static final Gson develGson = new GsonBuilder()
         .serializeNulls()
         .setPrettyPrinting()
         .create();
     private GraphQLBindingContext bindingContext;
 
+    // Cache of the most recently created endpoint, reported in server status
+    private static volatile GraphQLDocumentCache activeDocumentCache;
+    private static volatile GraphQLPersistedQueryStore activePersistedQueries;
+    private final GraphQLDocumentCache documentCache = new GraphQLDocumentCache();
+    private final GraphQLPersistedQueryStore persistedQueries = new GraphQLPersistedQueryStore();
+    private final GraphQLBatchExecutor batchExecutor = new GraphQLBatchExecutor();
+
+    private static final String CONTEXT_REQUEST = "request";
+    private static final String CONTEXT_RESPONSE = "response";
+    private static final String CONTEXT_BINDING_CONTEXT = "bindingContext";
+    // Web session resolved by the servlet thread. Set for concurrently executed batch operations only.
+    private static final String CONTEXT_WEB_SESSION = "webSession";
+
     public GraphQLEndpoint() {
         GraphQLSchema schema = buildSchema();
 
         PropertyDataFetcherHelper.setUseLambdaFactory(false);
+        activeDocumentCache = documentCache;
+        activePersistedQueries = persistedQueries;
         graphQL = GraphQL
             .newGraphQL(schema)
             .instrumentation(new SimplePerformantInstrumentation())
+            .preparsedDocumentProvider(documentCache)
             .queryExecutionStrategy(new WebExecutionStrategy())
             .mutationExecutionStrategy(new WebExecutionStrategy())
             .build();
@@ -116,6 +141,12 @@ public class GraphQLEndpoint extends HttpServlet {
         return schemaGenerator.makeExecutableSchema(parsedSchema, bindingContext.buildRuntimeWiring());
     }
 
+    @Override
+    public void destroy() {
+        batchExecutor.shutdown();
+        super.destroy();
+    }
+
     @Override
     protected void doOptions(HttpServletRequest request, HttpServletResponse response) {
         setDevelHeaders(request, response);
@@ -165,42 +196,144 @@ public class GraphQLEndpoint extends HttpServlet {
         String postBody = IOUtils.readToString(request.getReader());
         JsonElement json = gson.fromJson(postBody, JsonElement.class);
         if (json instanceof JsonArray array) {
-            setDevelHeaders(request, response);
-            response.setContentType(GraphQLConstants.CONTENT_TYPE_JSON_UTF8);
-            response.getWriter().print("[\n");
-
-            int reqCount = 0;
-            for (int i = 0; i < array.size(); i++) {
-                if (reqCount > 0) {
-                    response.getWriter().print(",\n");
+            List<JsonObject> reqObjects = new ArrayList<>(array.size());
+            for (JsonElement item : array) {
+                if (item instanceof JsonObject reqObject) {
+                    reqObjects.add(reqObject);
                 }
-                JsonElement item = array.get(i);
-                if (item instanceof JsonObject) {
-                    executeSingleQuery(request, response, (JsonObject) item);
-                    reqCount++;
+            }
+            List<Map<String, Object>> results = null;
+            if (reqObjects.size() > 1 && isReadOnlyBatch(reqObjects)) {
+                results = executeConcurrentBatch(request, reqObjects);
+            }
+            if (results == null) {
+                Map<String, Object> context = makeServletContext(request, response);
+                results = new ArrayList<>(reqObjects.size());
+                for (JsonObject reqObject : reqObjects) {
+                    results.add(executeSingleQuery(context, reqObject));
                 }
             }
-
-            response.getWriter().print("\n]");
+            writeResponse(request, response, results);
         } else if (json instanceof JsonObject reqObject) {
-            executeSingleQuery(request, response, reqObject);
+            if (reqObject.get("query") == null && reqObject.get("extensions") == null) {
+                response.sendError(400, "Query not specified");
+                return;
+            }
+            writeResponse(request, response, executeSingleQuery(makeServletContext(request, response), reqObject));
         } else {
             response.sendError(400, "Bad JSON request");
         }
     }
 
-    private void executeSingleQuery(HttpServletRequest request, HttpServletResponse response, JsonObject reqObject) throws IOException {
-        JsonElement query = reqObject.get("query");
-        if (query == null) {
-            response.sendError(400, "Query not specified");
-            return;
+    /**
+     * Batch may be executed concurrently if it contains only queries.
+     * Operation type is taken from the parsed document. Queries referenced by hash only
+     * and documents which can't be parsed are not checked and thus executed sequentially.
+     */
+    private boolean isReadOnlyBatch(List<JsonObject> reqObjects) {
+        for (JsonObject reqObject : reqObjects) {
+            String query = getJsonString(reqObject.get("query"));
+            if (query == null || !documentCache.isQueryOperation(query, getJsonString(reqObject.get("operationName")))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Servlet request and response are not thread safe, so they are not available to concurrently executed operations.
+     * Web session is resolved once by the servlet thread and passed to each operation in its own GraphQL context.
+     *
+     * @return null if batch must be executed sequentially
+     */
+    private List<Map<String, Object>> executeConcurrentBatch(HttpServletRequest request, List<JsonObject> reqObjects) {
+        HttpSession httpSession = request.getSession(false);
+        if (httpSession == null) {
+            return null;
+        }
+        WebSession webSession = WebAppUtils.getWebApplication().getSessionManager().findWebSession(request);
+        if (webSession == null) {
+            return null;
+        }
+        List<Supplier<Map<String, Object>>> operations = new ArrayList<>(reqObjects.size());
+        for (JsonObject reqObject : reqObjects) {
+            Map<String, Object> context = Map.of(
+                CONTEXT_WEB_SESSION, webSession,
+                CONTEXT_BINDING_CONTEXT, bindingContext);
+            operations.add(() -> executeSingleQuery(context, reqObject));
         }
+        return batchExecutor.execute(httpSession.getId(), operations);
+    }
+
+    private Map<String, Object> makeServletContext(HttpServletRequest request, HttpServletResponse response) {
+        return Map.of(
+            CONTEXT_REQUEST, request,
+            CONTEXT_RESPONSE, response,
+            CONTEXT_BINDING_CONTEXT, bindingContext);
+    }
+
+    private Map<String, Object> executeSingleQuery(Map<String, Object> context, JsonObject reqObject) {
         JsonElement varJSON = reqObject.get("variables");
         Map<String, Object> variables = varJSON == null ? null : gson.fromJson(varJSON, JSONUtils.MAP_TYPE_TOKEN);
 
         JsonElement operNameJSON = reqObject.get("operationName");
 
-        executeQuery(request, response, query.getAsString(), variables, operNameJSON == null || operNameJSON instanceof JsonNull ? null : operNameJSON.getAsString());
+        return executePersistedQuery(
+            context,
+            getJsonString(reqObject.get("query")),
+            reqObject.get("extensions"),
+            variables,
+            getJsonString(operNameJSON));
+    }
+
+    /**
+     * Executes query which may be referenced by hash (Apollo automatic persisted queries protocol).
+     * If hash is not known then client is asked to send the full query text, which registers the query.
+     */
+    private Map<String, Object> executePersistedQuery(
+        Map<String, Object> context,
+        String query,
+        JsonElement extensions,
+        Map<String, Object> variables,
+        String operationName
+    ) {
+        String queryHash = getPersistedQueryHash(extensions);
+        if (queryHash != null) {
+            if (query == null) {
+                query = persistedQueries.getQuery(queryHash);
+                if (query == null) {
+                    return makeErrorResult("PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND");
+                }
+            } else if (!persistedQueries.registerQuery(queryHash, query)) {
+                return makeErrorResult("Provided sha256Hash does not match query", "PERSISTED_QUERY_HASH_MISMATCH");
+            }
+        }
+        if (query == null) {
+            return makeErrorResult("Query not specified", null);
+        }
+        return executeQuery(context, query, variables, operationName);
+    }
+
+    private static String getPersistedQueryHash(JsonElement extensions) {
+        if (extensions instanceof JsonObject extObject
+            && extObject.get("persistedQuery") instanceof JsonObject persistedQuery
+        ) {
+            return getJsonString(persistedQuery.get("sha256Hash"));
+        }
+        return null;
+    }
+
+    private static String getJsonString(JsonElement element) {
+        return element == null || element instanceof JsonNull ? null : element.getAsString();
+    }
+
+    private static Map<String, Object> makeErrorResult(String message, String code) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("message", message);
+        if (code != null) {
+            error.put("extensions", Map.of("code", code));
+        }
+        return Map.of("errors", List.of(error));
     }
 
     @Override
@@ -212,29 +345,30 @@ public class GraphQLEndpoint extends HttpServlet {
         boolean develMode = ServletAppUtils.getServletApplication().getServerConfiguration().isDevelMode();
 
         if (path.contentEquals("/schema.json") && develMode) {
-            executeQuery(request, response, GraphQLConstants.SCHEMA_READ_QUERY, null, null);
+            writeResponse(request, response, executeQuery(makeServletContext(request, response), GraphQLConstants.SCHEMA_READ_QUERY, null, null));
         } else if (path.contentEquals("/console") && develMode) {
             try (InputStream consolePageStream = WebServiceUtils.openStaticResource("static/graphiql/index.html")) {
                 IOUtils.copyStream(consolePageStream, response.getOutputStream());
             }
         } else {
             String query = request.getParameter("query");
-            if (query != null) {
-                executeQuery(request, response, query, null, request.getParameter("operationName"));
+            String extensions = request.getParameter("extensions");
+            if (query != null || extensions != null) {
+                writeResponse(request, response, executePersistedQuery(
+                    makeServletContext(request, response),
+                    query,
+                    extensions == null ? null : gson.fromJson(extensions, JsonElement.class),
+                    null,
+                    request.getParameter("operationName")));
             } else {
                 response.sendError(400, "Bad GET request");
             }
         }
     }
 
-    private void executeQuery(HttpServletRequest request, HttpServletResponse response, String query, Map<String, Object> variables, String operationName) throws IOException {
-        Map<String, Object> mapOfContext =
-            Map.of(
-                "request", request,
-                "response", response,
-                "bindingContext", bindingContext);
+    private Map<String, Object> executeQuery(Map<String, Object> context, String query, Map<String, Object> variables, String operationName) {
         ExecutionInput.Builder contextBuilder = ExecutionInput.newExecutionInput()
-            .graphQLContext(mapOfContext)
+            .graphQLContext(context)
             .query(query);
         if (variables != null) {
             contextBuilder.variables(variables);
@@ -249,8 +383,16 @@ public class GraphQLEndpoint extends HttpServlet {
 //                    apiCall += " (" + variables + ")";
 //                }
 //            }
-            String sessionId = GraphQLLoggerUtil.getSessionId(request);
-            String userId = GraphQLLoggerUtil.getUserId(request);
+            String sessionId;
+            String userId;
+            if (context.get(CONTEXT_WEB_SESSION) instanceof WebSession webSession) {
+                sessionId = GraphQLLoggerUtil.getSessionId(webSession);
+                userId = GraphQLLoggerUtil.getUserId(webSession);
+            } else {
+                HttpServletRequest request = (HttpServletRequest) context.get(CONTEXT_REQUEST);
+                sessionId = GraphQLLoggerUtil.getSessionId(request);
+                userId = GraphQLLoggerUtil.getUserId(request);
+            }
             String loggerMessage = GraphQLLoggerUtil.buildLoggerMessage(sessionId, userId, variables);
             if (apiCall != null) {
                 log.debug("API > " + apiCall + loggerMessage);
@@ -261,11 +403,25 @@ public class GraphQLEndpoint extends HttpServlet {
         ExecutionInput executionInput = contextBuilder.build();
         ExecutionResult executionResult = graphQL.execute(executionInput);
 
-        Map<String, Object> resJSON = executionResult.toSpecification();
-        String resString = gson.toJson(resJSON);
+        return executionResult.toSpecification();
+    }
+
+    /**
+     * Serializes result directly into the response output, without building the whole JSON string in memory.
+     */
+    private void writeResponse(HttpServletRequest request, HttpServletResponse response, Object result) throws IOException {
         setDevelHeaders(request, response);
         response.setContentType(GraphQLConstants.CONTENT_TYPE_JSON_UTF8);
-        response.getWriter().print(resString);
+
+        Gson responseGson = ServletAppUtils.getServletApplication().getServerConfiguration().isDevelMode() ? develGson : gson;
+        try (Writer writer = new OutputStreamWriter(
+            new GraphQLResponseOutputStream(request, response, RESPONSE_COMPRESS_THRESHOLD),
+            StandardCharsets.UTF_8)
+        ) {
+            JsonWriter jsonWriter = responseGson.newJsonWriter(writer);
+            responseGson.toJson(result, result.getClass(), jsonWriter);
+            jsonWriter.flush();
+        }
     }
 
     private static class WebExecutionStrategy extends AsyncExecutionStrategy {
@@ -310,27 +466,49 @@ public class GraphQLEndpoint extends HttpServlet {
     }
 
 
+    /**
+     * Adds GraphQL document cache and persisted queries statistics to the server status
+     */
+    public static void getStatusInfo(Map<String, Object> infoMap) {
+        GraphQLDocumentCache documentCache = activeDocumentCache;
+        if (documentCache != null) {
+            documentCache.getStatusInfo(infoMap);
+        }
+        GraphQLPersistedQueryStore persistedQueryStore = activePersistedQueries;
+        if (persistedQueryStore != null) {
+            persistedQueryStore.getStatusInfo(infoMap);
+        }
+    }
+
     public static HttpServletRequest getServletRequest(DataFetchingEnvironment env) {
         GraphQLContext context = env.getGraphQlContext();
-        HttpServletRequest request = context.get("request");
+        HttpServletRequest request = context.get(CONTEXT_REQUEST);
         if (request == null) {
-            throw new IllegalStateException("Null request");
+            throw new IllegalStateException("Servlet request is not available");
         }
         return request;
     }
 
     public static HttpServletResponse getServletResponse(DataFetchingEnvironment env) {
         GraphQLContext context = env.getGraphQlContext();
-        HttpServletResponse response = context.get("response");
+        HttpServletResponse response = context.get(CONTEXT_RESPONSE);
         if (response == null) {
-            throw new IllegalStateException("Null response");
+            throw new IllegalStateException("Servlet response is not available");
         }
         return response;
     }
 
     public static DBWBindingContext getBindingContext(DataFetchingEnvironment env) {
         GraphQLContext context = env.getGraphQlContext();
-        return context.get("bindingContext");
+        return context.get(CONTEXT_BINDING_CONTEXT);
+    }
+
+    /**
+     * Returns web session resolved before execution or null if operation has access to the servlet request.
+     */
+    public static WebSession getContextWebSession(DataFetchingEnvironment env) {
+        GraphQLContext context = env.getGraphQlContext();
+        return context.get(CONTEXT_WEB_SESSION);
     }
 
 }
\ No newline at end of file
@@ -33,7 +33,10 @@ public class GraphQLLoggerUtil {
         Set.of("password", "config", "parameters", "settings", "licenseText", "credentials", "username");
 
     public static String getUserId(HttpServletRequest request) {
-        WebSession session = getWebSession(request);
+        return getUserId(getWebSession(request));
+    }
+
+    public static String getUserId(@Nullable WebSession session) {
         if (session == null) {
             return null;
         }
@@ -45,7 +48,10 @@ public class GraphQLLoggerUtil {
     }
 
     public static String getSessionId(HttpServletRequest request) {
-        WebSession session = getWebSession(request);
+        return getSessionId(getWebSession(request));
+    }
+
+    public static String getSessionId(@Nullable WebSession session) {
         if (session == null) {
             return null;
         }
@@ -0,0 +1,105 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persisted queries of the Apollo automatic persisted queries (APQ) protocol, keyed by SHA-256 hash of the query text.
+ * <p>
+ * Queries are registered when client sends the query text together with its hash. The store is kept
+ * separately from {@link GraphQLDocumentCache}, so ad-hoc queries do not evict persisted ones.
+ * It is still a best-effort cache: it is bounded and not shared between server nodes, so a client
+ * must send the full query again after the {@code PERSISTED_QUERY_NOT_FOUND} error.
+ */
+public class GraphQLPersistedQueryStore {
+
+    private static final int MAX_ENTRIES = 5000;
+    private static final long MAX_TOTAL_QUERY_LENGTH = 16 * 1024 * 1024;
+    private static final int MAX_QUERY_LENGTH = 256 * 1024;
+
+    private final LinkedHashMap<String, String> queries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalQueryLength;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Returns query text of a persisted query or null if the hash is unknown.
+     */
+    @Nullable
+    public String getQuery(@NotNull String hash) {
+        String query;
+        synchronized (queries) {
+            query = queries.get(hash.toLowerCase(Locale.ROOT));
+        }
+        if (query == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return query;
+    }
+
+    /**
+     * Registers query under the specified hash.
+     *
+     * @return false if hash doesn't match the query text
+     */
+    public boolean registerQuery(@NotNull String hash, @NotNull String query) {
+        String queryHash = GraphQLDocumentCache.getQueryHash(query);
+        if (!queryHash.equalsIgnoreCase(hash)) {
+            return false;
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            // Query is executed but not persisted
+            return true;
+        }
+        synchronized (queries) {
+            String oldQuery = queries.put(queryHash, query);
+            if (oldQuery != null) {
+                totalQueryLength -= oldQuery.length();
+            }
+            totalQueryLength += query.length();
+            for (Iterator<String> iter = queries.values().iterator();
+                 iter.hasNext() && (queries.size() > MAX_ENTRIES || totalQueryLength > MAX_TOTAL_QUERY_LENGTH); ) {
+                String eldest = iter.next();
+                iter.remove();
+                totalQueryLength -= eldest.length();
+                evictions.increment();
+            }
+        }
+        return true;
+    }
+
+    void getStatusInfo(@NotNull Map<String, Object> infoMap) {
+        synchronized (queries) {
+            infoMap.put("graphql.persistedQuery.size", queries.size());
+        }
+        infoMap.put("graphql.persistedQuery.hits", hits.sum());
+        infoMap.put("graphql.persistedQuery.misses", misses.sum());
+        infoMap.put("graphql.persistedQuery.evictions", evictions.sum());
+    }
+}
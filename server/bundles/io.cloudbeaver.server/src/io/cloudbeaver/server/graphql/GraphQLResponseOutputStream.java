@@ -0,0 +1,195 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response output which negotiates gzip/deflate content encoding.
+ * Small responses are sent as is: the first {@code compressThreshold} bytes are buffered,
+ * compression is enabled only when the response grows beyond them.
+ */
+public class GraphQLResponseOutputStream extends OutputStream {
+
+    public static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    public static final String HEADER_VARY = "Vary";
+
+    public static final String ENCODING_GZIP = "gzip";
+    public static final String ENCODING_DEFLATE = "deflate";
+
+    private static final int COMPRESS_BUFFER_SIZE = 8192;
+
+    @NotNull
+    private final HttpServletResponse response;
+    @Nullable
+    private final String encoding;
+    private byte[] buffer;
+    private int bufferSize;
+    private OutputStream target;
+    private Deflater deflater;
+    private boolean closed;
+
+    public GraphQLResponseOutputStream(
+        @NotNull HttpServletRequest request,
+        @NotNull HttpServletResponse response,
+        int compressThreshold
+    ) {
+        this.response = response;
+        this.encoding = negotiateEncoding(request.getHeader(HEADER_ACCEPT_ENCODING));
+        this.buffer = new byte[compressThreshold];
+        if (encoding != null) {
+            response.addHeader(HEADER_VARY, HEADER_ACCEPT_ENCODING);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (target == null && bufferSize < buffer.length) {
+            buffer[bufferSize++] = (byte) b;
+            return;
+        }
+        openTarget().write(b);
+    }
+
+    @Override
+    public void write(@NotNull byte[] b, int off, int len) throws IOException {
+        if (target == null && bufferSize + len <= buffer.length) {
+            System.arraycopy(b, off, buffer, bufferSize, len);
+            bufferSize += len;
+            return;
+        }
+        openTarget().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Do not flush partial output: it would disable compression for the rest of the response
+        if (target != null) {
+            target.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (target == null) {
+            // Response is small - send it uncompressed
+            response.setContentLength(bufferSize);
+            OutputStream out = response.getOutputStream();
+            out.write(buffer, 0, bufferSize);
+            out.flush();
+        } else {
+            target.close();
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        buffer = null;
+    }
+
+    private OutputStream openTarget() throws IOException {
+        if (closed) {
+            throw new IOException("Response output is closed");
+        }
+        if (target == null) {
+            OutputStream out = response.getOutputStream();
+            if (ENCODING_GZIP.equals(encoding)) {
+                response.setHeader(HEADER_CONTENT_ENCODING, ENCODING_GZIP);
+                target = new GZIPOutputStream(out, COMPRESS_BUFFER_SIZE);
+            } else if (ENCODING_DEFLATE.equals(encoding)) {
+                response.setHeader(HEADER_CONTENT_ENCODING, ENCODING_DEFLATE);
+                deflater = new Deflater();
+                target = new DeflaterOutputStream(out, deflater, COMPRESS_BUFFER_SIZE);
+            } else {
+                target = out;
+            }
+            target.write(buffer, 0, bufferSize);
+            bufferSize = 0;
+        }
+        return target;
+    }
+
+    /**
+     * Picks gzip or deflate from the Accept-Encoding header.
+     * Encoding with the higher quality is preferred, gzip is preferred for equal qualities.
+     * Wildcard matches encodings which are not listed explicitly, encodings with zero quality are not acceptable.
+     *
+     * @return null if response must not be compressed
+     */
+    @Nullable
+    public static String negotiateEncoding(@Nullable String acceptEncoding) {
+        if (CommonUtils.isEmpty(acceptEncoding)) {
+            return null;
+        }
+        Map<String, Float> qualities = new HashMap<>();
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ENGLISH);
+            if (coding.isEmpty()) {
+                continue;
+            }
+            float quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                int eqPos = param.indexOf('=');
+                if (eqPos > 0 && param.substring(0, eqPos).trim().equalsIgnoreCase("q")) {
+                    try {
+                        quality = Float.parseFloat(param.substring(eqPos + 1).trim());
+                    } catch (NumberFormatException e) {
+                        // Malformed quality, do not use this encoding
+                        quality = 0;
+                    }
+                }
+            }
+            qualities.put(coding, quality);
+        }
+        float gzipQuality = getEncodingQuality(qualities, ENCODING_GZIP);
+        float deflateQuality = getEncodingQuality(qualities, ENCODING_DEFLATE);
+        if (gzipQuality > 0 && gzipQuality >= deflateQuality) {
+            return ENCODING_GZIP;
+        }
+        if (deflateQuality > 0) {
+            return ENCODING_DEFLATE;
+        }
+        return null;
+    }
+
+    private static float getEncodingQuality(@NotNull Map<String, Float> qualities, @NotNull String encoding) {
+        Float quality = qualities.get(encoding);
+        if (quality == null) {
+            quality = qualities.get("*");
+        }
+        return quality == null ? 0 : quality;
+    }
+}
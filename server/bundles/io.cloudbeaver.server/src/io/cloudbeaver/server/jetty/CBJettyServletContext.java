@@ -18,6 +18,7 @@
 package io.cloudbeaver.server.jetty;
 
 import io.cloudbeaver.service.DBWServletContext;
+import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
@@ -31,6 +32,11 @@ public class CBJettyServletContext implements DBWServletContext {
 
     @Override
     public void addServlet(String servletId, HttpServlet servlet, String mapping) {
-        contextHandler.addServlet(new ServletHolder(servletId, servlet), mapping);
+        ServletHolder servletHolder = new ServletHolder(servletId, servlet);
+        WebServlet servletInfo = servlet.getClass().getAnnotation(WebServlet.class);
+        if (servletInfo != null) {
+            servletHolder.setAsyncSupported(servletInfo.asyncSupported());
+        }
+        contextHandler.addServlet(servletHolder, mapping);
     }
 }
@@ -17,8 +17,15 @@
 package io.cloudbeaver.server.servlets;
 
 import com.google.gson.stream.JsonWriter;
+import io.cloudbeaver.model.rm.local.RMResourceMetadataCache;
+import io.cloudbeaver.model.session.WebAsyncTaskScheduler;
 import io.cloudbeaver.server.CBConstants;
 import io.cloudbeaver.server.WebAppUtils;
+import io.cloudbeaver.server.events.WSDataSourceUpdatedEventHandlerImpl;
+import io.cloudbeaver.server.events.WSDefaultEventHandler;
+import io.cloudbeaver.server.graphql.GraphQLEndpoint;
+import io.cloudbeaver.service.security.EmbeddedSecurityControllerFactory;
+import io.cloudbeaver.service.security.db.CBDatabase;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
@@ -46,6 +53,16 @@ public class WebStatusServlet extends DefaultServlet {
         infoMap.put("product.name", GeneralUtils.getProductName());
         infoMap.put("product.version", GeneralUtils.getProductVersion().toString());
         WebAppUtils.getWebApplication().getStatusInfo(infoMap);
+        GraphQLEndpoint.getStatusInfo(infoMap);
+        WebAsyncTaskScheduler.getInstance().getStatusInfo(infoMap);
+        WebAsyncTaskScheduler.getTransferInstance().getStatusInfo(infoMap);
+        WSDefaultEventHandler.getStatusInfo(infoMap);
+        WSDataSourceUpdatedEventHandlerImpl.getStatusInfo(infoMap);
+        RMResourceMetadataCache.getInstance().getStatusInfo(infoMap);
+        CBDatabase database = EmbeddedSecurityControllerFactory.getDbInstance();
+        if (database != null) {
+            database.getPermissionsCache().getStatusInfo(infoMap);
+        }
         try (JsonWriter writer = new JsonWriter(response.getWriter())) {
             JSONUtils.serializeMap(writer, infoMap);
         }
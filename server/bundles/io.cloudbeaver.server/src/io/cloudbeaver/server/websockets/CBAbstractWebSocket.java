@@ -1,6 +1,6 @@
 /*
  * DBeaver - Universal Database Manager
- * Copyright (C) 2010-2024 DBeaver Corp and others
+ * Copyright (C) 2010-2025 DBeaver Corp and others
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,36 +17,154 @@
 package io.cloudbeaver.server.websockets;
 
 import com.google.gson.Gson;
-import jakarta.websocket.Endpoint;
-import jakarta.websocket.EndpointConfig;
-import jakarta.websocket.Session;
+import jakarta.websocket.*;
+import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.websocket.WSUtils;
 import org.jkiss.dbeaver.model.websocket.event.WSEvent;
+import org.jkiss.dbeaver.model.websocket.event.WSSessionLogUpdatedEvent;
+import org.jkiss.dbeaver.model.websocket.event.session.WSSessionStateEvent;
 
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Base websocket endpoint.
+ * <p>
+ * Events are sent asynchronously: {@link #handleEvent(WSEvent)} only puts the event in the socket queue,
+ * so a slow client doesn't block the thread which raised the event.
+ * Events which only notify the client that some state has changed are coalesced while they wait in the queue.
+ * If the client falls too far behind, the socket is closed and the client has to reconnect.
+ */
 public abstract class CBAbstractWebSocket extends Endpoint {
     private static final Log log = Log.getLog(CBAbstractWebSocket.class);
     protected static final Gson gson = WSUtils.clientGson;
 
+    protected static final int MAX_QUEUED_EVENTS = 1000;
+
     @Nullable
     private Session webSocketSession;
 
+    private final ArrayDeque<CBEventMessage> eventQueue = new ArrayDeque<>();
+    // True while some thread drains the queue or async send is in progress
+    private boolean sending;
+    private boolean closeRequested;
+
     @Override
     public void onOpen(Session session, EndpointConfig config) {
         this.webSocketSession = session;
     }
 
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        synchronized (eventQueue) {
+            eventQueue.clear();
+        }
+    }
+
     public void handleEvent(WSEvent event) {
         if (!isOpen()) {
             return;
         }
-        try {
-            webSocketSession.getBasicRemote().sendText(
-                gson.toJson(event)
-            );
-        } catch (Exception e) {
-            handleEventException(e);
+        CBEventMessage message = CBEventMessage.forEvent(event);
+        boolean overflow = false;
+        synchronized (eventQueue) {
+            if (closeRequested || coalesceEvent(message)) {
+                return;
+            }
+            if (eventQueue.size() >= MAX_QUEUED_EVENTS) {
+                eventQueue.clear();
+                closeRequested = true;
+                overflow = true;
+            } else {
+                eventQueue.add(message);
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+        }
+        if (overflow) {
+            log.warn("Websocket client doesn't read events, " + MAX_QUEUED_EVENTS + " events are pending. Closing websocket.");
+            closeSession(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Too many pending events"));
+            return;
+        }
+        sendQueuedEvents();
+    }
+
+    /**
+     * Replaces queued event of the same kind with the new one.
+     * Client reloads session state or log on these events, so only the latest one matters.
+     */
+    private boolean coalesceEvent(@NotNull CBEventMessage message) {
+        WSEvent event = message.getEvent();
+        if (!(event instanceof WSSessionStateEvent) && !(event instanceof WSSessionLogUpdatedEvent)) {
+            return false;
+        }
+        for (Iterator<CBEventMessage> iter = eventQueue.descendingIterator(); iter.hasNext(); ) {
+            CBEventMessage queuedMessage = iter.next();
+            if (queuedMessage.getEvent().getClass() == event.getClass()) {
+                iter.remove();
+                eventQueue.add(message);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void sendQueuedEvents() {
+        while (true) {
+            CBEventMessage message;
+            boolean closeSocket = false;
+            synchronized (eventQueue) {
+                message = eventQueue.poll();
+                if (message == null) {
+                    sending = false;
+                    closeSocket = closeRequested;
+                }
+            }
+            if (message == null) {
+                if (closeSocket) {
+                    closeSession(null);
+                }
+                return;
+            }
+            Session session = webSocketSession;
+            if (session == null || !session.isOpen()) {
+                synchronized (eventQueue) {
+                    eventQueue.clear();
+                    sending = false;
+                }
+                return;
+            }
+            SendCallback callback = new SendCallback();
+            try {
+                session.getAsyncRemote().sendText(message.getText(), callback);
+            } catch (Exception e) {
+                handleEventException(e);
+                continue;
+            }
+            if (callback.handOff.compareAndSet(false, true)) {
+                // Send is still in progress, callback will continue with the next event
+                return;
+            }
+        }
+    }
+
+    private class SendCallback implements SendHandler {
+        private final AtomicBoolean handOff = new AtomicBoolean();
+
+        @Override
+        public void onResult(SendResult result) {
+            if (!result.isOK()) {
+                handleEventException(result.getException());
+            }
+            if (!handOff.compareAndSet(false, true)) {
+                // Sending thread has already returned
+                sendQueuedEvents();
+            }
         }
     }
 
@@ -58,10 +176,27 @@ public abstract class CBAbstractWebSocket extends Endpoint {
         log.error("Failed to send websocket message", e);
     }
 
+    /**
+     * Closes the websocket once all queued events are sent.
+     */
     public void close() {
+        synchronized (eventQueue) {
+            if (sending) {
+                closeRequested = true;
+                return;
+            }
+        }
+        closeSession(null);
+    }
+
+    private void closeSession(@Nullable CloseReason closeReason) {
         if (isOpen()) {
             try {
-                getSession().close();
+                if (closeReason == null) {
+                    getSession().close();
+                } else {
+                    getSession().close(closeReason);
+                }
             } catch (Exception e) {
                 log.error("Failed to close websocket", e);
             }
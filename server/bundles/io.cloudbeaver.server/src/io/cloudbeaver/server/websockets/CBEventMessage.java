@@ -0,0 +1,122 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.websockets;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.websocket.WSUtils;
+import org.jkiss.dbeaver.model.websocket.event.WSEvent;
+
+/**
+ * Websocket event with its serialized form.
+ * Event is serialized on first use, the text is shared by all sockets which send this message.
+ * <p>
+ * Broadcast handlers wrap event dispatch in {@link #startBroadcast(WSEvent)} / {@link #endBroadcast(CBEventMessage)},
+ * so all sockets which receive the event during dispatch get the same message instance.
+ */
+public final class CBEventMessage {
+
+    private static final ThreadLocal<CBEventMessage> broadcastMessage = new ThreadLocal<>();
+
+    @NotNull
+    private final WSEvent event;
+    @Nullable
+    private final CBEventMessage previousBroadcast;
+    private volatile String text;
+    private int byteLength;
+
+    private CBEventMessage(@NotNull WSEvent event, @Nullable CBEventMessage previousBroadcast) {
+        this.event = event;
+        this.previousBroadcast = previousBroadcast;
+    }
+
+    @NotNull
+    public WSEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns event JSON. Event is serialized only once.
+     */
+    @NotNull
+    public String getText() {
+        String result = text;
+        if (result == null) {
+            synchronized (this) {
+                result = text;
+                if (result == null) {
+                    result = WSUtils.clientGson.toJson(event);
+                    byteLength = getUtf8Length(result);
+                    text = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Size of serialized event in bytes, or 0 if event wasn't serialized yet.
+     */
+    public int getByteLength() {
+        return text == null ? 0 : byteLength;
+    }
+
+    /**
+     * Returns the message of the broadcast in progress in the current thread or a new message.
+     */
+    @NotNull
+    public static CBEventMessage forEvent(@NotNull WSEvent event) {
+        CBEventMessage message = broadcastMessage.get();
+        if (message != null && message.event == event) {
+            return message;
+        }
+        return new CBEventMessage(event, null);
+    }
+
+    @NotNull
+    public static CBEventMessage startBroadcast(@NotNull WSEvent event) {
+        CBEventMessage message = new CBEventMessage(event, broadcastMessage.get());
+        broadcastMessage.set(message);
+        return message;
+    }
+
+    public static void endBroadcast(@NotNull CBEventMessage message) {
+        if (message.previousBroadcast == null) {
+            broadcastMessage.remove();
+        } else {
+            broadcastMessage.set(message.previousBroadcast);
+        }
+    }
+
+    private static int getUtf8Length(@NotNull String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.ee10.servlet.HttpOutput;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Sends files to the client.
+ * <p>
+ * Supports single byte range requests (Range, If-Range) so interrupted downloads may be resumed.
+ * File data is read into a direct buffer which is passed to Jetty as is, without copying it to heap.
+ */
+public class WebDownloadUtils {
+
+    private static final Log log = Log.getLog(WebDownloadUtils.class);
+
+    private static final String HEADER_ACCEPT_RANGES = "Accept-Ranges";
+    private static final String HEADER_CONTENT_RANGE = "Content-Range";
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    private static final String HEADER_RANGE = "Range";
+    private static final String HEADER_IF_RANGE = "If-Range";
+    private static final String BYTES_UNIT = "bytes";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public record ByteRange(long start, long end) {
+        public long length() {
+            return end - start + 1;
+        }
+    }
+
+    /**
+     * Sends the file or the requested range of it. Content type and disposition must be set by the caller.
+     *
+     * @return true if the whole file was sent in a single response.
+     * Downloads resumed with ranges are never reported as complete, such files must be removed by TTL.
+     */
+    public static boolean sendFile(
+        @NotNull HttpServletRequest request,
+        @NotNull HttpServletResponse response,
+        @NotNull Path file
+    ) throws IOException {
+        long fileSize = Files.size(file);
+        String etag = null;
+        long lastModified = -1;
+        try {
+            lastModified = Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime().toMillis();
+            etag = "\"" + Long.toHexString(fileSize) + "-" + Long.toHexString(lastModified) + "\"";
+        } catch (Exception e) {
+            log.debug("Can't read file modification time, ranges are not validated: " + e.getMessage());
+        }
+
+        response.setHeader(HEADER_ACCEPT_RANGES, BYTES_UNIT);
+        if (etag != null) {
+            response.setHeader(HEADER_ETAG, etag);
+            response.setDateHeader(HEADER_LAST_MODIFIED, lastModified);
+        }
+
+        ByteRange range = null;
+        String rangeHeader = request.getHeader(HEADER_RANGE);
+        if (!CommonUtils.isEmpty(rangeHeader) && isRangeValid(request.getHeader(HEADER_IF_RANGE), etag, lastModified)) {
+            range = parseRange(rangeHeader, fileSize);
+            if (range == null) {
+                response.setHeader(HEADER_CONTENT_RANGE, BYTES_UNIT + " */" + fileSize);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return false;
+            }
+            if (range.start == 0 && range.end == fileSize - 1) {
+                range = null;
+            }
+        }
+        if (range == null) {
+            range = new ByteRange(0, fileSize - 1);
+        } else {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HEADER_CONTENT_RANGE, BYTES_UNIT + " " + range.start + "-" + range.end + "/" + fileSize);
+        }
+        response.setHeader(HEADER_CONTENT_LENGTH, String.valueOf(range.length()));
+        if ("HEAD".equals(request.getMethod())) {
+            return false;
+        }
+
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            channel.position(range.start);
+            ServletOutputStream out = response.getOutputStream();
+            // Jetty output accepts direct buffers, generic output streams copy data to heap
+            WritableByteChannel streamChannel = out instanceof HttpOutput ? null : Channels.newChannel(out);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long remaining = range.length();
+            while (remaining > 0) {
+                buffer.clear();
+                if (remaining < buffer.capacity()) {
+                    buffer.limit((int) remaining);
+                }
+                int count = channel.read(buffer);
+                if (count < 0) {
+                    throw new IOException("Unexpected end of file " + file);
+                }
+                buffer.flip();
+                if (out instanceof HttpOutput httpOutput) {
+                    httpOutput.write(buffer);
+                } else {
+                    while (buffer.hasRemaining()) {
+                        streamChannel.write(buffer);
+                    }
+                }
+                remaining -= count;
+            }
+            out.flush();
+        }
+        return range.start == 0 && range.end == fileSize - 1;
+    }
+
+    /**
+     * Deletes regular files of the folder which were not modified for the specified time.
+     * Used for downloadable files which are kept until the download is complete.
+     */
+    public static void deleteExpiredFiles(@NotNull Path folder, long ttlMillis) {
+        if (!Files.isDirectory(folder)) {
+            return;
+        }
+        long expireTime = System.currentTimeMillis() - ttlMillis;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+            for (Path file : files) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile() && attributes.lastModifiedTime().toMillis() < expireTime) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    log.debug("Error deleting expired file " + file + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Error reading folder " + folder + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Range is valid if there is no If-Range condition or it matches the current file version.
+     */
+    public static boolean isRangeValid(@Nullable String ifRange, @Nullable String etag, long lastModified) {
+        if (CommonUtils.isEmpty(ifRange)) {
+            return true;
+        }
+        if (etag == null) {
+            return false;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // weak tags can't be used in If-Range
+            return ifRange.equals(etag);
+        }
+        try {
+            long ifRangeDate = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            // HTTP dates have seconds precision
+            return lastModified / 1000 == ifRangeDate / 1000;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses single byte range. Multiple ranges are not supported, the whole file is sent for them.
+     *
+     * @return range or null if the range is not satisfiable
+     */
+    @Nullable
+    public static ByteRange parseRange(@NotNull String rangeHeader, long fileSize) {
+        String header = rangeHeader.trim();
+        if (!header.startsWith(BYTES_UNIT + "=") || header.indexOf(',') != -1) {
+            return new ByteRange(0, fileSize - 1);
+        }
+        String spec = header.substring(BYTES_UNIT.length() + 1).trim();
+        int dashPos = spec.indexOf('-');
+        if (dashPos == -1) {
+            return new ByteRange(0, fileSize - 1);
+        }
+        try {
+            String startSpec = spec.substring(0, dashPos).trim();
+            String endSpec = spec.substring(dashPos + 1).trim();
+            long start;
+            long end;
+            if (startSpec.isEmpty()) {
+                // suffix range: the last N bytes
+                long suffixLength = Long.parseLong(endSpec);
+                if (suffixLength <= 0) {
+                    return null;
+                }
+                start = Math.max(0, fileSize - suffixLength);
+                end = fileSize - 1;
+            } else {
+                start = Long.parseLong(startSpec);
+                end = endSpec.isEmpty() ? fileSize - 1 : Math.min(Long.parseLong(endSpec), fileSize - 1);
+            }
+            if (start < 0 || start >= fileSize || end < start) {
+                return null;
+            }
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            // invalid range header is ignored
+            return new ByteRange(0, fileSize - 1);
+        }
+    }
+}
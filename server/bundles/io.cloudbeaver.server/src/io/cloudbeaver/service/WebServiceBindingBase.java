@@ -104,11 +104,19 @@ public abstract class WebServiceBindingBase<API_TYPE extends DBWService> impleme
     }
 
     protected static WebSession getWebSession(DataFetchingEnvironment env) throws DBWebException {
+        WebSession contextSession = GraphQLEndpoint.getContextWebSession(env);
+        if (contextSession != null) {
+            return contextSession;
+        }
         return WebAppUtils.getWebApplication().getSessionManager().getWebSession(
             getServletRequest(env), getServletResponse(env));
     }
 
     protected static WebSession getWebSession(DataFetchingEnvironment env, boolean errorOnNotFound) throws DBWebException {
+        WebSession contextSession = GraphQLEndpoint.getContextWebSession(env);
+        if (contextSession != null) {
+            return contextSession;
+        }
         return WebAppUtils.getWebApplication().getSessionManager().getWebSession(
             getServletRequest(env), getServletResponse(env), errorOnNotFound);
     }
@@ -127,11 +135,19 @@ public abstract class WebServiceBindingBase<API_TYPE extends DBWService> impleme
      */
     @Nullable
     public static WebSession findWebSession(DataFetchingEnvironment env) {
+        WebSession contextSession = GraphQLEndpoint.getContextWebSession(env);
+        if (contextSession != null) {
+            return contextSession;
+        }
         return WebAppUtils.getWebApplication().getSessionManager().findWebSession(
             getServletRequest(env));
     }
 
     public static WebSession findWebSession(DataFetchingEnvironment env, boolean errorOnNotFound) throws DBWebException {
+        WebSession contextSession = GraphQLEndpoint.getContextWebSession(env);
+        if (contextSession != null) {
+            return contextSession;
+        }
         return WebAppUtils.getWebApplication().getSessionManager().findWebSession(
             getServletRequest(env), errorOnNotFound);
     }
@@ -98,6 +98,7 @@ public interface DBWServiceSQL extends DBWService {
         @Nullable WebSQLDataFilter filter,
         @Nullable WebDataFormat dataFormat,
         boolean readLogs,
+        boolean pushResults,
         @NotNull WebSession webSession) throws DBException;
 
     @WebAction
@@ -106,7 +107,8 @@ public interface DBWServiceSQL extends DBWService {
         @NotNull String nodePath,
         @Nullable String resultId,
         @Nullable WebSQLDataFilter filter,
-        @Nullable WebDataFormat dataFormat) throws DBWebException;
+        @Nullable WebDataFormat dataFormat,
+        boolean pushResults) throws DBWebException;
 
     /**
      * Reads dynamic trace from provided database results.
@@ -0,0 +1,589 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import io.cloudbeaver.model.session.WebSession;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.exec.DBCException;
+
+import java.util.*;
+
+/**
+ * Read-only list of result set rows stored column by column.
+ * <p>
+ * Rows are kept in memory between fetch and serialization (e.g. while async task results wait for the client).
+ * Columns are filled by {@link Builder} while rows are fetched, so converted row arrays are never kept.
+ * Integer and floating point columns are stored in primitive arrays and formatted on access,
+ * booleans are kept in bitmaps and repeated strings are dictionary-encoded.
+ * Serializers read cells with {@link #getRowValues()}, {@link #get(int)} materializes a row array.
+ */
+class WebSQLColumnarRows extends AbstractList<WebSQLQueryResultSetRow> {
+
+    // Dictionary encoding is used while distinct values count doesn't exceed this part of rows
+    private static final int DICTIONARY_MAX_RATIO = 2;
+    // Dictionary of this size is always allowed, so the first rows don't switch column to plain values
+    private static final int DICTIONARY_MIN_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int rowCount;
+    private final ColumnData[] columns;
+    @Nullable
+    private final Map<String, Object>[] metaData;
+
+    private WebSQLColumnarRows(int rowCount, @NotNull ColumnData[] columns, @Nullable Map<String, Object>[] metaData) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+        this.metaData = metaData;
+    }
+
+    @Override
+    public WebSQLQueryResultSetRow get(int index) {
+        Objects.checkIndex(index, rowCount);
+        Object[] data = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            data[i] = columns[i].get(index);
+        }
+        return new WebSQLQueryResultSetRow(data, getMetaData(index));
+    }
+
+    @Override
+    public int size() {
+        return rowCount;
+    }
+
+    @Nullable
+    Object getValue(int row, int column) {
+        Objects.checkIndex(row, rowCount);
+        return columns[column].get(row);
+    }
+
+    @Nullable
+    Map<String, Object> getMetaData(int row) {
+        return metaData == null ? null : metaData[row];
+    }
+
+    /**
+     * Rows as lists of cell values. Values are read from columns, row arrays are not created.
+     */
+    @NotNull
+    List<List<Object>> getRowValues() {
+        return new RowValuesList();
+    }
+
+    /**
+     * Rows metadata or null if no row has metadata
+     */
+    @Nullable
+    List<Map<String, Object>> getRowsMetaData() {
+        return metaData == null ? null : Arrays.asList(metaData);
+    }
+
+    // Named classes (not anonymous) so JSON serializers don't skip them
+    private class RowValuesList extends AbstractList<List<Object>> {
+        @Override
+        public List<Object> get(int row) {
+            Objects.checkIndex(row, rowCount);
+            return new RowValues(row);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+
+    private class RowValues extends AbstractList<Object> {
+        private final int row;
+
+        RowValues(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(int column) {
+            return columns[column].get(row);
+        }
+
+        @Override
+        public int size() {
+            return columns.length;
+        }
+    }
+
+    /**
+     * Fills columns with fetched values.
+     * Values are converted with {@link WebSQLUtils#makeWebCellValue}, numbers are kept as primitives
+     * and converted when they are read.
+     */
+    static class Builder {
+        @NotNull
+        private final WebSession webSession;
+        @NotNull
+        private final WebDataFormat dataFormat;
+        private final ColumnBuilder[] columns;
+        @Nullable
+        private Map<String, Object>[] metaData;
+        private int rowCount;
+
+        Builder(@NotNull WebSession webSession, @NotNull DBDAttributeBinding[] bindings, @NotNull WebDataFormat dataFormat) {
+            this.webSession = webSession;
+            this.dataFormat = dataFormat;
+            this.columns = new ColumnBuilder[bindings.length];
+            for (int i = 0; i < bindings.length; i++) {
+                columns[i] = new NullColumnBuilder(bindings[i]);
+            }
+        }
+
+        /**
+         * Adds row of fetched (not converted) values. Values array is not referenced after the call.
+         */
+        @SuppressWarnings("unchecked")
+        void addRow(@NotNull Object[] values, @Nullable Map<String, Object> rowMetaData) throws DBCException {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = columns[i].add(rowCount, values[i]);
+            }
+            if (rowMetaData != null) {
+                if (metaData == null) {
+                    metaData = new Map[Math.max(INITIAL_CAPACITY, rowCount + 1)];
+                } else if (rowCount >= metaData.length) {
+                    metaData = Arrays.copyOf(metaData, Math.max(metaData.length * 2, rowCount + 1));
+                }
+                metaData[rowCount] = rowMetaData;
+            }
+            rowCount++;
+        }
+
+        @NotNull
+        WebSQLColumnarRows build() {
+            ColumnData[] columnData = new ColumnData[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                columnData[i] = columns[i].build(rowCount);
+            }
+            return new WebSQLColumnarRows(
+                rowCount,
+                columnData,
+                metaData == null ? null : Arrays.copyOf(metaData, rowCount));
+        }
+
+        @Nullable
+        private Object makeWebValue(@NotNull DBDAttributeBinding binding, @Nullable Object value) throws DBCException {
+            return value == null ? null : WebSQLUtils.makeWebCellValue(webSession, binding, value, dataFormat);
+        }
+
+        private abstract static class ColumnBuilder {
+            @NotNull
+            final DBDAttributeBinding binding;
+
+            ColumnBuilder(@NotNull DBDAttributeBinding binding) {
+                this.binding = binding;
+            }
+
+            /**
+             * Adds value of the row.
+             *
+             * @return builder which keeps the column from now on (another one if value doesn't fit this column type)
+             */
+            @NotNull
+            abstract ColumnBuilder add(int row, @Nullable Object value) throws DBCException;
+
+            /**
+             * Converted value of previously added row
+             */
+            @Nullable
+            abstract Object getWebValue(int row);
+
+            @NotNull
+            abstract ColumnData build(int rowCount);
+        }
+
+        /**
+         * Column which had only nulls so far. Column type is chosen by the first value.
+         */
+        private class NullColumnBuilder extends ColumnBuilder {
+            NullColumnBuilder(@NotNull DBDAttributeBinding binding) {
+                super(binding);
+            }
+
+            @NotNull
+            @Override
+            ColumnBuilder add(int row, @Nullable Object value) throws DBCException {
+                if (value == null) {
+                    return this;
+                }
+                ColumnBuilder column;
+                if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                    column = new LongColumnBuilder(binding, row, value.getClass());
+                } else if (value instanceof Double || value instanceof Float) {
+                    column = new DoubleColumnBuilder(binding, row, value.getClass());
+                } else if (value instanceof Boolean) {
+                    column = new BooleanColumnBuilder(binding, row);
+                } else if (value instanceof String) {
+                    column = new DictionaryColumnBuilder(binding, row);
+                } else {
+                    column = new ObjectColumnBuilder(binding, row);
+                }
+                return column.add(row, value);
+            }
+
+            @Override
+            Object getWebValue(int row) {
+                return null;
+            }
+
+            @NotNull
+            @Override
+            ColumnData build(int rowCount) {
+                return NullColumn.INSTANCE;
+            }
+        }
+
+        private class ObjectColumnBuilder extends ColumnBuilder {
+            private Object[] values;
+
+            ObjectColumnBuilder(@NotNull DBDAttributeBinding binding, int capacity) {
+                super(binding);
+                this.values = new Object[Math.max(INITIAL_CAPACITY, capacity)];
+            }
+
+            /**
+             * Creates column with converted values of another column
+             */
+            ObjectColumnBuilder(@NotNull ColumnBuilder column, int rowCount) {
+                this(column.binding, rowCount * 2);
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = column.getWebValue(i);
+                }
+            }
+
+            @NotNull
+            @Override
+            ColumnBuilder add(int row, @Nullable Object value) throws DBCException {
+                if (row >= values.length) {
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+                values[row] = makeWebValue(binding, value);
+                return this;
+            }
+
+            @Override
+            Object getWebValue(int row) {
+                return values[row];
+            }
+
+            @NotNull
+            @Override
+            ColumnData build(int rowCount) {
+                return new ObjectColumn(Arrays.copyOf(values, rowCount));
+            }
+        }
+
+        private class LongColumnBuilder extends ColumnBuilder {
+            private final Class<?> valueType;
+            private final BitSet nulls = new BitSet();
+            private long[] values;
+
+            LongColumnBuilder(@NotNull DBDAttributeBinding binding, int firstRow, @NotNull Class<?> valueType) {
+                super(binding);
+                this.valueType = valueType;
+                this.values = new long[Math.max(INITIAL_CAPACITY, firstRow + 1)];
+                nulls.set(0, firstRow);
+            }
+
+            @NotNull
+            @Override
+            ColumnBuilder add(int row, @Nullable Object value) throws DBCException {
+                if (value == null) {
+                    nulls.set(row);
+                    return this;
+                }
+                if (value.getClass() != valueType) {
+                    return new ObjectColumnBuilder(this, row).add(row, value);
+                }
+                if (row >= values.length) {
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+                values[row] = ((Number) value).longValue();
+                return this;
+            }
+
+            @Override
+            Object getWebValue(int row) {
+                return nulls.get(row) ? null : LongColumn.format(binding, valueType, values[row]);
+            }
+
+            @NotNull
+            @Override
+            ColumnData build(int rowCount) {
+                return new LongColumn(binding, valueType, nulls, Arrays.copyOf(values, rowCount));
+            }
+        }
+
+        private class DoubleColumnBuilder extends ColumnBuilder {
+            private final Class<?> valueType;
+            private final BitSet nulls = new BitSet();
+            private double[] values;
+
+            DoubleColumnBuilder(@NotNull DBDAttributeBinding binding, int firstRow, @NotNull Class<?> valueType) {
+                super(binding);
+                this.valueType = valueType;
+                this.values = new double[Math.max(INITIAL_CAPACITY, firstRow + 1)];
+                nulls.set(0, firstRow);
+            }
+
+            @NotNull
+            @Override
+            ColumnBuilder add(int row, @Nullable Object value) throws DBCException {
+                if (value == null) {
+                    nulls.set(row);
+                    return this;
+                }
+                if (value.getClass() != valueType) {
+                    return new ObjectColumnBuilder(this, row).add(row, value);
+                }
+                if (row >= values.length) {
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+                values[row] = ((Number) value).doubleValue();
+                return this;
+            }
+
+            @Override
+            Object getWebValue(int row) {
+                return nulls.get(row) ? null : DoubleColumn.format(binding, valueType, values[row]);
+            }
+
+            @NotNull
+            @Override
+            ColumnData build(int rowCount) {
+                return new DoubleColumn(binding, valueType, nulls, Arrays.copyOf(values, rowCount));
+            }
+        }
+
+        private class BooleanColumnBuilder extends ColumnBuilder {
+            private final BitSet nulls = new BitSet();
+            private final BitSet values = new BitSet();
+
+            BooleanColumnBuilder(@NotNull DBDAttributeBinding binding, int firstRow) {
+                super(binding);
+                nulls.set(0, firstRow);
+            }
+
+            @NotNull
+            @Override
+            ColumnBuilder add(int row, @Nullable Object value) throws DBCException {
+                if (value == null) {
+                    nulls.set(row);
+                    return this;
+                }
+                // Booleans are passed to the client as is
+                if (!(value instanceof Boolean bool)) {
+                    return new ObjectColumnBuilder(this, row).add(row, value);
+                }
+                if (bool) {
+                    values.set(row);
+                }
+                return this;
+            }
+
+            @Override
+            Object getWebValue(int row) {
+                return nulls.get(row) ? null : values.get(row);
+            }
+
+            @NotNull
+            @Override
+            ColumnData build(int rowCount) {
+                return new BooleanColumn(nulls, values);
+            }
+        }
+
+        private class DictionaryColumnBuilder extends ColumnBuilder {
+            private final Map<String, Integer> dictionary = new HashMap<>();
+            private final List<String> dictionaryValues = new ArrayList<>();
+            // Index in dictionary, -1 means null
+            private int[] codes;
+
+            DictionaryColumnBuilder(@NotNull DBDAttributeBinding binding, int firstRow) {
+                super(binding);
+                this.codes = new int[Math.max(INITIAL_CAPACITY, firstRow + 1)];
+                Arrays.fill(codes, 0, firstRow, -1);
+            }
+
+            @NotNull
+            @Override
+            ColumnBuilder add(int row, @Nullable Object value) throws DBCException {
+                if (row >= codes.length) {
+                    codes = Arrays.copyOf(codes, codes.length * 2);
+                }
+                if (value == null) {
+                    codes[row] = -1;
+                    return this;
+                }
+                // Long strings are converted into content previews
+                Object webValue = value instanceof String ? makeWebValue(binding, value) : null;
+                if (!(webValue instanceof String stringValue)) {
+                    return new ObjectColumnBuilder(this, row).add(row, value);
+                }
+                Integer code = dictionary.get(stringValue);
+                if (code == null) {
+                    if (dictionary.size() >= Math.max(DICTIONARY_MIN_SIZE, row / DICTIONARY_MAX_RATIO)) {
+                        // Values are too distinct for dictionary encoding
+                        return new ObjectColumnBuilder(this, row).add(row, value);
+                    }
+                    code = dictionaryValues.size();
+                    dictionary.put(stringValue, code);
+                    dictionaryValues.add(stringValue);
+                }
+                codes[row] = code;
+                return this;
+            }
+
+            @Override
+            Object getWebValue(int row) {
+                int code = codes[row];
+                return code < 0 ? null : dictionaryValues.get(code);
+            }
+
+            @NotNull
+            @Override
+            ColumnData build(int rowCount) {
+                return new DictionaryColumn(dictionaryValues.toArray(new String[0]), Arrays.copyOf(codes, rowCount));
+            }
+        }
+    }
+
+    private interface ColumnData {
+        @Nullable
+        Object get(int row);
+    }
+
+    private static class NullColumn implements ColumnData {
+        static final NullColumn INSTANCE = new NullColumn();
+
+        @Override
+        public Object get(int row) {
+            return null;
+        }
+    }
+
+    private static class LongColumn implements ColumnData {
+        private final DBDAttributeBinding binding;
+        private final Class<?> valueType;
+        private final BitSet nulls;
+        private final long[] values;
+
+        LongColumn(DBDAttributeBinding binding, Class<?> valueType, BitSet nulls, long[] values) {
+            this.binding = binding;
+            this.valueType = valueType;
+            this.nulls = nulls;
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return nulls.get(row) ? null : format(binding, valueType, values[row]);
+        }
+
+        static String format(@NotNull DBDAttributeBinding binding, @NotNull Class<?> valueType, long value) {
+            Number number;
+            if (valueType == Integer.class) {
+                number = (int) value;
+            } else if (valueType == Short.class) {
+                number = (short) value;
+            } else if (valueType == Byte.class) {
+                number = (byte) value;
+            } else {
+                number = value;
+            }
+            // The same conversion as makeWebCellValue does for numbers
+            return binding.getValueHandler().getValueDisplayString(binding, number, DBDDisplayFormat.EDIT);
+        }
+    }
+
+    private static class DoubleColumn implements ColumnData {
+        private final DBDAttributeBinding binding;
+        private final Class<?> valueType;
+        private final BitSet nulls;
+        private final double[] values;
+
+        DoubleColumn(DBDAttributeBinding binding, Class<?> valueType, BitSet nulls, double[] values) {
+            this.binding = binding;
+            this.valueType = valueType;
+            this.nulls = nulls;
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return nulls.get(row) ? null : format(binding, valueType, values[row]);
+        }
+
+        static String format(@NotNull DBDAttributeBinding binding, @NotNull Class<?> valueType, double value) {
+            Number number = valueType == Float.class ? (Number) (float) value : (Number) value;
+            // The same conversion as makeWebCellValue does for numbers
+            return binding.getValueHandler().getValueDisplayString(binding, number, DBDDisplayFormat.EDIT);
+        }
+    }
+
+    private static class BooleanColumn implements ColumnData {
+        private final BitSet nulls;
+        private final BitSet values;
+
+        private BooleanColumn(BitSet nulls, BitSet values) {
+            this.nulls = nulls;
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return nulls.get(row) ? null : values.get(row);
+        }
+    }
+
+    private static class DictionaryColumn implements ColumnData {
+        private final String[] dictionary;
+        // Index in dictionary, -1 means null
+        private final int[] codes;
+
+        private DictionaryColumn(String[] dictionary, int[] codes) {
+            this.dictionary = dictionary;
+            this.codes = codes;
+        }
+
+        @Override
+        public Object get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary[code];
+        }
+    }
+
+    private static class ObjectColumn implements ColumnData {
+        private final Object[] values;
+
+        private ObjectColumn(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return values[row];
+        }
+    }
+}
@@ -24,6 +24,7 @@ import io.cloudbeaver.model.session.WebAsyncTaskProcessor;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.model.session.WebSessionProvider;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBConstants;
@@ -66,10 +67,13 @@ public class WebSQLContextInfo implements WebSessionProvider {
 
     private static final Log log = Log.getLog(WebSQLContextInfo.class);
 
+    private static final String ATTR_RESULT_CURSOR_COUNT = "sqlResultCursorCount";
+
     private final transient WebSQLProcessor processor;
     private final String id;
     private final String projectId;
     private final Map<String, WebSQLResultsInfo> resultInfoMap = new HashMap<>();
+    private final Map<String, WebSQLResultCursor> resultCursors = new HashMap<>();
 
     private final AtomicInteger resultId = new AtomicInteger();
 
@@ -192,11 +196,66 @@ public class WebSQLContextInfo implements WebSessionProvider {
         return resultInfoMap.remove(resultId) != null;
     }
 
+    ///////////////////////////////////////////////////////
+    // Result cursors
+
+    @Nullable
+    WebSQLResultCursor getResultCursor(@NotNull String resultId) {
+        synchronized (resultCursors) {
+            return resultCursors.get(resultId);
+        }
+    }
+
+    /**
+     * Reserves cursor slot in the session quota.
+     *
+     * @return false if session already has maximum number of open cursors
+     */
+    boolean acquireResultCursorSlot() {
+        int cursorLimit = CommonUtils.toInt(
+            getWebSession().getApplication().getAppConfiguration()
+                .getResourceQuota(WebSQLConstants.QUOTA_PROP_RESULT_CURSOR_LIMIT),
+            WebSQLConstants.RESULT_CURSOR_LIMIT);
+        AtomicInteger cursorCount = getSessionCursorCount();
+        if (cursorCount.incrementAndGet() > cursorLimit) {
+            cursorCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void registerResultCursor(@NotNull String resultId, @NotNull WebSQLResultCursor cursor) {
+        synchronized (resultCursors) {
+            resultCursors.put(resultId, cursor);
+        }
+    }
+
+    /**
+     * Removes finished cursor and releases its quota slot
+     */
+    void releaseResultCursor(@NotNull WebSQLResultCursor cursor) {
+        synchronized (resultCursors) {
+            resultCursors.values().remove(cursor);
+        }
+        getSessionCursorCount().decrementAndGet();
+    }
+
+    @NotNull
+    private AtomicInteger getSessionCursorCount() {
+        return getWebSession().getAttribute(ATTR_RESULT_CURSOR_COUNT, count -> new AtomicInteger(), null);
+    }
+
     ///////////////////////////////////////////////////////
     // Async model
 
     void dispose() {
         resultInfoMap.clear();
+        List<WebSQLResultCursor> cursors;
+        synchronized (resultCursors) {
+            cursors = new ArrayList<>(resultCursors.values());
+        }
+        // Cursors unregister themselves when their read jobs end
+        cursors.forEach(WebSQLResultCursor::close);
     }
 
     @Override
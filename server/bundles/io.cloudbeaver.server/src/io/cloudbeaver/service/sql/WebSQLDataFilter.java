@@ -41,6 +41,8 @@ public class WebSQLDataFilter {
     private int offset;
     private int limit ;
     private String where;
+    private boolean useCursor;
+    private boolean useKeyset;
     private final List<WebSQLDataFilterConstraint> constraints = new ArrayList<>();
 
     public WebSQLDataFilter() {
@@ -57,6 +59,8 @@ public class WebSQLDataFilter {
             this.limit = MAX_ROWS_NUMBER;
         }
         this.where = CommonUtils.toString(filterProps.get("where"), null);
+        this.useCursor = CommonUtils.toBoolean(filterProps.get("useCursor"));
+        this.useKeyset = CommonUtils.toBoolean(filterProps.get("useKeyset"));
         Object constraints = filterProps.get("constraints");
         if (constraints instanceof Collection) {
             for (Object constrItem : (Collection<?>)constraints) {
@@ -92,6 +96,46 @@ public class WebSQLDataFilter {
         return where;
     }
 
+    /**
+     * Next pages are read from the result set kept open on the server
+     */
+    public boolean isUseCursor() {
+        return useCursor;
+    }
+
+    public void setUseCursor(boolean useCursor) {
+        this.useCursor = useCursor;
+    }
+
+    /**
+     * Next page may be read with a condition on the row identifier instead of offset.
+     * Rows inserted or deleted between page requests then don't shift the page.
+     */
+    public boolean isUseKeyset() {
+        return useKeyset;
+    }
+
+    public void setUseKeyset(boolean useKeyset) {
+        this.useKeyset = useKeyset;
+    }
+
+    /**
+     * Filter conditions and ordering which define the row set (without paging)
+     */
+    @NotNull
+    public String getConditionsSignature() {
+        StringBuilder signature = new StringBuilder(CommonUtils.notEmpty(where));
+        for (WebSQLDataFilterConstraint constraint : constraints) {
+            signature.append('|').append(constraint.getAttributePosition())
+                .append(',').append(constraint.getOrderPosition())
+                .append(',').append(constraint.getOrderAsc())
+                .append(',').append(constraint.getCriteria())
+                .append(',').append(constraint.getOperator())
+                .append(',').append(constraint.getValue());
+        }
+        return signature.toString();
+    }
+
     public static WebSQLDataFilter from(DBDDataFilter filter) {
         var webFilter = new WebSQLDataFilter();
         webFilter.where = filter.getWhere();
@@ -18,6 +18,7 @@ package io.cloudbeaver.service.sql;
 
 import io.cloudbeaver.server.CBConstants;
 import io.cloudbeaver.server.WebAppUtils;
+import io.cloudbeaver.service.WebDownloadUtils;
 import io.cloudbeaver.utils.ServletAppUtils;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.exec.DBCException;
@@ -38,6 +39,8 @@ public class WebSQLDataLOBReceiver extends WebSQLCellValueReceiver {
     private static final Log log = Log.getLog(WebSQLDataLOBReceiver.class);
     public static final Path DATA_EXPORT_FOLDER = WebAppUtils.getWebPlatform().getTempFolder(new VoidProgressMonitor(), "sql-lob" +
         "-files");
+    // Files are deleted after a complete download. Files of aborted or resumed downloads are deleted after this time.
+    private static final long LOB_FILE_TTL = 60 * 60 * 1000;
     private final String tableName;
 
     WebSQLDataLOBReceiver(String tableName, DBSDataContainer dataContainer, int rowIndex) {
@@ -73,6 +76,7 @@ public class WebSQLDataLOBReceiver extends WebSQLCellValueReceiver {
                 CBConstants.QUOTA_PROP_FILE_LIMIT, fileSizeLimit.longValue(), binaryValue.length
             );
         }
+        WebDownloadUtils.deleteExpiredFiles(DATA_EXPORT_FOLDER, LOB_FILE_TTL);
         Path file = WebSQLDataLOBReceiver.DATA_EXPORT_FOLDER.resolve(exportFileName);
         Files.write(file, binaryValue);
         return exportFileName;
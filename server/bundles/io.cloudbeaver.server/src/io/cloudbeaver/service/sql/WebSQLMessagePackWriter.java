@@ -0,0 +1,178 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Minimal MessagePack encoder for web result values (maps, lists, strings, numbers, booleans and binaries).
+ * See https://github.com/msgpack/msgpack/blob/master/spec.md
+ */
+public class WebSQLMessagePackWriter {
+
+    private final DataOutputStream out;
+
+    public WebSQLMessagePackWriter(@NotNull OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    public void writeValue(@Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(0xc0);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(bool ? 0xc3 : 0xc2);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Float || value instanceof Double) {
+            out.writeByte(0xcb);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            // Keep precision
+            writeString(value instanceof BigDecimal bd ? bd.toPlainString() : value.toString());
+        } else if (value instanceof CharSequence) {
+            writeString(value.toString());
+        } else if (value instanceof byte[] bytes) {
+            writeBinary(bytes);
+        } else if (value instanceof Map<?, ?> map) {
+            writeMapHeader(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+        } else if (value instanceof Collection<?> collection) {
+            writeArrayHeader(collection.size());
+            for (Object item : collection) {
+                writeValue(item);
+            }
+        } else if (value instanceof Object[] array) {
+            writeArrayHeader(array.length);
+            for (Object item : array) {
+                writeValue(item);
+            }
+        } else if (value instanceof Enum<?> enumValue) {
+            writeString(enumValue.name());
+        } else {
+            writeString(value.toString());
+        }
+    }
+
+    public void writeMapHeader(int size) throws IOException {
+        if (size < 16) {
+            out.writeByte(0x80 | size);
+        } else if (size < 0x10000) {
+            out.writeByte(0xde);
+            out.writeShort(size);
+        } else {
+            out.writeByte(0xdf);
+            out.writeInt(size);
+        }
+    }
+
+    public void writeArrayHeader(int size) throws IOException {
+        if (size < 16) {
+            out.writeByte(0x90 | size);
+        } else if (size < 0x10000) {
+            out.writeByte(0xdc);
+            out.writeShort(size);
+        } else {
+            out.writeByte(0xdd);
+            out.writeInt(size);
+        }
+    }
+
+    public void writeString(@NotNull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        if (length < 32) {
+            out.writeByte(0xa0 | length);
+        } else if (length < 0x100) {
+            out.writeByte(0xd9);
+            out.writeByte(length);
+        } else if (length < 0x10000) {
+            out.writeByte(0xda);
+            out.writeShort(length);
+        } else {
+            out.writeByte(0xdb);
+            out.writeInt(length);
+        }
+        out.write(bytes);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeLong(long value) throws IOException {
+        // The shortest format is used: unsigned formats for positive values and signed ones for negative
+        if (value >= 0) {
+            if (value < 0x80) {
+                out.writeByte((int) value);
+            } else if (value < 0x100) {
+                out.writeByte(0xcc);
+                out.writeByte((int) value);
+            } else if (value < 0x10000) {
+                out.writeByte(0xcd);
+                out.writeShort((int) value);
+            } else if (value < 0x100000000L) {
+                out.writeByte(0xce);
+                out.writeInt((int) value);
+            } else {
+                out.writeByte(0xcf);
+                out.writeLong(value);
+            }
+        } else if (value >= -32) {
+            out.writeByte((int) value);
+        } else if (value >= Byte.MIN_VALUE) {
+            out.writeByte(0xd0);
+            out.writeByte((int) value);
+        } else if (value >= Short.MIN_VALUE) {
+            out.writeByte(0xd1);
+            out.writeShort((int) value);
+        } else if (value >= Integer.MIN_VALUE) {
+            out.writeByte(0xd2);
+            out.writeInt((int) value);
+        } else {
+            out.writeByte(0xd3);
+            out.writeLong(value);
+        }
+    }
+
+    private void writeBinary(@NotNull byte[] bytes) throws IOException {
+        int length = bytes.length;
+        if (length < 0x100) {
+            out.writeByte(0xc4);
+            out.writeByte(length);
+        } else if (length < 0x10000) {
+            out.writeByte(0xc5);
+            out.writeShort(length);
+        } else {
+            out.writeByte(0xc6);
+            out.writeInt(length);
+        }
+        out.write(bytes);
+    }
+}
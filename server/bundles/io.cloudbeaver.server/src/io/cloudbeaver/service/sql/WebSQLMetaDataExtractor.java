@@ -0,0 +1,88 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.meta.MetaData;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts {@link MetaData} properties from cell values.
+ * Accessors are resolved once per value class.
+ */
+public class WebSQLMetaDataExtractor {
+
+    private static final MetaDataAccessor[] NO_ACCESSORS = new MetaDataAccessor[0];
+
+    private static final ClassValue<MetaDataAccessor[]> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected MetaDataAccessor[] computeValue(Class<?> type) {
+            List<MetaDataAccessor> accessors = null;
+            for (Method method : type.getMethods()) {
+                MetaData metaData = method.getAnnotation(MetaData.class);
+                if (metaData != null) {
+                    if (accessors == null) {
+                        accessors = new ArrayList<>();
+                    }
+                    accessors.add(new MetaDataAccessor(metaData.name(), method));
+                }
+            }
+            return accessors == null ? NO_ACCESSORS : accessors.toArray(new MetaDataAccessor[0]);
+        }
+    };
+
+    private WebSQLMetaDataExtractor() {
+    }
+
+    /**
+     * Puts metadata properties of the cell value into the map.
+     *
+     * @return the same map, a new map if it was null and value has metadata properties, or null
+     */
+    @Nullable
+    public static Map<String, Object> extractMetaData(
+        @NotNull Object cellValue,
+        @Nullable Map<String, Object> metaDataMap
+    ) throws InvocationTargetException, IllegalAccessException {
+        if (cellValue instanceof String || cellValue instanceof Number || cellValue instanceof Date || cellValue instanceof Boolean) {
+            // Most common values never have metadata
+            return metaDataMap;
+        }
+        MetaDataAccessor[] accessors = ACCESSORS.get(cellValue.getClass());
+        if (accessors.length == 0) {
+            return metaDataMap;
+        }
+        if (metaDataMap == null) {
+            metaDataMap = new HashMap<>();
+        }
+        for (MetaDataAccessor accessor : accessors) {
+            metaDataMap.put(accessor.name(), accessor.method().invoke(cellValue));
+        }
+        return metaDataMap;
+    }
+
+    private record MetaDataAccessor(@NotNull String name, @NotNull Method method) {
+    }
+}
@@ -167,6 +167,39 @@ public class WebSQLProcessor implements WebSessionProvider {
         @Nullable WebDataFormat dataFormat,
         @NotNull WebSession webSession,
         boolean readLogs) throws DBWebException, DBCException {
+        return processQuery(monitor, contextInfo, sql, resultId, filter, dataFormat, webSession, readLogs, null, 0);
+    }
+
+    /**
+     * Executes query and passes fetched rows to the stream listener in chunks of {@code chunkSize} rows.
+     * Only one chunk of rows is kept in memory, so the listener controls fetch speed.
+     * Returned execute info contains result sets without rows.
+     */
+    @NotNull
+    public WebSQLExecuteInfo streamQuery(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull WebSQLContextInfo contextInfo,
+        @NotNull String sql,
+        @Nullable String resultId,
+        @Nullable WebSQLDataFilter filter,
+        @Nullable WebDataFormat dataFormat,
+        @NotNull WebSQLResultStreamListener streamListener,
+        int chunkSize) throws DBWebException, DBCException {
+        return processQuery(monitor, contextInfo, sql, resultId, filter, dataFormat, webSession, false, streamListener, chunkSize);
+    }
+
+    @NotNull
+    private WebSQLExecuteInfo processQuery(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull WebSQLContextInfo contextInfo,
+        @NotNull String sql,
+        @Nullable String resultId,
+        @Nullable WebSQLDataFilter filter,
+        @Nullable WebDataFormat dataFormat,
+        @NotNull WebSession webSession,
+        boolean readLogs,
+        @Nullable WebSQLResultStreamListener streamListener,
+        int chunkSize) throws DBWebException, DBCException {
         if (filter == null) {
             // Use default filter
             filter = new WebSQLDataFilter();
@@ -260,7 +293,9 @@ public class WebSQLProcessor implements WebSessionProvider {
                             if (sqlOutputLogReaderJob != null) {
                                 sqlOutputLogReaderJob.join();
                             }
-                            fillQueryResults(contextInfo, dataContainer, dbStat, hasResultSet, executeInfo, webDataFilter, dataFilter, dataFormat);
+                            fillQueryResults(
+                                contextInfo, dataContainer, dbStat, hasResultSet, executeInfo, webDataFilter, dataFilter, dataFormat,
+                                streamListener, chunkSize);
                         } catch (DBException e) {
                             throw new InvocationTargetException(e);
                         }
@@ -296,10 +331,25 @@ public class WebSQLProcessor implements WebSessionProvider {
         @NotNull WebSQLDataFilter filter,
         @Nullable WebDataFormat dataFormat) throws DBException {
 
+        if (filter.isUseCursor()) {
+            WebSQLExecuteInfo cursorResults = readDataFromCursor(contextInfo, monitor, dataContainer, resultId, filter, dataFormat);
+            if (cursorResults != null) {
+                return cursorResults;
+            }
+        }
+
         WebSQLExecuteInfo executeInfo = new WebSQLExecuteInfo();
 
         DBCExecutionContext executionContext = getExecutionContext(dataContainer);
-        DBDDataFilter dataFilter = filter.makeDataFilter((resultId == null ? null : contextInfo.getResults(resultId)));
+        WebSQLResultsInfo prevResultsInfo = resultId == null ? null : contextInfo.getResults(resultId);
+        DBDDataFilter dataFilter = filter.makeDataFilter(prevResultsInfo);
+        DBDDataFilter keysetFilter = null;
+        if (filter.isUseKeyset() && prevResultsInfo != null && filter.getOffset() > 0) {
+            keysetFilter = makeKeysetDataFilter(prevResultsInfo, dataFilter, filter.getOffset());
+        }
+        // Keyset condition is not a part of the user filter, so it is not shown in the result filter text
+        DBDDataFilter queryFilter = keysetFilter != null ? keysetFilter : dataFilter;
+        long readOffset = keysetFilter != null ? 0 : filter.getOffset();
         DBExecUtils.tryExecuteRecover(monitor, connection.getDataSource(), param -> {
             try (DBCSession session = executionContext.openSession(monitor, resolveQueryPurpose(dataFilter), "Read data from container")) {
                 try (WebSQLQueryDataReceiver dataReceiver = new WebSQLQueryDataReceiver(contextInfo, dataContainer, dataFormat)) {
@@ -307,8 +357,8 @@ public class WebSQLProcessor implements WebSessionProvider {
                         new WebExecutionSource(dataContainer, executionContext, this),
                         session,
                         dataReceiver,
-                        dataFilter,
-                        filter.getOffset(),
+                        queryFilter,
+                        readOffset,
                         filter.getLimit(),
                         DBSDataContainer.FLAG_NONE,
                         filter.getLimit());
@@ -321,9 +371,10 @@ public class WebSQLProcessor implements WebSessionProvider {
                     executeInfo.setResults(new WebSQLQueryResults[]{results});
                     setResultFilterText(dataContainer, session.getDataSource(), executeInfo, dataFilter);
                     executeInfo.setFullQuery(statistics.getQueryText());
-                    if (resultSet != null && resultSet.getRows() != null) {
+                    if (resultSet != null) {
                         resultSet.getResultsInfo().setQueryText(statistics.getQueryText());
-                        executeInfo.setStatusMessage(resultSet.getRows().length + " row(s) fetched");
+                        resultSet.getResultsInfo().setNextRowOffset(filter.getOffset() + resultSet.getRowCount());
+                        executeInfo.setStatusMessage(resultSet.getRowCount() + " row(s) fetched");
                     }
                 } catch (DBException e) {
                     throw new InvocationTargetException(e);
@@ -333,6 +384,103 @@ public class WebSQLProcessor implements WebSessionProvider {
         return executeInfo;
     }
 
+    /**
+     * Reads next page from the server-side cursor. Opens a new cursor for the first page.
+     *
+     * @return null if cursor can't be used and data must be read with a regular query
+     */
+    @Nullable
+    private WebSQLExecuteInfo readDataFromCursor(
+        @NotNull WebSQLContextInfo contextInfo,
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSDataContainer dataContainer,
+        @Nullable String resultId,
+        @NotNull WebSQLDataFilter filter,
+        @Nullable WebDataFormat dataFormat
+    ) throws DBException {
+        long startTime = System.currentTimeMillis();
+        WebSQLResultCursor cursor = resultId == null ? null : contextInfo.getResultCursor(resultId);
+        if (cursor != null && !cursor.claimNextPage(filter)) {
+            // Cursor is read by another request, or filter doesn't continue it (then cursor is closed)
+            cursor = null;
+        }
+        if (cursor == null) {
+            if (filter.getOffset() > 0) {
+                // Cursor has expired or filter was changed
+                return null;
+            }
+            if (!contextInfo.acquireResultCursorSlot()) {
+                log.debug("Result cursors quota exceeded in session " + webSession.getSessionId() + ", reading data without cursor");
+                return null;
+            }
+            long cursorTTL = CommonUtils.toLong(
+                webSession.getApplication().getAppConfiguration()
+                    .getResourceQuota(WebSQLConstants.QUOTA_PROP_RESULT_CURSOR_TTL),
+                WebSQLConstants.RESULT_CURSOR_TTL);
+            cursor = new WebSQLResultCursor(
+                contextInfo,
+                getExecutionContext(dataContainer),
+                dataContainer,
+                filter.makeDataFilter(resultId == null ? null : contextInfo.getResults(resultId)),
+                filter,
+                dataFormat,
+                cursorTTL * 1000);
+            cursor.claimNextPage(filter);
+            cursor.open();
+        }
+
+        WebSQLQueryResultSet resultSet = cursor.nextPage(monitor);
+
+        WebSQLExecuteInfo executeInfo = new WebSQLExecuteInfo();
+        WebSQLQueryResults results = new WebSQLQueryResults(webSession, dataFormat);
+        results.setResultSet(resultSet);
+        executeInfo.setResults(new WebSQLQueryResults[]{results});
+        setResultFilterText(dataContainer, connection.getDataSource(), executeInfo, cursor.getDataFilter());
+        executeInfo.setFullQuery(resultSet.getResultsInfo().getQueryText());
+        executeInfo.setDuration(System.currentTimeMillis() - startTime);
+        executeInfo.setStatusMessage(resultSet.getRowCount() + " row(s) fetched");
+        return executeInfo;
+    }
+
+    /**
+     * Makes a copy of the data filter where offset is replaced with a condition on the row identifier.
+     * Query then starts right after the last row of the previous page.
+     * Results must be ordered by the row identifier only, only single attribute identifiers are supported.
+     *
+     * @return null if keyset paging can't be used
+     */
+    @Nullable
+    public static DBDDataFilter makeKeysetDataFilter(
+        @NotNull WebSQLResultsInfo prevResultsInfo,
+        @NotNull DBDDataFilter dataFilter,
+        long offset
+    ) {
+        Object[] lastRowKey = prevResultsInfo.getLastRowKey();
+        DBDRowIdentifier rowIdentifier = prevResultsInfo.getDefaultRowIdentifier();
+        if (lastRowKey == null || lastRowKey.length != 1 || lastRowKey[0] == null ||
+            prevResultsInfo.getNextRowOffset() != offset || rowIdentifier == null) {
+            return null;
+        }
+        DBDAttributeBinding keyAttribute = rowIdentifier.getAttributes().get(0);
+        DBDDataFilter keysetFilter = new DBDDataFilter(dataFilter);
+        DBDAttributeConstraint keyConstraint = null;
+        for (DBDAttributeConstraint constraint : keysetFilter.getConstraints()) {
+            if (constraint.getOrderPosition() > 0) {
+                if (constraint.getAttribute() != keyAttribute || keyConstraint != null) {
+                    // Ordered by something else
+                    return null;
+                }
+                keyConstraint = constraint;
+            }
+        }
+        if (keyConstraint == null || keyConstraint.getOperator() != null || !CommonUtils.isEmpty(keyConstraint.getCriteria())) {
+            return null;
+        }
+        keyConstraint.setOperator(keyConstraint.isOrderDescending() ? DBCLogicalOperator.LESS : DBCLogicalOperator.GREATER);
+        keyConstraint.setValue(lastRowKey[0]);
+        return keysetFilter;
+    }
+
     public WebSQLExecuteInfo updateResultsDataBatch(
         @NotNull DBRProgressMonitor monitor,
         @NotNull WebSQLContextInfo contextInfo,
@@ -1003,7 +1151,9 @@ public class WebSQLProcessor implements WebSessionProvider {
         @NotNull WebSQLExecuteInfo executeInfo,
         @NotNull WebSQLDataFilter webDataFilter,
         @NotNull DBDDataFilter dataFilter,
-        @Nullable WebDataFormat dataFormat) throws DBException {
+        @Nullable WebDataFormat dataFormat,
+        @Nullable WebSQLResultStreamListener streamListener,
+        int chunkSize) throws DBException {
 
         List<WebSQLQueryResults> resultList = new ArrayList<>();
         int maxResultsCount = resolveMaxResultsCount(dataContainer.getDataSource());
@@ -1016,7 +1166,8 @@ public class WebSQLProcessor implements WebSessionProvider {
                     if (resultSet == null) {
                         break;
                     }
-                    try (WebSQLQueryDataReceiver dataReceiver = new WebSQLQueryDataReceiver(contextInfo, dataContainer, dataFormat)) {
+                    try (WebSQLQueryDataReceiver dataReceiver = new WebSQLQueryDataReceiver(
+                        contextInfo, dataContainer, dataFormat, streamListener, chunkSize)) {
                         readResultSet(dbStat.getSession(), resultSet, webDataFilter, dataReceiver);
                         results.setResultSet(dataReceiver.getResultSet());
                         dataReceiver.getResultSet().getResultsInfo().setQueryText(resultSet.getSourceStatement().getQueryString());
@@ -1170,7 +1321,7 @@ public class WebSQLProcessor implements WebSessionProvider {
         return dataSource.getInfo().supportsMultipleResults() ? MAX_RESULTS_COUNT : 1;
     }
 
-    private static DBCExecutionPurpose resolveQueryPurpose(DBDDataFilter filter) {
+    static DBCExecutionPurpose resolveQueryPurpose(DBDDataFilter filter) {
         return filter.hasFilters() ? DBCExecutionPurpose.USER_FILTERED : DBCExecutionPurpose.USER;
     }
 
@@ -19,6 +19,7 @@ package io.cloudbeaver.service.sql;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.utils.ServletAppUtils;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataKind;
@@ -28,33 +29,64 @@ import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.trace.DBCTrace;
 import org.jkiss.dbeaver.model.exec.trace.DBCTraceDynamic;
 import org.jkiss.dbeaver.model.impl.data.DBDValueError;
-import org.jkiss.dbeaver.model.meta.MetaData;
 import org.jkiss.dbeaver.model.sql.DBQuotaException;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
-import java.lang.reflect.Method;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
 class WebSQLQueryDataReceiver implements DBDDataReceiver {
     private static final Log log = Log.getLog(WebSQLQueryDataReceiver.class);
 
+    // Number of fetched rows converted at once when results are kept in memory
+    private static final int DEFAULT_CHUNK_SIZE = 200;
+
     private final WebSQLContextInfo contextInfo;
     private final DBSDataContainer dataContainer;
     private final WebDataFormat dataFormat;
     private final WebSQLQueryResultSet webResultSet = new WebSQLQueryResultSet();
 
+    @Nullable
+    private final WebSQLResultStreamListener streamListener;
+    private final int chunkSize;
+
+    // Bindings used to fetch values from the result set
     private DBDAttributeBinding[] bindings;
+    // Bindings of the web result set. Resolved on the first flush (may differ from fetch bindings for complex types)
+    private DBDAttributeBinding[] resultBindings;
     private DBCTrace trace;
+    // Original values of the last fetched row
+    private Object[] lastRowValues;
     private List<WebSQLQueryResultSetRow> rows = new ArrayList<>();
+    // Columns of the converted rows when results are kept in memory
+    private WebSQLColumnarRows.Builder resultRows;
+    private long fetchedRowCount;
     private final Number rowLimit;
 
     WebSQLQueryDataReceiver(WebSQLContextInfo contextInfo, DBSDataContainer dataContainer, WebDataFormat dataFormat) {
+        this(contextInfo, dataContainer, dataFormat, null, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates receiver which passes fetched rows to the stream listener in chunks of {@code chunkSize} rows
+     * instead of keeping the whole result set in memory.
+     */
+    WebSQLQueryDataReceiver(
+        WebSQLContextInfo contextInfo,
+        DBSDataContainer dataContainer,
+        WebDataFormat dataFormat,
+        @Nullable WebSQLResultStreamListener streamListener,
+        int chunkSize
+    ) {
         this.contextInfo = contextInfo;
         this.dataContainer = dataContainer;
         this.dataFormat = dataFormat;
+        this.streamListener = streamListener;
+        this.chunkSize = chunkSize;
         rowLimit = ServletAppUtils.getServletApplication()
             .getAppConfiguration()
             .getResourceQuota(WebSQLConstants.QUOTA_PROP_ROW_LIMIT);
@@ -94,16 +126,7 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
                     i);
                 row[i] = cellValue;
                 if (cellValue != null) {
-                    Method[] methods = cellValue.getClass().getMethods();
-                    for (Method method : methods) {
-                        if (method.isAnnotationPresent(MetaData.class)) {
-                            if (metaDataMap == null) {
-                                metaDataMap = new HashMap<>();
-                            }
-                            Object value = method.invoke(cellValue);
-                            metaDataMap.put(method.getAnnotation(MetaData.class).name(), value);
-                        }
-                    }
+                    metaDataMap = WebSQLMetaDataExtractor.extractMetaData(cellValue, metaDataMap);
                 }
 
             } catch (Throwable e) {
@@ -112,17 +135,132 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
         }
 
         rows.add(new WebSQLQueryResultSetRow(row, metaDataMap));
+        fetchedRowCount++;
 
-        if (rowLimit != null && rows.size() > rowLimit.longValue()) {
+        if (rowLimit != null && fetchedRowCount > rowLimit.longValue()) {
             throw new DBQuotaException(
-                "Result set rows quota exceeded", WebSQLConstants.QUOTA_PROP_ROW_LIMIT, rowLimit.longValue(), rows.size());
+                "Result set rows quota exceeded", WebSQLConstants.QUOTA_PROP_ROW_LIMIT, rowLimit.longValue(), fetchedRowCount);
+        }
+        if (rows.size() >= chunkSize) {
+            flushRows(session, resultSet);
         }
     }
 
     @Override
     public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        if (!rows.isEmpty() || resultBindings == null) {
+            flushRows(session, resultSet);
+        }
+        if (streamListener != null) {
+            webResultSet.setRows(Collections.emptyList());
+        } else {
+            webResultSet.setRows(resultRows.build());
+            resultRows = null;
+            webResultSet.getResultsInfo().setLastRowKey(getLastRowKey());
+        }
 
-        WebSession webSession = contextInfo.getProcessor().getWebSession();
+        if (streamListener != null) {
+            try {
+                streamListener.onResultEnd(webResultSet);
+            } catch (IOException e) {
+                throw new DBCException("Error writing result set end", e);
+            }
+        }
+    }
+
+    /**
+     * Number of rows fetched by this receiver
+     */
+    long getFetchedRowCount() {
+        return fetchedRowCount;
+    }
+
+    private void fillResultSetInfo(@NotNull DBCResultSet resultSet) {
+        webResultSet.setHasChildrenCollection(resultSet instanceof DBDSubCollectionResultSet);
+        webResultSet.setSupportsDataFilter(dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_FILTER));
+        webResultSet.setHasDynamicTrace(trace instanceof DBCTraceDynamic);
+
+        WebSQLResultsInfo resultsInfo = contextInfo.saveResult(dataContainer, trace, resultBindings);
+        if (resultSet.getSourceStatement() != null) {
+            resultsInfo.setQueryText(resultSet.getSourceStatement().getQueryString());
+        }
+        webResultSet.setResultsInfo(resultsInfo);
+
+        boolean isSingleEntity = DBExecUtils.detectSingleSourceTable(resultBindings) != null;
+
+        webResultSet.setSingleEntity(isSingleEntity);
+
+        Set<DBDRowIdentifier> rowIdentifiers = resultsInfo.getRowIdentifiers();
+        boolean hasRowIdentifier = rowIdentifiers.stream().allMatch(DBDRowIdentifier::isValidIdentifier);
+        webResultSet.setHasRowIdentifier(!rowIdentifiers.isEmpty() && hasRowIdentifier);
+    }
+
+    /**
+     * Returns original values of the default row identifier attributes of the last converted row.
+     * They are used for keyset paging.
+     */
+    @Nullable
+    Object[] getLastRowKey() {
+        if (lastRowValues == null) {
+            return null;
+        }
+        WebSQLResultsInfo resultsInfo = webResultSet.getResultsInfo();
+        if (resultsInfo == null) {
+            return null;
+        }
+        DBDRowIdentifier rowIdentifier = resultsInfo.getDefaultRowIdentifier();
+        if (rowIdentifier == null || !rowIdentifier.isValidIdentifier()) {
+            return null;
+        }
+        List<DBDAttributeBinding> keyAttributes = rowIdentifier.getAttributes();
+        Object[] keyValues = new Object[keyAttributes.size()];
+        for (int i = 0; i < keyAttributes.size(); i++) {
+            int index = ArrayUtils.indexOf(resultBindings, keyAttributes.get(i));
+            if (index < 0) {
+                return null;
+            }
+            keyValues[i] = lastRowValues[index];
+        }
+        return keyValues;
+    }
+
+    /**
+     * Converts buffered rows and passes them to the stream listener or adds them to the result columns.
+     * Attribute bindings and result set info are resolved by the first chunk.
+     */
+    private void flushRows(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        if (resultBindings == null) {
+            resolveResultBindings(session, resultSet);
+            fillResultSetInfo(resultSet);
+            if (streamListener == null) {
+                resultRows = new WebSQLColumnarRows.Builder(contextInfo.getProcessor().getWebSession(), resultBindings, dataFormat);
+            } else {
+                try {
+                    streamListener.onResultStart(webResultSet);
+                } catch (IOException e) {
+                    throw new DBCException("Error writing result set start", e);
+                }
+            }
+        }
+        if (streamListener == null) {
+            for (WebSQLQueryResultSetRow row : getRelationalViewRows(rows)) {
+                resultRows.addRow(row.getData(), row.getMetaData());
+            }
+            rows.clear();
+            return;
+        }
+        try {
+            List<WebSQLQueryResultSetRow> chunk = convertRows(rows);
+            rows = new ArrayList<>(chunkSize);
+            if (!chunk.isEmpty()) {
+                streamListener.onResultRows(chunk);
+            }
+        } catch (IOException e) {
+            throw new DBCException("Error writing result set rows", e);
+        }
+    }
+
+    private void resolveResultBindings(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
         DBSEntity entity = dataContainer instanceof DBSEntity ? (DBSEntity) dataContainer : null;
 
         try {
@@ -131,13 +269,14 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
             log.error("Error binding attributes", e);
         }
 
+        resultBindings = bindings;
         if (dataFormat != WebDataFormat.document) {
-            convertComplexValuesToRelationalView(session);
+            resultBindings = getRelationalViewBindings();
         }
 
         // Set proper order position
-        for (int i = 0; i < bindings.length; i++) {
-            DBDAttributeBinding binding = bindings[i];
+        for (int i = 0; i < resultBindings.length; i++) {
+            DBDAttributeBinding binding = resultBindings[i];
             if (binding instanceof DBDAttributeBindingType) {
                 // Type bindings are produced by dynamic map resolve
                 // Their positions are valid only within parent value
@@ -146,33 +285,42 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
             }
         }
 
-        // Convert row values
-        for (WebSQLQueryResultSetRow row : rows) {
-            for (int i = 0; i < bindings.length; i++) {
-                DBDAttributeBinding binding = bindings[i];
-                row.getData()[i] = WebSQLUtils.makeWebCellValue(webSession, binding, row.getData()[i], dataFormat);
-            }
-        }
-
-        webResultSet.setColumns(bindings);
-        webResultSet.setRows(List.of(rows.toArray(new WebSQLQueryResultSetRow[0])));
-        webResultSet.setHasChildrenCollection(resultSet instanceof DBDSubCollectionResultSet);
-        webResultSet.setSupportsDataFilter(dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_FILTER));
-        webResultSet.setHasDynamicTrace(trace instanceof DBCTraceDynamic);
+        webResultSet.setColumns(resultBindings);
+    }
 
-        WebSQLResultsInfo resultsInfo = contextInfo.saveResult(dataContainer, trace, bindings);
-        webResultSet.setResultsInfo(resultsInfo);
+    /**
+     * Returns rows with values of result bindings and remembers the last row values
+     */
+    @NotNull
+    private List<WebSQLQueryResultSetRow> getRelationalViewRows(@NotNull List<WebSQLQueryResultSetRow> fetchedRows) {
+        List<WebSQLQueryResultSetRow> resultRows = fetchedRows;
+        if (resultBindings != bindings) {
+            resultRows = convertComplexValuesToRelationalView(fetchedRows);
+        }
 
-        boolean isSingleEntity = DBExecUtils.detectSingleSourceTable(bindings) != null;
+        if (!resultRows.isEmpty()) {
+            lastRowValues = resultRows.get(resultRows.size() - 1).getData().clone();
+        }
+        return resultRows;
+    }
 
-        webResultSet.setSingleEntity(isSingleEntity);
+    @NotNull
+    private List<WebSQLQueryResultSetRow> convertRows(@NotNull List<WebSQLQueryResultSetRow> fetchedRows) throws DBCException {
+        List<WebSQLQueryResultSetRow> resultRows = getRelationalViewRows(fetchedRows);
 
-        Set<DBDRowIdentifier> rowIdentifiers = resultsInfo.getRowIdentifiers();
-        boolean hasRowIdentifier = rowIdentifiers.stream().allMatch(DBDRowIdentifier::isValidIdentifier);
-        webResultSet.setHasRowIdentifier(!rowIdentifiers.isEmpty() && hasRowIdentifier);
+        // Convert row values
+        WebSession webSession = contextInfo.getProcessor().getWebSession();
+        for (WebSQLQueryResultSetRow row : resultRows) {
+            for (int i = 0; i < resultBindings.length; i++) {
+                DBDAttributeBinding binding = resultBindings[i];
+                row.getData()[i] = WebSQLUtils.makeWebCellValue(webSession, binding, row.getData()[i], dataFormat);
+            }
+        }
+        return resultRows;
     }
 
-    private void convertComplexValuesToRelationalView(DBCSession session) {
+    @NotNull
+    private DBDAttributeBinding[] getRelationalViewBindings() {
         // Here we get leaf attributes and refetch them into plain tabl structure
         List<DBDAttributeBinding> leafBindings = new ArrayList<>();
         for (DBDAttributeBinding attr : bindings) {
@@ -180,17 +328,21 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
         }
         if (CommonUtils.equalObjects(bindings, leafBindings)) {
             // No complex types
-            return;
+            return bindings;
         }
+        return leafBindings.toArray(new DBDAttributeBinding[0]);
+    }
 
+    @NotNull
+    private List<WebSQLQueryResultSetRow> convertComplexValuesToRelationalView(@NotNull List<WebSQLQueryResultSetRow> fetchedRows) {
         // Convert original rows into new rows with leaf attributes
         // Extract values for leaf attributes from original row
-        DBDAttributeBinding[] leafAttributes = leafBindings.toArray(new DBDAttributeBinding[0]);
-        List<WebSQLQueryResultSetRow> newRows = new ArrayList<>();
-        for (WebSQLQueryResultSetRow row : rows) {
-            Object[] newRow = new Object[leafBindings.size()];
-            for (int i = 0; i < leafBindings.size(); i++) {
-                DBDAttributeBinding leafAttr = leafBindings.get(i);
+        DBDAttributeBinding[] leafAttributes = resultBindings;
+        List<WebSQLQueryResultSetRow> newRows = new ArrayList<>(fetchedRows.size());
+        for (WebSQLQueryResultSetRow row : fetchedRows) {
+            Object[] newRow = new Object[leafAttributes.length];
+            for (int i = 0; i < leafAttributes.length; i++) {
+                DBDAttributeBinding leafAttr = leafAttributes[i];
                 try {
                     //Object topValue = row[leafAttr.getTopParent().getOrdinalPosition()];
                     Object cellValue = DBUtils.getAttributeValue(leafAttr, leafAttributes, row.getData());
@@ -209,8 +361,7 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
             }
             newRows.add(new WebSQLQueryResultSetRow(newRow, row.getMetaData()));
         }
-        this.bindings = leafAttributes;
-        this.rows = newRows;
+        return newRows;
     }
 
     private void collectLeafBindings(DBDAttributeBinding attr, List<DBDAttributeBinding> leafBindings) {
@@ -232,5 +383,6 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
     @Override
     public void close() {
         rows.clear();
+        resultRows = null;
     }
 }
@@ -20,6 +20,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.meta.Property;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -68,8 +69,12 @@ public class WebSQLQueryResultSet {
 
     @Property
     @Deprecated
-    public Object[][] getRows() {
-        return rows.stream().map(WebSQLQueryResultSetRow::getData).toArray(x -> new Object[x][1]);
+    public List<List<Object>> getRows() {
+        if (rows instanceof WebSQLColumnarRows columnarRows) {
+            // Read cells from columns without row arrays
+            return columnarRows.getRowValues();
+        }
+        return rows.stream().map(row -> Arrays.asList(row.getData())).toList();
     }
 
     @Property
@@ -81,6 +86,10 @@ public class WebSQLQueryResultSet {
         this.rows = rows;
     }
 
+    public int getRowCount() {
+        return rows.size();
+    }
+
     @Property
     public boolean isHasMoreData() {
         return hasMoreData;
@@ -0,0 +1,280 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import io.cloudbeaver.DBWebException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result set kept open on the server between page requests.
+ * <p>
+ * Data is read by a background job which hands pages over to {@link #nextPage} and waits until each page is taken.
+ * So at most one page is buffered. The job is aborted if the cursor stays idle longer than its TTL.
+ * <p>
+ * Open result set would block other statements of the shared connection, so the cursor reads data
+ * in its own isolated execution context. Number of cursors is limited by the session quota.
+ */
+public class WebSQLResultCursor implements WebSQLResultStreamListener {
+
+    private static final Log log = Log.getLog(WebSQLResultCursor.class);
+
+    private static final long WAIT_CHECK_PERIOD = 1000;
+
+    @NotNull
+    private final WebSQLContextInfo contextInfo;
+    @NotNull
+    private final DBCExecutionContext executionContext;
+    @NotNull
+    private final DBSDataContainer dataContainer;
+    @NotNull
+    private final DBDDataFilter dataFilter;
+    @NotNull
+    private final String conditionsSignature;
+    @Nullable
+    private final WebDataFormat dataFormat;
+    private final int pageSize;
+    private final long ttl;
+
+    private WebSQLQueryDataReceiver dataReceiver;
+    private WebSQLQueryResultSet resultSet;
+    private List<WebSQLQueryResultSetRow> page;
+    private Object[] pageLastRowKey;
+    private long nextOffset;
+    private long lastAccessTime;
+    private boolean pageClaimed;
+    private boolean finished;
+    private boolean closed;
+    private Throwable error;
+
+    public WebSQLResultCursor(
+        @NotNull WebSQLContextInfo contextInfo,
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBDDataFilter dataFilter,
+        @NotNull WebSQLDataFilter webFilter,
+        @Nullable WebDataFormat dataFormat,
+        long ttl
+    ) {
+        this.contextInfo = contextInfo;
+        this.executionContext = executionContext;
+        this.dataContainer = dataContainer;
+        this.dataFilter = dataFilter;
+        this.conditionsSignature = webFilter.getConditionsSignature();
+        this.dataFormat = dataFormat;
+        this.pageSize = webFilter.getLimit();
+        this.ttl = ttl;
+        this.nextOffset = webFilter.getOffset();
+    }
+
+    @NotNull
+    DBDDataFilter getDataFilter() {
+        return dataFilter;
+    }
+
+    /**
+     * Reserves the next page for a request if filter requests the page which follows the last read page of this cursor.
+     * Only one request may read the cursor at a time, reservation is released by {@link #nextPage}.
+     * Cursor is closed if filter doesn't continue it.
+     *
+     * @return false if cursor can't be used by this request
+     */
+    public synchronized boolean claimNextPage(@NotNull WebSQLDataFilter webFilter) {
+        if (closed || pageClaimed) {
+            return false;
+        }
+        if (webFilter.getOffset() != nextOffset ||
+            webFilter.getLimit() != pageSize ||
+            !webFilter.getConditionsSignature().equals(conditionsSignature)
+        ) {
+            close();
+            return false;
+        }
+        pageClaimed = true;
+        return true;
+    }
+
+    public void open() {
+        lastAccessTime = System.currentTimeMillis();
+        long offset = nextOffset;
+        new AbstractJob("Read data cursor for " + dataContainer.getName()) {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                readData(monitor, offset);
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+    private void readData(@NotNull DBRProgressMonitor monitor, long offset) {
+        DBCExecutionContext cursorContext = null;
+        try {
+            cursorContext = executionContext.getOwnerInstance().openIsolatedContext(
+                monitor, "Read data cursor", executionContext);
+            try (DBCSession session = cursorContext.openSession(
+                monitor, WebSQLProcessor.resolveQueryPurpose(dataFilter), "Read data cursor");
+                 WebSQLQueryDataReceiver receiver = new WebSQLQueryDataReceiver(
+                     contextInfo, dataContainer, dataFormat, this, pageSize)
+            ) {
+                this.dataReceiver = receiver;
+                dataContainer.readData(
+                    new WebExecutionSource(dataContainer, cursorContext, contextInfo.getProcessor()),
+                    session,
+                    receiver,
+                    dataFilter,
+                    offset,
+                    0,
+                    DBSDataContainer.FLAG_NONE,
+                    pageSize);
+            }
+        } catch (Throwable e) {
+            synchronized (this) {
+                if (!closed) {
+                    log.debug("Error reading data cursor", e);
+                    error = e;
+                }
+            }
+        } finally {
+            if (cursorContext != null) {
+                cursorContext.close();
+            }
+            synchronized (this) {
+                finished = true;
+                notifyAll();
+            }
+            contextInfo.releaseResultCursor(this);
+        }
+    }
+
+    /**
+     * Waits for the next page reserved by {@link #claimNextPage}.
+     *
+     * @return result set with page rows. Empty page means that all rows were read.
+     */
+    @NotNull
+    public synchronized WebSQLQueryResultSet nextPage(@NotNull DBRProgressMonitor monitor) throws DBException {
+        try {
+            return readNextPage(monitor);
+        } finally {
+            pageClaimed = false;
+        }
+    }
+
+    @NotNull
+    private WebSQLQueryResultSet readNextPage(@NotNull DBRProgressMonitor monitor) throws DBException {
+        lastAccessTime = System.currentTimeMillis();
+        while (page == null && !finished) {
+            if (monitor.isCanceled()) {
+                close();
+                throw new DBWebException("Data read canceled");
+            }
+            try {
+                wait(WAIT_CHECK_PERIOD);
+            } catch (InterruptedException e) {
+                close();
+                throw new DBWebException("Data read interrupted", e);
+            }
+        }
+        if (page == null && (resultSet == null || error != null)) {
+            // Read failed before the first page or in the middle of the result set
+            throw new DBWebException("Error reading data", error);
+        }
+        List<WebSQLQueryResultSetRow> rows = page == null ? Collections.emptyList() : page;
+        if (page != null) {
+            WebSQLResultsInfo resultsInfo = resultSet.getResultsInfo();
+            resultsInfo.setLastRowKey(pageLastRowKey);
+            nextOffset += rows.size();
+            resultsInfo.setNextRowOffset(nextOffset);
+            page = null;
+            pageLastRowKey = null;
+        }
+        lastAccessTime = System.currentTimeMillis();
+        notifyAll();
+        return createPageResultSet(rows);
+    }
+
+    /**
+     * Aborts data reading. Resources are released by the read job.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void onResultStart(@NotNull WebSQLQueryResultSet resultSet) {
+        this.resultSet = resultSet;
+        contextInfo.registerResultCursor(resultSet.getId(), this);
+    }
+
+    @Override
+    public synchronized void onResultRows(@NotNull List<WebSQLQueryResultSetRow> rows) throws IOException {
+        page = rows;
+        pageLastRowKey = dataReceiver.getLastRowKey();
+        notifyAll();
+        while (page != null) {
+            if (closed) {
+                throw new IOException("Result cursor closed");
+            }
+            long waitTime = lastAccessTime + ttl - System.currentTimeMillis();
+            if (waitTime <= 0) {
+                closed = true;
+                throw new IOException("Result cursor expired");
+            }
+            try {
+                wait(waitTime);
+            } catch (InterruptedException e) {
+                closed = true;
+                throw new IOException("Result cursor interrupted", e);
+            }
+        }
+    }
+
+    @Override
+    public void onResultEnd(@NotNull WebSQLQueryResultSet resultSet) {
+        // Finish is signaled by the read job
+    }
+
+    @NotNull
+    private WebSQLQueryResultSet createPageResultSet(@NotNull List<WebSQLQueryResultSetRow> rows) {
+        WebSQLQueryResultSet pageResultSet = new WebSQLQueryResultSet();
+        pageResultSet.setColumns(resultSet.getColumns());
+        pageResultSet.setRows(rows);
+        pageResultSet.setResultsInfo(resultSet.getResultsInfo());
+        pageResultSet.setSingleEntity(resultSet.isSingleEntity());
+        pageResultSet.setHasRowIdentifier(resultSet.isHasRowIdentifier());
+        pageResultSet.setHasChildrenCollection(resultSet.isHasChildrenCollection());
+        pageResultSet.setSupportsDataFilter(resultSet.isSupportsDataFilter());
+        pageResultSet.setHasDynamicTrace(resultSet.isHasDynamicTrace());
+        pageResultSet.setHasMoreData(rows.size() >= pageSize);
+        return pageResultSet;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import io.cloudbeaver.DBWebException;
+import io.cloudbeaver.model.WebAsyncTaskInfo;
+import io.cloudbeaver.model.app.ServletApplication;
+import io.cloudbeaver.model.session.WebSession;
+import io.cloudbeaver.service.WebServiceServletBase;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+
+/**
+ * Serves results of a finished SQL execute task in MessagePack format.
+ * <p>
+ * It is a compact alternative to the {@code asyncSqlExecuteResults} GraphQL query.
+ * URL is {@code sql-result-data/<task-id>}. Payload has the same fields as {@code SQLExecuteInfo}.
+ * Result set rows are written as arrays of cell values, with row metadata in a separate array.
+ */
+public class WebSQLResultDataServlet extends WebServiceServletBase {
+
+    public static final String CONTENT_TYPE_MSGPACK = "application/x-msgpack";
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    public WebSQLResultDataServlet(ServletApplication application) {
+        super(application);
+    }
+
+    @Override
+    protected void processServiceRequest(
+        WebSession session,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws DBException, IOException {
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "Only GET requests are supported");
+            return;
+        }
+        String taskId = request.getPathInfo();
+        if (CommonUtils.isEmpty(taskId)) {
+            throw new DBWebException("Task ID not specified");
+        }
+        while (taskId.startsWith("/")) {
+            taskId = taskId.substring(1);
+        }
+        WebAsyncTaskInfo taskInfo = session.asyncTaskStatus(taskId, false);
+        if (taskInfo.isRunning()) {
+            throw new DBWebException("Task '" + taskId + "' is still running");
+        }
+        if (!(taskInfo.getExtendedResult() instanceof WebSQLExecuteInfo executeInfo)) {
+            throw new DBWebException("Task '" + taskId + "' has no query results");
+        }
+
+        response.setContentType(CONTENT_TYPE_MSGPACK);
+        response.setHeader("Cache-Control", "no-store");
+        BufferedOutputStream out = new BufferedOutputStream(response.getOutputStream(), OUTPUT_BUFFER_SIZE);
+        WebSQLMessagePackWriter writer = new WebSQLMessagePackWriter(out);
+        writer.writeValue(WebSQLUtils.serializeExecuteInfo(executeInfo, -1));
+        writer.flush();
+    }
+}
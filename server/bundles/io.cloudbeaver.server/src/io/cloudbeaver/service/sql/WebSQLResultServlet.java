@@ -20,6 +20,7 @@ import io.cloudbeaver.DBWebException;
 import io.cloudbeaver.model.app.ServletApplication;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.server.CBConstants;
+import io.cloudbeaver.service.WebDownloadUtils;
 import io.cloudbeaver.service.WebServiceServletBase;
 import jakarta.servlet.MultipartConfigElement;
 import jakarta.servlet.ServletException;
@@ -31,10 +32,8 @@ import org.eclipse.jetty.ee10.servlet.ServletContextRequest;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.IOUtils;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
@@ -87,14 +86,13 @@ public class WebSQLResultServlet extends WebServiceServletBase {
             session.addInfoMessage("Download LOB file ...");
             response.setHeader("Content-Type", "application/octet-stream");
             response.setHeader("Content-Disposition", "attachment; filename=\"" + dataFile.getFileName().toString() + "\"");
-            response.setHeader("Content-Length", String.valueOf(Files.size(dataFile)));
             response.setDateHeader("Expires", System.currentTimeMillis() + CBConstants.STATIC_CACHE_SECONDS * 1000);
             response.setHeader("Cache-Control", "public, max-age=" + CBConstants.STATIC_CACHE_SECONDS);
 
-            try (InputStream is = Files.newInputStream(dataFile)) {
-                IOUtils.copyStream(is, response.getOutputStream());
+            // keep the file until it is downloaded completely, files of resumed downloads are removed by TTL
+            if (WebDownloadUtils.sendFile(request, response, dataFile)) {
+                Files.deleteIfExists(dataFile);
             }
-            Files.deleteIfExists(dataFile);
         }
     }
 }
\ No newline at end of file
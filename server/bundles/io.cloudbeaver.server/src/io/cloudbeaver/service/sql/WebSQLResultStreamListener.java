@@ -0,0 +1,46 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives query results chunk by chunk while they are fetched from the database cursor.
+ * Calls are made from the fetching thread, so a blocking listener throttles the fetch.
+ */
+public interface WebSQLResultStreamListener {
+
+    /**
+     * Called once per result set before the first chunk of rows.
+     * Result set contains columns and results info but no rows.
+     */
+    void onResultStart(@NotNull WebSQLQueryResultSet resultSet) throws IOException;
+
+    /**
+     * Called for each chunk of converted rows.
+     */
+    void onResultRows(@NotNull List<WebSQLQueryResultSetRow> rows) throws IOException;
+
+    /**
+     * Called when result set is fully fetched.
+     */
+    void onResultEnd(@NotNull WebSQLQueryResultSet resultSet) throws IOException;
+
+}
@@ -0,0 +1,433 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.cloudbeaver.DBWebException;
+import io.cloudbeaver.model.WebAsyncTaskInfo;
+import io.cloudbeaver.model.WebConnectionInfo;
+import io.cloudbeaver.model.app.ServletApplication;
+import io.cloudbeaver.model.session.WebAsyncTaskProcessor;
+import io.cloudbeaver.model.session.WebAsyncTaskScheduler;
+import io.cloudbeaver.model.session.WebSession;
+import io.cloudbeaver.service.WebServiceServletBase;
+import io.cloudbeaver.utils.WebDataSourceUtils;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executes query and streams result rows to the client as they are fetched from the database cursor.
+ * <p>
+ * Request is a POST with JSON body: {@code projectId, connectionId, contextId, query, resultId, filter, dataFormat, chunkSize}.
+ * Response is a newline-delimited JSON stream which starts with a {@code task} message (id of the async task
+ * which may be canceled with {@code asyncTaskCancel}), then {@code columns}, {@code rows} and {@code end} messages
+ * (one sequence per result set) followed by a single {@code complete} or {@code error} message.
+ * Only a few chunks of rows are kept in server memory; the client read speed throttles the fetch.
+ * <p>
+ * Query is executed as a session async task, so it is subject to the running queries quota and task scheduler.
+ * Request is processed asynchronously and doesn't occupy a servlet thread while the query runs.
+ */
+@WebServlet(asyncSupported = true)
+public class WebSQLResultStreamServlet extends WebServiceServletBase {
+
+    private static final Log log = Log.getLog(WebSQLResultStreamServlet.class);
+
+    public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson; charset=UTF-8";
+
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final int MAX_CHUNK_SIZE = 10000;
+
+    private static final String MESSAGE_TYPE = "type";
+
+    private static final Gson gson = new GsonBuilder()
+        .serializeNulls()
+        .create();
+
+    public WebSQLResultStreamServlet(ServletApplication application) {
+        super(application);
+    }
+
+    @Override
+    protected void processServiceRequest(
+        WebSession session,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws DBException, IOException {
+        if (!"POST".equalsIgnoreCase(request.getMethod())) {
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "Only POST requests are supported");
+            return;
+        }
+        Map<String, Object> variables = gson.fromJson(request.getReader(), JSONUtils.MAP_TYPE_TOKEN);
+        if (variables == null) {
+            throw new DBWebException("Request body is empty");
+        }
+        String query = JSONUtils.getString(variables, "query");
+        if (CommonUtils.isEmpty(query)) {
+            throw new DBWebException("Query not specified");
+        }
+        WebConnectionInfo connectionInfo = WebDataSourceUtils.getWebConnectionInfo(
+            session,
+            JSONUtils.getString(variables, "projectId"),
+            JSONUtils.getString(variables, "connectionId"));
+        WebSQLProcessor processor = WebServiceBindingSQL.getSQLProcessor(connectionInfo);
+        WebSQLContextInfo contextInfo = WebServiceBindingSQL.getSQLContext(processor, JSONUtils.getString(variables, "contextId"));
+
+        Map<String, Object> filterProps = JSONUtils.getObjectOrNull(variables, "filter");
+        WebSQLDataFilter filter = filterProps == null ? null : new WebSQLDataFilter(filterProps);
+        WebDataFormat dataFormat = CommonUtils.valueOf(
+            WebDataFormat.class, JSONUtils.getString(variables, "dataFormat"), WebDataFormat.resultset);
+        int chunkSize = CommonUtils.toInt(variables.get("chunkSize"), DEFAULT_CHUNK_SIZE);
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            chunkSize = DEFAULT_CHUNK_SIZE;
+        }
+
+        String resultId = JSONUtils.getString(variables, "resultId");
+        int streamChunkSize = chunkSize;
+
+        response.setContentType(CONTENT_TYPE_NDJSON);
+        response.setHeader("Cache-Control", "no-cache");
+        // Query is executed by the task, servlet thread is released.
+        // Stream may take long, so there is no request timeout. Broken connections are reported to the listener.
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(0);
+        AtomicReference<WebAsyncTaskInfo> taskInfoRef = new AtomicReference<>();
+        StreamWriter streamWriter = new StreamWriter(response.getOutputStream(), asyncContext::complete);
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                handleConnectionError(event.getThrowable());
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                handleConnectionError(event.getThrowable());
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+
+            private void handleConnectionError(@Nullable Throwable error) {
+                streamWriter.onError(error == null ? new IOException("Client connection closed") : error);
+                cancelTask(session, taskInfoRef.get());
+            }
+        });
+        response.getOutputStream().setWriteListener(streamWriter);
+
+        WebAsyncTaskProcessor<String> runnable = new WebAsyncTaskProcessor<>() {
+            @Override
+            public void run(DBRProgressMonitor monitor) {
+                try {
+                    WebSQLExecuteInfo executeInfo = processor.streamQuery(
+                        monitor,
+                        contextInfo,
+                        query,
+                        resultId,
+                        filter,
+                        dataFormat,
+                        streamWriter,
+                        streamChunkSize);
+                    this.result = executeInfo.getStatusMessage();
+                    Map<String, Object> message = createMessage("complete");
+                    message.put("duration", executeInfo.getDuration());
+                    message.put("statusMessage", executeInfo.getStatusMessage());
+                    message.put("filterText", executeInfo.getFilterText());
+                    message.put("fullQuery", executeInfo.getFullQuery());
+                    streamWriter.writeMessage(message);
+                } catch (DBException e) {
+                    handleStreamError(session, streamWriter, e);
+                } catch (IOException e) {
+                    log.debug("Client disconnected during results streaming", e);
+                } finally {
+                    streamWriter.finish();
+                }
+            }
+
+            @Override
+            public void onTaskCanceled() {
+                streamWriter.writeError("Query execution canceled");
+                streamWriter.finish();
+            }
+        };
+        WebAsyncTaskInfo taskInfo;
+        try {
+            taskInfo = session.createAndRunAsyncTask("Stream query results", runnable, WebAsyncTaskScheduler.getTransferInstance());
+        } catch (RuntimeException e) {
+            log.debug("Error starting results streaming", e);
+            streamWriter.start(null);
+            streamWriter.writeError(CommonUtils.notEmpty(e.getMessage()));
+            streamWriter.finish();
+            return;
+        }
+        taskInfoRef.set(taskInfo);
+        // Task id goes first, rows which are already produced by the task are held until then
+        Map<String, Object> taskMessage = createMessage("task");
+        taskMessage.put("taskId", taskInfo.getId());
+        streamWriter.start(taskMessage);
+        if (taskInfo.getJob() == null) {
+            // Task was rejected (quota exceeded)
+            Throwable error = taskInfo.getJobError();
+            streamWriter.writeError(error == null ? "Query execution rejected" : error.getMessage());
+            streamWriter.finish();
+        } else if (!streamWriter.isClientConnected()) {
+            // Client went away before the task id was known
+            cancelTask(session, taskInfo);
+        }
+    }
+
+    private static void cancelTask(@NotNull WebSession session, @Nullable WebAsyncTaskInfo taskInfo) {
+        if (taskInfo == null || !taskInfo.isRunning()) {
+            return;
+        }
+        try {
+            session.asyncTaskCancel(taskInfo.getId());
+        } catch (DBWebException e) {
+            log.debug("Error canceling results streaming task", e);
+        }
+    }
+
+    private static void handleStreamError(
+        @NotNull WebSession session,
+        @NotNull StreamWriter streamWriter,
+        @NotNull DBException error
+    ) {
+        if (!streamWriter.isClientConnected() || streamWriter.isWriteError(error)) {
+            // Client went away, it is not a query error
+            log.debug("Client disconnected during results streaming: " + error.getMessage());
+            return;
+        }
+        log.debug("Error streaming query results", error);
+        session.addSessionError(error);
+        streamWriter.writeError(error.getMessage());
+    }
+
+    @NotNull
+    private static Map<String, Object> createMessage(@NotNull String type) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put(MESSAGE_TYPE, type);
+        return message;
+    }
+
+    /**
+     * Writes messages with non-blocking servlet output, so the task doesn't hold a scheduler slot
+     * while a slow client reads. Only a few messages are queued, the task waits for the client
+     * at most {@link #MAX_WRITE_WAIT_TIME} and then fails.
+     */
+    private static class StreamWriter implements WebSQLResultStreamListener, WriteListener {
+        private static final int MAX_QUEUED_MESSAGES = 4;
+        private static final long MAX_WRITE_WAIT_TIME = 60_000;
+
+        private final ServletOutputStream out;
+        private final Runnable completeRequest;
+        private final Deque<byte[]> queue = new ArrayDeque<>();
+        private boolean started;
+        private boolean flushNeeded;
+        private boolean finished;
+        private boolean completed;
+        private volatile Throwable writeError;
+
+        StreamWriter(@NotNull ServletOutputStream out, @NotNull Runnable completeRequest) {
+            this.out = out;
+            this.completeRequest = completeRequest;
+        }
+
+        boolean isClientConnected() {
+            return writeError == null;
+        }
+
+        /**
+         * Checks whether error was caused by a failed write to the client
+         */
+        boolean isWriteError(@NotNull Throwable error) {
+            Throwable clientError = writeError;
+            for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+                if (cause == clientError) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Puts the first message before all queued messages and starts writing
+         */
+        synchronized void start(@Nullable Map<String, Object> firstMessage) {
+            if (firstMessage != null) {
+                queue.addFirst(serializeMessage(firstMessage));
+            }
+            started = true;
+            drain();
+        }
+
+        /**
+         * Completes the request after all queued messages are sent
+         */
+        synchronized void finish() {
+            finished = true;
+            drain();
+        }
+
+        /**
+         * Sends error message if client is still connected. Doesn't wait for the client.
+         */
+        void writeError(@NotNull String errorMessage) {
+            Map<String, Object> message = createMessage("error");
+            message.put("message", errorMessage);
+            byte[] data = serializeMessage(message);
+            synchronized (this) {
+                if (isClientConnected()) {
+                    queue.add(data);
+                    drain();
+                }
+            }
+        }
+
+        @Override
+        public void onResultStart(@NotNull WebSQLQueryResultSet resultSet) throws IOException {
+            Map<String, Object> message = createMessage("columns");
+            message.put("id", resultSet.getId());
+            message.put("columns", Arrays.stream(resultSet.getColumns()).map(WebSQLUtils::serializeResultColumn).toList());
+            message.put("singleEntity", resultSet.isSingleEntity());
+            message.put("hasRowIdentifier", resultSet.isHasRowIdentifier());
+            message.put("hasChildrenCollection", resultSet.isHasChildrenCollection());
+            message.put("isSupportsDataFilter", resultSet.isSupportsDataFilter());
+            message.put("hasDynamicTrace", resultSet.isHasDynamicTrace());
+            writeMessage(message);
+        }
+
+        @Override
+        public void onResultRows(@NotNull List<WebSQLQueryResultSetRow> rows) throws IOException {
+            List<Map<String, Object>> rowList = new ArrayList<>(rows.size());
+            for (WebSQLQueryResultSetRow row : rows) {
+                Map<String, Object> rowMap = new LinkedHashMap<>();
+                rowMap.put("data", row.getData());
+                rowMap.put("metaData", row.getMetaData());
+                rowList.add(rowMap);
+            }
+            Map<String, Object> message = createMessage("rows");
+            message.put("rows", rowList);
+            writeMessage(message);
+        }
+
+        @Override
+        public void onResultEnd(@NotNull WebSQLQueryResultSet resultSet) throws IOException {
+            Map<String, Object> message = createMessage("end");
+            message.put("id", resultSet.getId());
+            writeMessage(message);
+        }
+
+        /**
+         * Queues the message. Waits while the queue is full, so the client throttles the fetch.
+         */
+        void writeMessage(@NotNull Map<String, Object> message) throws IOException {
+            byte[] data = serializeMessage(message);
+            synchronized (this) {
+                long deadline = System.currentTimeMillis() + MAX_WRITE_WAIT_TIME;
+                while (writeError == null && queue.size() >= MAX_QUEUED_MESSAGES) {
+                    long waitTime = deadline - System.currentTimeMillis();
+                    if (waitTime <= 0) {
+                        writeError = new IOException("Client didn't read results in " + MAX_WRITE_WAIT_TIME + "ms");
+                        queue.clear();
+                        break;
+                    }
+                    try {
+                        wait(waitTime);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Results streaming interrupted", e);
+                    }
+                }
+                if (writeError != null) {
+                    throw writeError instanceof IOException ioError ? ioError : new IOException(writeError);
+                }
+                queue.add(data);
+                drain();
+            }
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            if (writeError == null) {
+                writeError = error;
+            }
+            queue.clear();
+            drain();
+        }
+
+        /**
+         * Writes queued messages while output is ready. Output calls {@link #onWritePossible} when it is ready again.
+         */
+        private void drain() {
+            try {
+                while (writeError == null && started && out.isReady()) {
+                    byte[] data = queue.poll();
+                    if (data != null) {
+                        out.write(data);
+                        flushNeeded = true;
+                    } else if (flushNeeded) {
+                        // Push the chunk to the client right away
+                        flushNeeded = false;
+                        out.flush();
+                    } else {
+                        break;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                writeError = e;
+                queue.clear();
+            }
+            notifyAll();
+            if (finished && !completed && (writeError != null || (started && queue.isEmpty() && !flushNeeded))) {
+                completed = true;
+                completeRequest.run();
+            }
+        }
+
+        @NotNull
+        private static byte[] serializeMessage(@NotNull Map<String, Object> message) {
+            return (gson.toJson(message) + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import io.cloudbeaver.registry.WebServiceRegistry;
 import io.cloudbeaver.utils.CBModelConstants;
 import io.cloudbeaver.utils.ServletAppUtils;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.exec.DBCException;
@@ -230,6 +231,100 @@ public class WebSQLUtils {
         return map;
     }
 
+    /**
+     * Serializes result column info for clients which don't use GraphQL (result streams and compact result formats)
+     */
+    @NotNull
+    public static Map<String, Object> serializeResultColumn(@NotNull WebSQLQueryResultColumn column) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("position", column.getPosition());
+        map.put("name", column.getName());
+        map.put("label", column.getLabel());
+        map.put("entityName", column.getEntityName());
+        map.put("dataKind", column.getDataKind());
+        map.put("typeName", column.getTypeName());
+        map.put("fullTypeName", column.getFullTypeName());
+        map.put("maxLength", column.getMaxLength());
+        map.put("scale", column.getScale());
+        map.put("precision", column.getPrecision());
+        map.put("required", column.isRequired());
+        map.put("autoGenerated", column.isAutoGenerated());
+        map.put("readOnly", column.isReadOnly());
+        map.put("readOnlyStatus", column.getReadOnlyStatus());
+        return map;
+    }
+
+    /**
+     * Serializes query execution results for clients which don't use GraphQL.
+     * Rows are serialized as arrays of cell values, row metadata is kept in a separate array.
+     *
+     * @param maxRows maximum total number of rows or -1 if unlimited
+     * @return serialized results or null if results have more than {@code maxRows} rows
+     */
+    @Nullable
+    public static Map<String, Object> serializeExecuteInfo(@NotNull WebSQLExecuteInfo executeInfo, int maxRows) {
+        WebSQLQueryResults[] results = executeInfo.getResults();
+        if (maxRows >= 0) {
+            int totalRows = 0;
+            for (WebSQLQueryResults result : results) {
+                if (result.getResultSet() != null) {
+                    totalRows += result.getResultSet().getRowCount();
+                }
+            }
+            if (totalRows > maxRows) {
+                return null;
+            }
+        }
+        List<Map<String, Object>> resultList = new ArrayList<>(results.length);
+        for (WebSQLQueryResults result : results) {
+            Map<String, Object> resultMap = new LinkedHashMap<>();
+            resultMap.put("updateRowCount", result.getUpdateRowCount());
+            resultMap.put("dataFormat", result.getDataFormat());
+            resultMap.put("resultSet", result.getResultSet() == null ? null : serializeResultSet(result.getResultSet()));
+            resultList.add(resultMap);
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("statusMessage", executeInfo.getStatusMessage());
+        map.put("duration", executeInfo.getDuration());
+        map.put("filterText", executeInfo.getFilterText());
+        map.put("fullQuery", executeInfo.getFullQuery());
+        map.put("results", resultList);
+        return map;
+    }
+
+    @NotNull
+    private static Map<String, Object> serializeResultSet(@NotNull WebSQLQueryResultSet resultSet) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", resultSet.getId());
+        WebSQLQueryResultColumn[] columns = resultSet.getColumns();
+        map.put("columns", columns == null ? null : Arrays.stream(columns).map(WebSQLUtils::serializeResultColumn).toList());
+
+        List<WebSQLQueryResultSetRow> rows = resultSet.getRowsWithMetaData();
+        if (rows instanceof WebSQLColumnarRows columnarRows) {
+            // Cells are serialized right from the columns
+            map.put("rows", columnarRows.getRowValues());
+            map.put("rowsMetaData", columnarRows.getRowsMetaData());
+        } else {
+            List<Object[]> rowData = new ArrayList<>(rows.size());
+            List<Map<String, Object>> rowMetaData = new ArrayList<>(rows.size());
+            boolean hasMetaData = false;
+            for (WebSQLQueryResultSetRow row : rows) {
+                rowData.add(row.getData());
+                rowMetaData.add(row.getMetaData());
+                hasMetaData |= row.getMetaData() != null;
+            }
+            map.put("rows", rowData);
+            map.put("rowsMetaData", hasMetaData ? rowMetaData : null);
+        }
+        map.put("hasMoreData", resultSet.isHasMoreData());
+        map.put("singleEntity", resultSet.isSingleEntity());
+        map.put("hasRowIdentifier", resultSet.isHasRowIdentifier());
+        map.put("hasChildrenCollection", resultSet.isHasChildrenCollection());
+        map.put("isSupportsDataFilter", resultSet.isSupportsDataFilter());
+        map.put("hasDynamicTrace", resultSet.isHasDynamicTrace());
+        return map;
+    }
+
     public static Object makePlainCellValue(DBCSession session, DBSTypedObject attribute, Object value) throws DBCException {
         if (value instanceof Map) {
             Map<String, Object> map = (Map<String, Object>) value;
@@ -181,6 +181,7 @@ public class WebServiceBindingSQL extends WebServiceBindingBase<DBWServiceSQL>
                     getDataFilter(env),
                     getDataFormat(env),
                     CommonUtils.toBoolean(env.getArgument("readLogs")),
+                    CommonUtils.toBoolean(env.getArgument("pushResults")),
                     getWebSession(env)))
             .dataFetcher("asyncReadDataFromContainer", env ->
                 getService(env).asyncReadDataFromContainer(
@@ -188,7 +189,8 @@ public class WebServiceBindingSQL extends WebServiceBindingBase<DBWServiceSQL>
                     env.getArgument("containerNodePath"),
                     env.getArgument("resultId"),
                     getDataFilter(env),
-                    getDataFormat(env)
+                    getDataFormat(env),
+                    CommonUtils.toBoolean(env.getArgument("pushResults"))
                 ))
             .dataFetcher("asyncSqlExecuteResults", env ->
                 getService(env).asyncGetQueryResults(
@@ -311,6 +313,16 @@ public class WebServiceBindingSQL extends WebServiceBindingBase<DBWServiceSQL>
             new WebSQLFileLoaderServlet(application),
             application.getServicesURI() + "resultset/blob/*"
         );
+        servletContext.addServlet(
+            "sqlResultStream",
+            new WebSQLResultStreamServlet(application),
+            application.getServicesURI() + "sql-result-stream/*"
+        );
+        servletContext.addServlet(
+            "sqlResultData",
+            new WebSQLResultDataServlet(application),
+            application.getServicesURI() + "sql-result-data/*"
+        );
     }
 
     @Override
@@ -74,6 +74,9 @@ public class WebServiceSQL implements DBWServiceSQL {
 
     private static final Log log = Log.getLog(WebServiceSQL.class);
 
+    // Bigger results are not sent in task events, client reads them with asyncSqlExecuteResults
+    private static final int PUSH_RESULTS_MAX_ROWS = 1000;
+
     @Override
     public WebSQLContextInfo[] listContexts(
         @NotNull WebSession session,
@@ -403,6 +406,7 @@ public class WebServiceSQL implements DBWServiceSQL {
         @Nullable WebSQLDataFilter filter,
         @Nullable WebDataFormat dataFormat,
         boolean readLogs,
+        boolean pushResults,
         @NotNull WebSession webSession)
     {
         WebAsyncTaskProcessor<String> runnable = new WebAsyncTaskProcessor<>() {
@@ -415,6 +419,10 @@ public class WebServiceSQL implements DBWServiceSQL {
                         monitor, contextInfo, sql, resultId, filter, dataFormat, webSession, readLogs);
                     this.result = executeResults.getStatusMessage();
                     this.extendedResults = executeResults;
+                    // Pushed results are useless if the client has no connected websocket
+                    if (pushResults && contextInfo.getProcessor().getWebSession().hasEventHandlers()) {
+                        this.eventResults = WebSQLUtils.serializeExecuteInfo(executeResults, PUSH_RESULTS_MAX_ROWS);
+                    }
                 } catch (Throwable e) {
                     throw new InvocationTargetException(e);
                 } finally {
@@ -431,7 +439,8 @@ public class WebServiceSQL implements DBWServiceSQL {
         @NotNull String nodePath,
         @Nullable String resultId,
         @Nullable WebSQLDataFilter filter,
-        @Nullable WebDataFormat dataFormat) throws DBWebException {
+        @Nullable WebDataFormat dataFormat,
+        boolean pushResults) throws DBWebException {
         WebAsyncTaskProcessor<String> runnable = new WebAsyncTaskProcessor<String>() {
             @Override
             public void run(DBRProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
@@ -451,6 +460,10 @@ public class WebServiceSQL implements DBWServiceSQL {
                         dataFormat);
                     this.result = executeResults.getStatusMessage();
                     this.extendedResults = executeResults;
+                    // Pushed results are useless if the client has no connected websocket
+                    if (pushResults && contextInfo.getProcessor().getWebSession().hasEventHandlers()) {
+                        this.eventResults = WebSQLUtils.serializeExecuteInfo(executeResults, PUSH_RESULTS_MAX_ROWS);
+                    }
                 } catch (Throwable e) {
                     throw new InvocationTargetException(e);
                 } finally {
@@ -19,6 +19,7 @@ package io.cloudbeaver.service.data.transfer.impl;
 import io.cloudbeaver.DBWebException;
 import io.cloudbeaver.model.WebAsyncTaskInfo;
 import io.cloudbeaver.model.session.WebAsyncTaskProcessor;
+import io.cloudbeaver.model.session.WebAsyncTaskScheduler;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.server.CBApplication;
 import io.cloudbeaver.server.CBPlatform;
@@ -217,7 +218,7 @@ public class WebServiceDataTransfer implements DBWServiceDataTransfer {
                 }
             }
         };
-        return sqlProcessor.getWebSession().createAndRunAsyncTask("Data export", runnable);
+        return sqlProcessor.getWebSession().createAndRunAsyncTask("Data export", runnable, WebAsyncTaskScheduler.getTransferInstance());
     }
 
     public WebAsyncTaskInfo asyncImportDataContainer(@NotNull String processorId,
@@ -254,7 +255,7 @@ public class WebServiceDataTransfer implements DBWServiceDataTransfer {
                 }
             }
         };
-        return webSession.createAndRunAsyncTask("Data import", runnable);
+        return webSession.createAndRunAsyncTask("Data import", runnable, WebAsyncTaskScheduler.getTransferInstance());
     }
 
     private void exportData(
@@ -20,6 +20,7 @@ import io.cloudbeaver.DBWebException;
 import io.cloudbeaver.model.fs.FSUtils;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.server.CBApplication;
+import io.cloudbeaver.service.WebDownloadUtils;
 import io.cloudbeaver.service.WebServiceServletBase;
 import io.cloudbeaver.service.fs.DBWServiceFS;
 import jakarta.servlet.MultipartConfigElement;
@@ -32,7 +33,6 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.dbeaver.model.navigator.fs.DBNPathBase;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.IOUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -69,11 +69,7 @@ public class WebFSServlet extends WebServiceServletBase {
         session.addInfoMessage("Download data ...");
         response.setHeader("Content-Type", "application/octet-stream");
         response.setHeader("Content-Disposition", "attachment; filename=\"" + path.getFileName() + "\"");
-        response.setHeader("Content-Length", String.valueOf(Files.size(path)));
-
-        try (InputStream is = Files.newInputStream(path)) {
-            IOUtils.copyStream(is, response.getOutputStream());
-        }
+        WebDownloadUtils.sendFile(request, response, path);
     }
 
     private void doPost(WebSession session, HttpServletRequest request, HttpServletResponse response) throws DBException, IOException {
@@ -0,0 +1,121 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.rm.nio;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.nio.NIOUtils;
+import org.jkiss.dbeaver.model.rm.RMController;
+import org.jkiss.dbeaver.model.rm.RMProject;
+import org.jkiss.dbeaver.model.rm.RMResource;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Directory stream of the resource manager.
+ * Entries are read with a single listing call and carry attributes of the listed resources,
+ * so reading attributes of entries (e.g. in a tree walk) does not query the resource manager again.
+ */
+class RMDirectoryStream implements DirectoryStream<Path> {
+
+    @NotNull
+    private final RMNIOFileSystemProvider provider;
+    @NotNull
+    private final RMPath dir;
+    @Nullable
+    private final Filter<? super Path> filter;
+    private boolean iteratorReturned;
+    private boolean closed;
+
+    RMDirectoryStream(@NotNull RMNIOFileSystemProvider provider, @NotNull RMPath dir, @Nullable Filter<? super Path> filter) {
+        this.provider = provider;
+        this.dir = dir;
+        this.filter = filter;
+    }
+
+    @Override
+    public synchronized Iterator<Path> iterator() {
+        if (closed) {
+            throw new IllegalStateException("Directory stream is closed");
+        }
+        if (iteratorReturned) {
+            throw new IllegalStateException("Iterator already obtained");
+        }
+        iteratorReturned = true;
+        List<Path> entries = new ArrayList<>();
+        try {
+            for (RMPath entry : readEntries()) {
+                if (filter == null || filter.accept(entry)) {
+                    entries.add(entry);
+                }
+            }
+        } catch (DBException e) {
+            throw new DirectoryIteratorException(
+                new IOException("Failed to read resources from rm path: " + e.getMessage(), e)
+            );
+        } catch (IOException e) {
+            throw new DirectoryIteratorException(e);
+        }
+        return entries.iterator();
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+    }
+
+    @NotNull
+    private List<RMPath> readEntries() throws DBException {
+        RMController rmController = dir.getFileSystem().getRmController();
+        List<RMPath> entries = new ArrayList<>();
+        if (dir.isRmRootPath()) {
+            for (RMProject rmProject : rmController.listAccessibleProjects()) {
+                entries.add(new RMPath(
+                    new RMNIOFileSystem(rmProject.getId(), provider),
+                    null,
+                    new RMRootBasicAttribute()
+                ));
+            }
+        } else {
+            String rmDirPath = dir.getResourcePath();
+            String separator = dir.getFileSystem().getSeparator();
+            RMResource[] resources = rmController.listResources(
+                dir.getRmProjectId(),
+                rmDirPath,
+                null,
+                false,
+                false,
+                false
+            );
+            for (RMResource rmResource : resources) {
+                entries.add(new RMPath(
+                    dir.getFileSystem(),
+                    NIOUtils.resolve(separator, rmDirPath, rmResource.getName()),
+                    new RMResourceBasicAttribute(rmResource)
+                ));
+            }
+        }
+        return entries;
+    }
+}
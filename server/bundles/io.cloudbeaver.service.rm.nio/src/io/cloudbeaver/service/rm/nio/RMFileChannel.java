@@ -0,0 +1,161 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.rm.nio;
+
+import io.cloudbeaver.model.rm.RMResourceStreamController;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.*;
+import java.util.Set;
+
+/**
+ * Writable channel of a resource backed by a temporary file.
+ * Resource contents are copied to the file when the channel is opened (unless truncated)
+ * and streamed back to the resource manager when the channel is closed.
+ */
+public class RMFileChannel implements SeekableByteChannel {
+
+    private static final Log log = Log.getLog(RMFileChannel.class);
+
+    @NotNull
+    private final RMPath rmPath;
+    @NotNull
+    private final RMResourceStreamController streamController;
+    @NotNull
+    private final Path tempFile;
+    @NotNull
+    private final FileChannel fileChannel;
+    private final boolean resourceExists;
+    private final boolean deleteOnClose;
+    private boolean closed;
+
+    public RMFileChannel(
+        @NotNull RMPath rmPath,
+        @NotNull RMResourceStreamController streamController,
+        boolean resourceExists,
+        @NotNull Set<? extends OpenOption> options
+    ) throws IOException {
+        this.rmPath = rmPath;
+        this.streamController = streamController;
+        this.resourceExists = resourceExists;
+        this.deleteOnClose = options.contains(StandardOpenOption.DELETE_ON_CLOSE);
+        if (resourceExists && options.contains(StandardOpenOption.CREATE_NEW)) {
+            throw new FileAlreadyExistsException(rmPath.toString());
+        }
+        if (!resourceExists && !options.contains(StandardOpenOption.CREATE) && !options.contains(StandardOpenOption.CREATE_NEW)) {
+            throw new NoSuchFileException(rmPath.toString());
+        }
+        this.tempFile = Files.createTempFile("rm-resource-", ".tmp");
+        try {
+            if (resourceExists && !options.contains(StandardOpenOption.TRUNCATE_EXISTING)) {
+                try (SeekableByteChannel resourceChannel = streamController.openResourceChannel(
+                    rmPath.getRmProjectId(), rmPath.getResourcePath()
+                )) {
+                    Files.copy(Channels.newInputStream(resourceChannel), tempFile, StandardCopyOption.REPLACE_EXISTING);
+                } catch (DBException e) {
+                    throw new IOException("Failed to read resource: " + e.getMessage(), e);
+                }
+            }
+            this.fileChannel = FileChannel.open(tempFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (options.contains(StandardOpenOption.APPEND)) {
+                fileChannel.position(fileChannel.size());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        return fileChannel.read(dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        return fileChannel.write(src);
+    }
+
+    @Override
+    public long position() throws IOException {
+        return fileChannel.position();
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        fileChannel.position(newPosition);
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return fileChannel.size();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) throws IOException {
+        fileChannel.truncate(size);
+        return this;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return fileChannel.isOpen();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            fileChannel.close();
+            if (deleteOnClose) {
+                if (!resourceExists) {
+                    return;
+                }
+                rmPath.getFileSystem().getRmController().deleteResource(
+                    rmPath.getRmProjectId(), rmPath.getResourcePath(), true
+                );
+            } else {
+                try (InputStream data = Files.newInputStream(tempFile)) {
+                    // new resource is written without overwrite flag, so the resource creation event is sent
+                    streamController.setResourceContents(
+                        rmPath.getRmProjectId(), rmPath.getResourcePath(), data, resourceExists
+                    );
+                }
+            }
+        } catch (DBException e) {
+            throw new IOException("Failed to write data to the file: " + e.getMessage(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.debug("Failed to delete temporary file " + tempFile + ": " + e.getMessage());
+            }
+        }
+    }
+}
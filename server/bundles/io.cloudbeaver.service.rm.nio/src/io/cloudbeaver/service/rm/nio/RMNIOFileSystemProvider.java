@@ -16,10 +16,10 @@
  */
 package io.cloudbeaver.service.rm.nio;
 
+import io.cloudbeaver.model.rm.RMResourceStreamController;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.nio.NIOFileSystemProvider;
-import org.jkiss.dbeaver.model.nio.NIOUtils;
 import org.jkiss.dbeaver.model.rm.RMController;
 import org.jkiss.dbeaver.model.rm.RMResource;
 import org.jkiss.dbeaver.model.rm.RMUtils;
@@ -30,15 +30,14 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.FileAttributeView;
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 public class RMNIOFileSystemProvider extends NIOFileSystemProvider {
 
@@ -94,7 +93,7 @@ public class RMNIOFileSystemProvider extends NIOFileSystemProvider {
     }
 
     @Override
-    public RMByteArrayChannel newByteChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>... attrs)
+    public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>... attrs)
         throws IOException {
         RMPath rmPath = (RMPath) path;
         if (Files.isDirectory(rmPath)) {
@@ -102,6 +101,16 @@ public class RMNIOFileSystemProvider extends NIOFileSystemProvider {
         }
 
         try {
+            if (rmController instanceof RMResourceStreamController streamController) {
+                boolean resourceExists = Files.exists(path);
+                if (isReadOnly(options)) {
+                    if (!resourceExists) {
+                        throw new NoSuchFileException(path.toString());
+                    }
+                    return streamController.openResourceChannel(rmPath.getRmProjectId(), rmPath.getResourcePath());
+                }
+                return new RMFileChannel(rmPath, streamController, resourceExists, options);
+            }
             if (Files.exists(path)) {
                 byte[] data = rmController.getResourceContents(rmPath.getRmProjectId(), rmPath.getResourcePath());
                 return new RMByteArrayChannel(data, rmPath, options);
@@ -115,55 +124,28 @@ public class RMNIOFileSystemProvider extends NIOFileSystemProvider {
 
     @Override
     public OutputStream newOutputStream(Path path, OpenOption... options) throws IOException {
+        if (rmController instanceof RMResourceStreamController) {
+            Set<OpenOption> channelOptions = new HashSet<>(Arrays.asList(options));
+            if (channelOptions.isEmpty()) {
+                channelOptions.add(StandardOpenOption.CREATE);
+                channelOptions.add(StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            channelOptions.add(StandardOpenOption.WRITE);
+            return Channels.newOutputStream(newByteChannel(path, channelOptions));
+        }
         return new RMOutputStream((RMPath) path);
     }
 
+    private static boolean isReadOnly(@NotNull Set<? extends OpenOption> options) {
+        return !options.contains(StandardOpenOption.WRITE)
+            && !options.contains(StandardOpenOption.APPEND)
+            && !options.contains(StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
     @Override
     public DirectoryStream<Path> newDirectoryStream(Path dir, DirectoryStream.Filter<? super Path> filter)
         throws IOException {
-        RMPath rmDir = (RMPath) dir;
-        String rmDirPath = rmDir.getResourcePath();
-        String separator = rmDir.getFileSystem().getSeparator();
-
-        return new DirectoryStream<>() {
-            @Override
-            public Iterator<Path> iterator() {
-                var rmController = rmDir.getFileSystem().getRmController();
-                try {
-                    if (rmDir.isRmRootPath()) {
-                        return Arrays.stream(rmController.listAccessibleProjects())
-                            .map(rmProject -> (Path) new RMPath(
-                                    new RMNIOFileSystem(
-                                        rmProject.getId(),
-                                        RMNIOFileSystemProvider.this
-                                    )
-                                )
-                            ).iterator();
-                    } else {
-                        var resources = rmController.listResources(
-                            rmDir.getRmProjectId(),
-                            rmDirPath,
-                            null,
-                            false,
-                            false,
-                            false
-                        );
-                        return Arrays.stream(resources)
-                            .map(rmResource -> (Path) new RMPath(rmDir.getFileSystem(),
-                                NIOUtils.resolve(separator, rmDirPath, rmResource.getName())
-                            ))
-                            .iterator();
-                    }
-                } catch (DBException e) {
-                    throw new RuntimeException("Failed to read resources from rm path: " + e.getMessage(), e);
-                }
-            }
-
-            @Override
-            public void close() throws IOException {
-
-            }
-        };
+        return new RMDirectoryStream(this, (RMPath) dir, filter);
     }
 
     @Override
@@ -270,6 +252,10 @@ public class RMNIOFileSystemProvider extends NIOFileSystemProvider {
     public <A extends BasicFileAttributes> A readAttributes(Path path, Class<A> type, LinkOption... options) throws IOException {
         if (type == BasicFileAttributes.class) {
             RMPath rmPath = (RMPath) path;
+            BasicFileAttributes listingAttributes = rmPath.getListingAttributes();
+            if (listingAttributes != null) {
+                return type.cast(listingAttributes);
+            }
             try {
                 if (rmPath.isRmRootPath()) {
                     return type.cast(new RMRootBasicAttribute());
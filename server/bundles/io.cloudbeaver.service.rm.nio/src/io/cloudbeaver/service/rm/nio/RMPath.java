@@ -29,32 +29,50 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class RMPath extends NIOPath {
+    // Attributes read by directory listing are valid for a short time only, like in the default file system
+    private static final long ATTRIBUTES_TTL_MS = 1000;
+
     @NotNull
     private final RMNIOFileSystem rmNioFileSystem;
     @Nullable
     private final String rmProjectId;
+    @Nullable
+    private final BasicFileAttributes listingAttributes;
+    private final long listingTime;
 
     public RMPath(
         @NotNull RMNIOFileSystem rmNioFileSystem
     ) {
-        super(null, rmNioFileSystem);
-        this.rmNioFileSystem = rmNioFileSystem;
-        this.rmProjectId = rmNioFileSystem.getRmProjectId();
+        this(rmNioFileSystem, null, null);
     }
 
     public RMPath(
         @NotNull RMNIOFileSystem rmNioFileSystem,
         @NotNull String path
+    ) {
+        this(rmNioFileSystem, path, null);
+    }
+
+    /**
+     * Path of a directory listing entry with attributes read by the listing.
+     */
+    RMPath(
+        @NotNull RMNIOFileSystem rmNioFileSystem,
+        @Nullable String path,
+        @Nullable BasicFileAttributes listingAttributes
     ) {
         super(path, rmNioFileSystem);
         this.rmNioFileSystem = rmNioFileSystem;
         this.rmProjectId = rmNioFileSystem.getRmProjectId();
+        this.listingAttributes = listingAttributes;
+        this.listingTime = listingAttributes == null ? 0 : System.currentTimeMillis();
     }
 
     @Override
@@ -208,6 +226,18 @@ public class RMPath extends NIOPath {
         return rmProjectId != null && CommonUtils.isEmpty(path);
     }
 
+    /**
+     * Returns attributes read by the directory listing which produced this path,
+     * or null if the path was not produced by listing or attributes are outdated.
+     */
+    @Nullable
+    BasicFileAttributes getListingAttributes() {
+        if (listingAttributes == null || System.currentTimeMillis() - listingTime > ATTRIBUTES_TTL_MS) {
+            return null;
+        }
+        return listingAttributes;
+    }
+
     @NotNull
     public String getRmProjectId() throws DBException {
         if (rmProjectId == null) {
@@ -218,6 +218,7 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
         } catch (SQLException e) {
             throw new DBCException("Error deleting user from database", e);
         }
+        database.getPermissionsCache().invalidateSubject(userId, SMSubjectType.user);
         var event = new WSUserDeletedEvent(userId);
         application.getEventController().addEvent(event);
     }
@@ -1334,6 +1335,8 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
         }
         if (force) {
             addSubjectPermissionsUpdateEvent(teamId, SMSubjectType.team);
+        } else {
+            database.getPermissionsCache().invalidateSubject(teamId, SMSubjectType.team);
         }
     }
 
@@ -1392,6 +1395,11 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
     @NotNull
     @Override
     public Set<String> getSubjectPermissions(String subjectId) throws DBException {
+        return database.getPermissionsCache().getSubjectPermissions(subjectId, () -> readSubjectPermissions(subjectId));
+    }
+
+    @NotNull
+    private Set<String> readSubjectPermissions(String subjectId) throws DBException {
         try (Connection dbCon = database.openConnection()) {
             Set<String> permissions = new HashSet<>();
             try (PreparedStatement dbStat = dbCon.prepareStatement(
@@ -1412,6 +1420,11 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
     @NotNull
     @Override
     public Set<String> getUserPermissions(String userId) throws DBException {
+        return database.getPermissionsCache().getUserPermissions(userId, () -> readUserPermissions(userId));
+    }
+
+    @NotNull
+    private Set<String> readUserPermissions(String userId) throws DBException {
         try (Connection dbCon = database.openConnection()) {
             Set<String> permissions = new HashSet<>();
             try (PreparedStatement dbStat = dbCon.prepareStatement(
@@ -2744,13 +2757,17 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
 //        validatePermissions(objectType, permissions);
         try (Connection dbCon = database.openConnection()) {
             try (JDBCTransaction txn = new JDBCTransaction(dbCon)) {
-                var sqlBuilder = new StringBuilder("DELETE FROM {table_prefix}CB_OBJECT_PERMISSIONS WHERE SUBJECT_ID IN (");
-                appendStringParameters(sqlBuilder, subjectIds);
+                var sqlBuilder = new StringBuilder(
+                    database.normalizeTableNames("DELETE FROM {table_prefix}CB_OBJECT_PERMISSIONS WHERE SUBJECT_ID IN ("));
+                appendParameterPlaceholders(sqlBuilder, subjectIds.size());
                 sqlBuilder.append(") AND OBJECT_TYPE=? ")
                     .append("AND OBJECT_ID IN (");
-                appendStringParameters(sqlBuilder, objectIds);
+                appendParameterPlaceholders(sqlBuilder, objectIds.size());
                 sqlBuilder.append(")");
-                JDBCUtils.executeStatement(dbCon, database.normalizeTableNames(sqlBuilder.toString()), objectType.name());
+                List<Object> deleteParams = new ArrayList<>(subjectIds);
+                deleteParams.add(objectType.name());
+                deleteParams.addAll(objectIds);
+                JDBCUtils.executeStatement(dbCon, sqlBuilder.toString(), deleteParams.toArray());
                 if (!CommonUtils.isEmpty(permissions)) {
                     try (PreparedStatement dbStat = dbCon.prepareStatement(
                         database.normalizeTableNames(
@@ -2874,6 +2891,7 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
         if (subjectType == null) {
             subjectType = getSubjectType(subjectId);
         }
+        database.getPermissionsCache().invalidateSubject(subjectId, subjectType);
         if (subjectType == null) {
             log.error("Subject type is not found for subject '" + subjectId + "'");
             return;
@@ -2888,6 +2906,7 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
     }
 
     private void addObjectPermissionsUpdateEvent(@NotNull Set<String> objectIds, @NotNull SMObjectType objectType) {
+        database.getPermissionsCache().invalidateObjectPermissions(objectType);
         for (var objectId : objectIds) {
             var event = WSObjectPermissionEvent.update(
                 getSmSessionId(),
@@ -2900,6 +2919,7 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
     }
 
     private void addObjectPermissionsDeleteEvent(@NotNull Set<String> objectIds, @NotNull SMObjectType objectType) {
+        database.getPermissionsCache().invalidateObjectPermissions(objectType);
         for (var objectId : objectIds) {
             var event = WSObjectPermissionEvent.delete(
                 getSmSessionId(),
@@ -2919,6 +2939,7 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
                 objectType.name(),
                 objectId
             );
+            database.getPermissionsCache().invalidateObjectPermissions(objectType);
 
         } catch (SQLException e) {
             throw new DBCException("Error deleting object permissions", e);
@@ -2969,6 +2990,7 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
                 objectType.name(),
                 subjectId
             );
+            database.getPermissionsCache().invalidateObjectPermissions(objectType);
 
         } catch (SQLException e) {
             throw new DBCException("Error deleting subject permissions", e);
@@ -2989,34 +3011,10 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
     @NotNull
     @Override
     public List<SMObjectPermissions> getAllAvailableObjectsPermissions(@NotNull SMObjectType objectType) throws DBException {
-
-        String subjectId = getSubjectId();
-        try (Connection dbCon = database.openConnection()) {
-            Set<String> allSubjects = getAllLinkedSubjects(dbCon, subjectId);
-            {
-                var sqlBuilder = new StringBuilder("SELECT OBJECT_ID,PERMISSION FROM {table_prefix}CB_OBJECT_PERMISSIONS ");
-                sqlBuilder.append("WHERE SUBJECT_ID IN (");
-                appendStringParameters(sqlBuilder, allSubjects);
-                sqlBuilder.append(") AND OBJECT_TYPE=?");
-                try (PreparedStatement dbStat = dbCon.prepareStatement(database.normalizeTableNames(sqlBuilder.toString()))) {
-                    dbStat.setString(1, objectType.name());
-
-                    var permissionsByObjectId = new LinkedHashMap<String, Set<String>>();
-                    try (ResultSet dbResult = dbStat.executeQuery()) {
-                        while (dbResult.next()) {
-                            var objectId = dbResult.getString(1);
-                            permissionsByObjectId.computeIfAbsent(objectId, key -> new HashSet<>()).add(dbResult.getString(2));
-                        }
-                    }
-                    return permissionsByObjectId.entrySet()
-                        .stream()
-                        .map(entry -> new SMObjectPermissions(entry.getKey(), entry.getValue()))
-                        .collect(Collectors.toList());
-                }
-            }
-        } catch (SQLException e) {
-            throw new DBCException("Error reading projects permissions", e);
-        }
+        return getEffectiveObjectPermissions(getSubjectId(), objectType).entrySet()
+            .stream()
+            .map(entry -> new SMObjectPermissions(entry.getKey(), new HashSet<>(entry.getValue())))
+            .collect(Collectors.toList());
     }
 
     @NotNull
@@ -3026,26 +3024,49 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
         @NotNull String objectId,
         @NotNull SMObjectType objectType
     ) throws DBException {
-        try (Connection dbCon = database.openConnection()) {
-            Set<String> allSubjects = getAllLinkedSubjects(dbCon, subjectId);
-            {
-                var sqlBuilder = new StringBuilder("SELECT PERMISSION FROM {table_prefix}CB_OBJECT_PERMISSIONS ");
-                sqlBuilder.append("WHERE SUBJECT_ID IN (");
-                appendStringParameters(sqlBuilder, allSubjects);
-                sqlBuilder.append(") AND OBJECT_TYPE=? AND OBJECT_ID=?");
+        Set<String> permissions = getEffectiveObjectPermissions(subjectId, objectType).get(objectId);
+        return new SMObjectPermissions(objectId, permissions == null ? new HashSet<>() : new HashSet<>(permissions));
+    }
 
-                try (PreparedStatement dbStat = dbCon.prepareStatement(database.normalizeTableNames(sqlBuilder.toString()))) {
-                    dbStat.setString(1, objectType.name());
-                    dbStat.setString(2, objectId);
+    /**
+     * Returns permissions of the subject and its teams on all objects of the given type, by object id.
+     */
+    @NotNull
+    private Map<String, Set<String>> getEffectiveObjectPermissions(
+        @NotNull String subjectId,
+        @NotNull SMObjectType objectType
+    ) throws DBException {
+        return database.getPermissionsCache().getObjectPermissions(
+            subjectId,
+            objectType,
+            () -> readEffectiveObjectPermissions(subjectId, objectType)
+        );
+    }
 
-                    var permissions = new HashSet<String>();
-                    try (ResultSet dbResult = dbStat.executeQuery()) {
-                        while (dbResult.next()) {
-                            permissions.add(dbResult.getString(1));
-                        }
+    @NotNull
+    private Map<String, Set<String>> readEffectiveObjectPermissions(
+        @NotNull String subjectId,
+        @NotNull SMObjectType objectType
+    ) throws DBException {
+        try (Connection dbCon = database.openConnection()) {
+            Set<String> allSubjects = getAllLinkedSubjects(dbCon, subjectId);
+            var sqlBuilder = new StringBuilder(
+                database.normalizeTableNames("SELECT OBJECT_ID,PERMISSION FROM {table_prefix}CB_OBJECT_PERMISSIONS "));
+            sqlBuilder.append("WHERE SUBJECT_ID IN (");
+            appendParameterPlaceholders(sqlBuilder, allSubjects.size());
+            sqlBuilder.append(") AND OBJECT_TYPE=?");
+            try (PreparedStatement dbStat = dbCon.prepareStatement(sqlBuilder.toString())) {
+                int paramIndex = setStringParameters(dbStat, 1, allSubjects);
+                dbStat.setString(paramIndex, objectType.name());
+
+                var permissionsByObjectId = new LinkedHashMap<String, Set<String>>();
+                try (ResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        var objectId = dbResult.getString(1);
+                        permissionsByObjectId.computeIfAbsent(objectId, key -> new HashSet<>()).add(dbResult.getString(2));
                     }
-                    return new SMObjectPermissions(objectId, permissions);
                 }
+                return permissionsByObjectId;
             }
         } catch (SQLException e) {
             throw new DBCException("Error reading projects permissions", e);
@@ -3093,14 +3114,15 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
         var grantedPermissionsByObjectId = new HashMap<String, SMObjectPermissionsGrant.Builder>();
         try (Connection dbCon = database.openConnection()) {
             var allLinkedSubjects = getAllLinkedSubjects(dbCon, subjectId);
-            var sqlBuilder =
-                new StringBuilder("SELECT OP.OBJECT_ID,S.SUBJECT_TYPE,S.SUBJECT_ID,OP.PERMISSION\n")
-                    .append("FROM {table_prefix}CB_OBJECT_PERMISSIONS OP, {table_prefix}CB_AUTH_SUBJECT S\n")
-                    .append("WHERE S.SUBJECT_ID = OP.SUBJECT_ID AND OP.SUBJECT_ID IN (");
-            appendStringParameters(sqlBuilder, allLinkedSubjects);
+            var sqlBuilder = new StringBuilder(database.normalizeTableNames(
+                "SELECT OP.OBJECT_ID,S.SUBJECT_TYPE,S.SUBJECT_ID,OP.PERMISSION\n" +
+                    "FROM {table_prefix}CB_OBJECT_PERMISSIONS OP, {table_prefix}CB_AUTH_SUBJECT S\n" +
+                    "WHERE S.SUBJECT_ID = OP.SUBJECT_ID AND OP.SUBJECT_ID IN ("));
+            appendParameterPlaceholders(sqlBuilder, allLinkedSubjects.size());
             sqlBuilder.append(") AND OP.OBJECT_TYPE=?");
-            try (PreparedStatement dbStat = dbCon.prepareStatement(database.normalizeTableNames(sqlBuilder.toString()))) {
-                dbStat.setString(1, smObjectType.name());
+            try (PreparedStatement dbStat = dbCon.prepareStatement(sqlBuilder.toString())) {
+                int paramIndex = setStringParameters(dbStat, 1, allLinkedSubjects);
+                dbStat.setString(paramIndex, smObjectType.name());
                 try (ResultSet dbResult = dbStat.executeQuery()) {
                     while (dbResult.next()) {
                         String objectId = dbResult.getString(1);
@@ -3123,13 +3145,29 @@ public class CBEmbeddedSecurityController<T extends ServletAuthApplication>
         }
     }
 
-    private static void appendStringParameters(StringBuilder sql, @NotNull Collection<String> subjectIds) {
-        boolean first = true;
-        for (String id : subjectIds) {
-            if (!first) sql.append(",");
-            first = false;
-            sql.append("'").append(id.replace("'", "''")).append("'");
+    /**
+     * Ids are passed as parameters, so statements of the same size are reused from the statements cache
+     */
+    private static void appendParameterPlaceholders(@NotNull StringBuilder sql, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sql.append(",");
+            sql.append("?");
+        }
+    }
+
+    /**
+     * @return index of the next parameter
+     */
+    private static int setStringParameters(
+        @NotNull PreparedStatement dbStat,
+        int startIndex,
+        @NotNull Collection<String> values
+    ) throws SQLException {
+        int index = startIndex;
+        for (String value : values) {
+            dbStat.setString(index++, value);
         }
+        return index;
     }
 
     public void shutdown() {
@@ -0,0 +1,189 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.security;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.security.SMObjectType;
+import org.jkiss.dbeaver.model.security.SMSubjectType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of subject permissions and effective object permissions read from the security database.
+ * Shared by all security controllers of the database.
+ * <p>
+ * Entries are invalidated explicitly when permissions or team membership change
+ * (locally or on another node, see permission events). Entries also expire after a short time,
+ * expired entries are purged from all maps at most once per expiration period.
+ */
+public class CBPermissionsCache {
+
+    private static final long DEFAULT_ENTRY_TTL_MS = 60_000;
+
+    public interface Loader<V> {
+        @NotNull
+        V load() throws DBException;
+    }
+
+    private record CacheEntry<V>(@NotNull V value, long expireTime) {
+        boolean isExpired(long currentTime) {
+            return currentTime >= expireTime;
+        }
+    }
+
+    private record ObjectPermissionsKey(@NotNull String subjectId, @NotNull SMObjectType objectType) {
+    }
+
+    // Effective user permissions (user + user teams)
+    private final Map<String, CacheEntry<Set<String>>> userPermissions = new ConcurrentHashMap<>();
+    // Permissions granted to subject directly
+    private final Map<String, CacheEntry<Set<String>>> subjectPermissions = new ConcurrentHashMap<>();
+    // Effective object permissions of subject (subject + subject teams) by object id
+    private final Map<ObjectPermissionsKey, CacheEntry<Map<String, Set<String>>>> objectPermissions = new ConcurrentHashMap<>();
+    // Incremented on each invalidation. Permissions loaded before invalidation are not cached.
+    private final AtomicLong generation = new AtomicLong();
+    private final long entryTtlMs;
+    private final AtomicLong nextPurgeTime = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CBPermissionsCache() {
+        this(DEFAULT_ENTRY_TTL_MS);
+    }
+
+    public CBPermissionsCache(long entryTtlMs) {
+        this.entryTtlMs = entryTtlMs;
+    }
+
+    @NotNull
+    public Set<String> getUserPermissions(@NotNull String userId, @NotNull Loader<Set<String>> loader) throws DBException {
+        return new HashSet<>(getCached(userPermissions, userId, () -> Set.copyOf(loader.load())));
+    }
+
+    @NotNull
+    public Set<String> getSubjectPermissions(@NotNull String subjectId, @NotNull Loader<Set<String>> loader) throws DBException {
+        return new HashSet<>(getCached(subjectPermissions, subjectId, () -> Set.copyOf(loader.load())));
+    }
+
+    /**
+     * Returns effective permissions of the subject on all objects of the given type.
+     * Returned map and sets are read-only.
+     */
+    @NotNull
+    public Map<String, Set<String>> getObjectPermissions(
+        @NotNull String subjectId,
+        @NotNull SMObjectType objectType,
+        @NotNull Loader<Map<String, Set<String>>> loader
+    ) throws DBException {
+        return getCached(objectPermissions, new ObjectPermissionsKey(subjectId, objectType), () -> {
+            Map<String, Set<String>> permissions = new LinkedHashMap<>();
+            loader.load().forEach((objectId, objectPermissions) -> permissions.put(objectId, Set.copyOf(objectPermissions)));
+            return Collections.unmodifiableMap(permissions);
+        });
+    }
+
+    /**
+     * Invalidates permissions of the subject. Team change invalidates permissions of all users,
+     * unknown subject type invalidates the whole cache.
+     */
+    public void invalidateSubject(@NotNull String subjectId, @Nullable SMSubjectType subjectType) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        if (subjectType == SMSubjectType.user) {
+            userPermissions.remove(subjectId);
+            subjectPermissions.remove(subjectId);
+            objectPermissions.keySet().removeIf(key -> key.subjectId.equals(subjectId));
+        } else if (subjectType == SMSubjectType.team) {
+            subjectPermissions.remove(subjectId);
+            userPermissions.clear();
+            objectPermissions.clear();
+        } else {
+            subjectPermissions.clear();
+            userPermissions.clear();
+            objectPermissions.clear();
+        }
+    }
+
+    /**
+     * Invalidates permissions on objects of the given type for all subjects.
+     */
+    public void invalidateObjectPermissions(@NotNull SMObjectType objectType) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        objectPermissions.keySet().removeIf(key -> key.objectType == objectType);
+    }
+
+    public void invalidateAll() {
+        invalidateSubject("", null);
+    }
+
+    public void getStatusInfo(@NotNull Map<String, Object> infoMap) {
+        infoMap.put("permissionsCache.users", userPermissions.size());
+        infoMap.put("permissionsCache.subjects", subjectPermissions.size());
+        infoMap.put("permissionsCache.objectSubjects", objectPermissions.size());
+        infoMap.put("permissionsCache.hits", hits.sum());
+        infoMap.put("permissionsCache.misses", misses.sum());
+        infoMap.put("permissionsCache.invalidations", invalidations.sum());
+    }
+
+    @NotNull
+    private <K, V> V getCached(
+        @NotNull Map<K, CacheEntry<V>> cache,
+        @NotNull K key,
+        @NotNull Loader<V> loader
+    ) throws DBException {
+        long currentTime = System.currentTimeMillis();
+        CacheEntry<V> entry = cache.get(key);
+        if (entry != null && !entry.isExpired(currentTime)) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        purgeExpiredEntries(currentTime);
+        long loadGeneration = generation.get();
+        V value = loader.load();
+        if (generation.get() == loadGeneration) {
+            CacheEntry<V> newEntry = new CacheEntry<>(value, System.currentTimeMillis() + entryTtlMs);
+            cache.put(key, newEntry);
+            if (generation.get() != loadGeneration) {
+                // Invalidated concurrently
+                cache.remove(key, newEntry);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes expired entries of subjects which are not requested anymore (deleted users, closed sessions).
+     */
+    private void purgeExpiredEntries(long currentTime) {
+        long purgeTime = nextPurgeTime.get();
+        if (currentTime < purgeTime || !nextPurgeTime.compareAndSet(purgeTime, currentTime + entryTtlMs)) {
+            return;
+        }
+        userPermissions.values().removeIf(entry -> entry.isExpired(currentTime));
+        subjectPermissions.values().removeIf(entry -> entry.isExpired(currentTime));
+        objectPermissions.values().removeIf(entry -> entry.isExpired(currentTime));
+    }
+}
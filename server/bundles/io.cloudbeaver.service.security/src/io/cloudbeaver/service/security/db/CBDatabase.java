@@ -24,6 +24,7 @@ import io.cloudbeaver.model.app.ServletApplication;
 import io.cloudbeaver.model.config.WebDatabaseConfig;
 import io.cloudbeaver.registry.WebAuthProviderDescriptor;
 import io.cloudbeaver.registry.WebAuthProviderRegistry;
+import io.cloudbeaver.service.security.CBPermissionsCache;
 import io.cloudbeaver.utils.ServletAppUtils;
 import org.apache.commons.dbcp2.*;
 import org.apache.commons.pool2.impl.GenericObjectPool;
@@ -64,6 +65,7 @@ import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -83,11 +85,18 @@ public class CBDatabase {
     private static final String V1_DB_NAME = "cb.h2.dat";
     private static final String V2_DB_NAME = "cb.h2v2.dat";
 
+    private static final int MAX_NORMALIZED_QUERIES = 1000;
+
     private final ServletApplication application;
     private final WebDatabaseConfig databaseConfiguration;
     private PoolingDataSource<PoolableConnection> cbDataSource;
+    private DriverConnectionFactory connectionFactory;
     private transient volatile Connection exclusiveConnection;
 
+    private final CBPermissionsCache permissionsCache = new CBPermissionsCache();
+    // Constant query templates with normalized table names. Dynamic queries normalize their constant parts only.
+    private final Map<String, String> normalizedQueries = new ConcurrentHashMap<>();
+
     private String instanceId;
     private SMAdminController adminSecurityController;
     private SQLDialect dialect;
@@ -105,6 +114,11 @@ public class CBDatabase {
         return instanceId;
     }
 
+    @NotNull
+    public CBPermissionsCache getPermissionsCache() {
+        return permissionsCache;
+    }
+
     public Connection openConnection() throws SQLException {
         if (exclusiveConnection != null) {
             return exclusiveConnection;
@@ -247,9 +261,27 @@ public class CBDatabase {
     ) throws SQLException, DBException {
         // Create connection pool with custom connection factory
         log.debug("\tInitiate connection pool with management database (" + driver.getFullName() + "; " + dbURL + ")");
-        DriverConnectionFactory conFactory = new DriverConnectionFactory(driverInstance, dbURL, dbProperties);
-        PoolableConnectionFactory pcf = new PoolableConnectionFactory(conFactory, null);
+        connectionFactory = new DriverConnectionFactory(driverInstance, dbURL, dbProperties);
+        return createConnectionPool(databaseConfiguration.getPool().getMaxCachedStatements());
+    }
+
+    /**
+     * Creates a new pool of connections to the management database.
+     *
+     * @param maxCachedStatements max number of cached prepared statements per connection, 0 disables statements pooling
+     */
+    @NotNull
+    public PoolingDataSource<PoolableConnection> createConnectionPool(int maxCachedStatements) throws DBException {
+        if (connectionFactory == null) {
+            throw new DBException("Management database is not initialized");
+        }
+        PoolableConnectionFactory pcf = new PoolableConnectionFactory(connectionFactory, null);
         pcf.setValidationQuery(databaseConfiguration.getPool().getValidationQuery());
+        if (maxCachedStatements > 0) {
+            // Security queries are the same few statements, reuse them on pooled connections
+            pcf.setPoolStatements(true);
+            pcf.setMaxOpenPreparedStatements(maxCachedStatements);
+        }
 
         GenericObjectPoolConfig<PoolableConnection> config = new GenericObjectPoolConfig<>();
         config.setMinIdle(databaseConfiguration.getPool().getMinIdleConnections());
@@ -582,7 +614,15 @@ public class CBDatabase {
      */
     @NotNull
     public String normalizeTableNames(@NotNull String sql) {
-        return CommonUtils.normalizeTableNames(sql, databaseConfiguration.getSchema());
+        String normalizedSql = normalizedQueries.get(sql);
+        if (normalizedSql == null) {
+            normalizedSql = CommonUtils.normalizeTableNames(sql, databaseConfiguration.getSchema());
+            // Protection against templates built from variable data
+            if (normalizedQueries.size() < MAX_NORMALIZED_QUERIES) {
+                normalizedQueries.put(sql, normalizedSql);
+            }
+        }
+        return normalizedSql;
     }
 
     @NotNull
@@ -36,6 +36,7 @@ public class DBConfigurationUtils {
     static final String PARAM_DB_POOL_MAX_IDLE_CONNECTIONS_CONFIGURATION = "maxIdleConnections";
     static final String PARAM_DB_POOL_MAX_CONNECTIONS_CONFIGURATION = "maxConnections";
     static final String PARAM_DB_POOL_VALIDATION_QUERY_CONFIGURATION = "validationQuery";
+    static final String PARAM_DB_POOL_MAX_CACHED_STATEMENTS_CONFIGURATION = "maxCachedStatements";
 
     public static Map<String, Object> databaseConfigToMap(@Nullable WebDatabaseConfig databaseConfiguration) {
         Map<String, Object> res = new LinkedHashMap<>();
@@ -74,13 +75,14 @@ public class DBConfigurationUtils {
         if (databaseConfiguration == null) {
             return res;
         }
-        WebDatabaseConfig.Pool pool = databaseConfiguration.getPool();
+        WebDatabaseConfig.WebPool pool = databaseConfiguration.getPool();
         if (pool == null) {
             return res;
         } else {
             res.put(PARAM_DB_POOL_MIN_IDLE_CONNECTIONS_CONFIGURATION, pool.getMinIdleConnections());
             res.put(PARAM_DB_POOL_MAX_IDLE_CONNECTIONS_CONFIGURATION, pool.getMaxIdleConnections());
             res.put(PARAM_DB_POOL_MAX_CONNECTIONS_CONFIGURATION, pool.getMaxConnections());
+            res.put(PARAM_DB_POOL_MAX_CACHED_STATEMENTS_CONFIGURATION, pool.getMaxCachedStatements());
             res.computeIfAbsent(
                 PARAM_DB_POOL_VALIDATION_QUERY_CONFIGURATION,
                 v -> pool.getValidationQuery()
@@ -34,13 +34,18 @@ import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.net.CookieManager;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -175,6 +180,59 @@ public class RMNIOTest {
         Assert.assertNull(rm.getResource(testProject.getId(), script));
     }
 
+    @Test
+    public void testWalkUsesListingAttributes() throws IOException, DBException {
+        RMController rm = Mockito.spy(webSession.getRmController());
+        RMNIOFileSystemProvider provider = new RMNIOFileSystemProvider(rm);
+        RMPath rootPath = (RMPath) provider.getPath(getProjectUri());
+        String folder = "walk_folder_" + SecurityUtils.generateUniqueId();
+        String script = folder + "/script.sql";
+        rm.createResource(testProject.getId(), folder, true);
+        rm.setResourceContents(testProject.getId(), script, "select 1".getBytes(StandardCharsets.UTF_8), false);
+
+        Map<String, Long> sizes;
+        try (Stream<Path> walk = Files.walk(rootPath.resolve(folder))) {
+            sizes = walk
+                .filter(Files::isRegularFile)
+                .collect(Collectors.toMap(path -> ((RMPath) path).getResourcePath(), path -> {
+                    try {
+                        return Files.size(path);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+        }
+        Assert.assertEquals(Map.of(script, 8L), sizes);
+        // only the walk start path is read separately
+        Mockito.verify(rm, Mockito.times(1)).getResource(Mockito.any(), Mockito.any());
+
+        rm.deleteResource(testProject.getId(), folder, true);
+    }
+
+    @Test
+    public void testResourceChannel() throws IOException, DBException {
+        RMPath rootPath = (RMPath) rmFsProvider.getPath(getProjectUri());
+        RMController rm = webSession.getRmController();
+        String script = "test_script_" + SecurityUtils.generateUniqueId() + ".sql";
+        RMPath scriptPath = (RMPath) rootPath.resolve(script);
+
+        Files.writeString(scriptPath, "select 1;");
+        Files.writeString(scriptPath, "select 2;", StandardOpenOption.APPEND);
+        Assert.assertEquals("select 1;select 2;", new String(rm.getResourceContents(testProject.getId(), script)));
+
+        //ranged read
+        try (SeekableByteChannel channel = Files.newByteChannel(scriptPath)) {
+            Assert.assertEquals(18, channel.size());
+            channel.position(9);
+            ByteBuffer buffer = ByteBuffer.allocate(6);
+            Assert.assertEquals(6, channel.read(buffer));
+            Assert.assertEquals("select", new String(buffer.array(), StandardCharsets.UTF_8));
+        }
+
+        Files.delete(scriptPath);
+        Assert.assertFalse(Files.exists(scriptPath));
+    }
+
 
     private URI getProjectUri() {
         return URI.create("rm://" + testProject.getId());
@@ -25,17 +25,19 @@ import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class RMLockTest {
     private static final Log log = Log.getLog(RMLockTest.class);
     private final String project1 = "s_fakeProject1";
     private final String project2 = "s_fakeProject2";
+    private static final int THREAD_COUNT = 8;
+    private static final int LOCKS_PER_THREAD = 20;
     private final ExecutorService executor = Executors.newFixedThreadPool(2);
 
     @Test
@@ -189,7 +191,7 @@ public class RMLockTest {
             try {
                 try (var lock = lockController2.lockProject(project1, "testForceUnlock2")) {
                     Assert.assertTrue("Project1 not locket by thread1", isLockedByThread1.get());
-                    Mockito.verify(lockController2, Mockito.atLeast(5)).isLocked(Mockito.any());
+                    Mockito.verify(lockController2, Mockito.atLeastOnce()).forceUnlock(Mockito.any());
                     thread1CDL.countDown();
                 }
             } catch (Throwable e) {
@@ -208,4 +210,62 @@ public class RMLockTest {
         }
         Assert.assertFalse(lockController2.isProjectLocked(project1));
     }
+
+    @Test
+    public void testSameNodeContention() throws Throwable {
+        var lockController = new TestLockController(CEAppStarter.getTestApp());
+        ExecutorService contentionExecutor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            // lock of another project must not wait for the contended project
+            CountDownLatch project1Locked = new CountDownLatch(1);
+            CountDownLatch project1Release = new CountDownLatch(1);
+            Future<?> holder = contentionExecutor.submit(() -> {
+                try (var lock = lockController.lockProject(project1, "testSameNodeContentionHolder")) {
+                    project1Locked.countDown();
+                    project1Release.await(1, TimeUnit.MINUTES);
+                }
+                return null;
+            });
+            Assert.assertTrue(project1Locked.await(1, TimeUnit.MINUTES));
+            Future<?> waiter = contentionExecutor.submit(() -> {
+                try (var lock = lockController.lockProject(project1, "testSameNodeContentionWaiter")) {
+                    return null;
+                }
+            });
+            Assert.assertTrue(lockController.isProjectLocked(project1));
+            Assert.assertNull(lockController.lockIfNotLocked(project1, "testSameNodeContentionChild"));
+            try (var lock = contentionExecutor.submit(
+                () -> lockController.lockProject(project2, "testSameNodeContentionOther")
+            ).get(10, TimeUnit.SECONDS)) {
+                Assert.assertFalse("Project1 lock acquired before release", waiter.isDone());
+            }
+            project1Release.countDown();
+            holder.get(1, TimeUnit.MINUTES);
+            waiter.get(1, TimeUnit.MINUTES);
+
+            // operations of the same project are executed one by one
+            AtomicInteger activeOperations = new AtomicInteger();
+            AtomicInteger maxActiveOperations = new AtomicInteger();
+            List<Future<?>> operations = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                operations.add(contentionExecutor.submit(() -> {
+                    for (int j = 0; j < LOCKS_PER_THREAD; j++) {
+                        try (var lock = lockController.lockProject(project1, "testSameNodeContention")) {
+                            maxActiveOperations.accumulateAndGet(activeOperations.incrementAndGet(), Math::max);
+                            activeOperations.decrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> operation : operations) {
+                operation.get(1, TimeUnit.MINUTES);
+            }
+            Assert.assertEquals(1, maxActiveOperations.get());
+        } finally {
+            contentionExecutor.shutdownNow();
+        }
+        Assert.assertFalse(lockController.isProjectLocked(project1));
+        Assert.assertFalse(lockController.isProjectLocked(project2));
+    }
 }
@@ -0,0 +1,151 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.session;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class WebAsyncTaskSchedulerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final List<String> executedTasks = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void testQueuesAreServedRoundRobin() throws Exception {
+        WebAsyncTaskScheduler scheduler = new WebAsyncTaskScheduler("test", () -> 1, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        List<TestJob> jobs = List.of(
+            submit(scheduler, "a", new TestJob(scheduler, "blocker", release)),
+            submit(scheduler, "a", new TestJob(scheduler, "a1", null)),
+            submit(scheduler, "a", new TestJob(scheduler, "a2", null)),
+            submit(scheduler, "a", new TestJob(scheduler, "a3", null)),
+            submit(scheduler, "b", new TestJob(scheduler, "b1", null))
+        );
+        Assert.assertEquals(4, getStatus(scheduler).get("test.queued"));
+
+        release.countDown();
+        for (TestJob job : jobs) {
+            job.waitFinished();
+        }
+        // The second user doesn't wait for all tasks of the first one
+        Assert.assertEquals(List.of("blocker", "a1", "b1", "a2", "a3"), executedTasks);
+        Map<String, Object> status = getStatus(scheduler);
+        Assert.assertEquals(0, status.get("test.running"));
+        Assert.assertEquals(0, status.get("test.queued"));
+        Assert.assertEquals(0, status.get("test.queuedUsers"));
+    }
+
+    @Test
+    public void testQueuedTaskCancel() throws Exception {
+        WebAsyncTaskScheduler scheduler = new WebAsyncTaskScheduler("test", () -> 1, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        TestJob blocker = submit(scheduler, "a", new TestJob(scheduler, "blocker", release));
+        TestJob queued = submit(scheduler, "b", new TestJob(scheduler, "queued", null));
+
+        Assert.assertTrue(scheduler.cancel(queued));
+        // Running task is not in the queue, it is canceled as a regular job
+        Assert.assertFalse(scheduler.cancel(blocker));
+        Assert.assertEquals(0, getStatus(scheduler).get("test.queued"));
+
+        release.countDown();
+        blocker.waitFinished();
+        TestJob next = submit(scheduler, "b", new TestJob(scheduler, "next", null));
+        next.waitFinished();
+
+        Assert.assertEquals(List.of("blocker", "next"), executedTasks);
+        Assert.assertEquals(0, getStatus(scheduler).get("test.running"));
+    }
+
+    @Test
+    public void testFullQueueRejectsTasks() throws Exception {
+        WebAsyncTaskScheduler scheduler = new WebAsyncTaskScheduler("test", () -> 1, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        TestJob blocker = new TestJob(scheduler, "blocker", release);
+        TestJob a1 = new TestJob(scheduler, "a1", null);
+        TestJob a2 = new TestJob(scheduler, "a2", null);
+        TestJob b1 = new TestJob(scheduler, "b1", null);
+        Assert.assertTrue(scheduler.submit("a", blocker));
+        Assert.assertTrue(scheduler.submit("a", a1));
+        Assert.assertTrue(scheduler.submit("a", a2));
+        Assert.assertFalse(scheduler.submit("a", new TestJob(scheduler, "a3", null)));
+        // Queue limit is per user
+        Assert.assertTrue(scheduler.submit("b", b1));
+        Assert.assertEquals(1L, getStatus(scheduler).get("test.rejected"));
+
+        release.countDown();
+        for (TestJob job : List.of(blocker, a1, a2, b1)) {
+            job.waitFinished();
+        }
+        Assert.assertEquals(List.of("blocker", "a1", "b1", "a2"), executedTasks);
+    }
+
+    private static TestJob submit(WebAsyncTaskScheduler scheduler, String queueKey, TestJob job) {
+        Assert.assertTrue(scheduler.submit(queueKey, job));
+        return job;
+    }
+
+    private static Map<String, Object> getStatus(WebAsyncTaskScheduler scheduler) {
+        Map<String, Object> status = new HashMap<>();
+        scheduler.getStatusInfo(status);
+        return status;
+    }
+
+    private class TestJob extends AbstractJob {
+        private final CountDownLatch release;
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        TestJob(WebAsyncTaskScheduler scheduler, String name, CountDownLatch release) {
+            super(name);
+            this.release = release;
+            addJobChangeListener(new JobChangeAdapter() {
+                @Override
+                public void done(IJobChangeEvent event) {
+                    scheduler.taskFinished();
+                    finished.countDown();
+                }
+            });
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            executedTasks.add(getName());
+            if (release != null) {
+                try {
+                    release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Status.OK_STATUS;
+        }
+
+        void waitFinished() throws InterruptedException {
+            Assert.assertTrue("Task " + getName() + " not finished", finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+}
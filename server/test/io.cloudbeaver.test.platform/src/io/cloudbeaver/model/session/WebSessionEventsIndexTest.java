@@ -0,0 +1,131 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.session;
+
+import org.jkiss.dbeaver.model.websocket.event.MessageType;
+import org.jkiss.dbeaver.model.websocket.event.WSEvent;
+import org.jkiss.dbeaver.model.websocket.event.WSSessionLogUpdatedEvent;
+import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceEvent;
+import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceProperty;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+
+public class WebSessionEventsIndexTest {
+
+    private static final String PROJECT_ID = "test-project";
+    private static final String OTHER_PROJECT_ID = "test-other-project";
+    private static final String OTHER_TOPIC = "test-other-topic";
+    // Number of sessions which make one side of the topic/project intersection larger than the other
+    private static final int EXTRA_SESSION_COUNT = 10;
+
+    private final WebSessionEventsIndex index = WebSessionEventsIndex.getInstance();
+    private final List<BaseWebSession> indexedSessions = new ArrayList<>();
+
+    @After
+    public void removeSessions() {
+        for (BaseWebSession session : indexedSessions) {
+            index.removeSession(session);
+        }
+    }
+
+    @Test
+    public void testTopicAndProjectIntersection() {
+        WSEvent event = WSDataSourceEvent.create("test-sm-session", "test", PROJECT_ID, List.of("test-ds"), WSDataSourceProperty.CONFIGURATION);
+        String topic = event.getTopicId();
+        Set<BaseWebSession> expected = Set.of(
+            addSession(Set.of(), Set.of()),
+            addSession(Set.of(topic), Set.of()),
+            addSession(Set.of(), Set.of(PROJECT_ID)),
+            addSession(Set.of(topic, OTHER_TOPIC), Set.of(PROJECT_ID, OTHER_PROJECT_ID))
+        );
+        Set<BaseWebSession> notExpected = Set.of(
+            addSession(Set.of(topic), Set.of(OTHER_PROJECT_ID)),
+            addSession(Set.of(OTHER_TOPIC), Set.of(PROJECT_ID)),
+            addSession(Set.of(OTHER_TOPIC), Set.of())
+        );
+        assertSubscribers(event, expected, notExpected);
+
+        // More topic subscribers: project subscribers are iterated
+        Set<BaseWebSession> topicSubscribers = new HashSet<>(notExpected);
+        for (int i = 0; i < EXTRA_SESSION_COUNT; i++) {
+            topicSubscribers.add(addSession(Set.of(topic), Set.of(OTHER_PROJECT_ID)));
+        }
+        assertSubscribers(event, expected, topicSubscribers);
+
+        // More project subscribers: topic subscribers are iterated
+        Set<BaseWebSession> projectSubscribers = new HashSet<>(topicSubscribers);
+        for (int i = 0; i < EXTRA_SESSION_COUNT * 2; i++) {
+            projectSubscribers.add(addSession(Set.of(OTHER_TOPIC), Set.of(PROJECT_ID)));
+        }
+        assertSubscribers(event, expected, projectSubscribers);
+    }
+
+    @Test
+    public void testEventWithoutProject() {
+        WSEvent event = new WSSessionLogUpdatedEvent("test-sm-session", "test", MessageType.INFO, "test message");
+        String topic = event.getTopicId();
+        Set<BaseWebSession> expected = Set.of(
+            addSession(Set.of(), Set.of()),
+            addSession(Set.of(topic), Set.of(OTHER_PROJECT_ID)),
+            // Project subscription doesn't filter events without project
+            addSession(Set.of(), Set.of(PROJECT_ID))
+        );
+        Set<BaseWebSession> notExpected = Set.of(
+            addSession(Set.of(OTHER_TOPIC), Set.of())
+        );
+        assertSubscribers(event, expected, notExpected);
+    }
+
+    @Test
+    public void testSubscriptionUpdateAndRemove() {
+        WSEvent event = WSDataSourceEvent.create("test-sm-session", "test", PROJECT_ID, List.of("test-ds"), WSDataSourceProperty.CONFIGURATION);
+        BaseWebSession session = addSession(Set.of(event.getTopicId()), Set.of(OTHER_PROJECT_ID));
+        assertSubscribers(event, Set.of(), Set.of(session));
+
+        index.updateSession(session, Set.of(event.getTopicId()), Set.of(PROJECT_ID));
+        assertSubscribers(event, Set.of(session), Set.of());
+
+        index.removeSession(session);
+        assertSubscribers(event, Set.of(), Set.of(session));
+    }
+
+    private BaseWebSession addSession(Set<String> topics, Set<String> projectIds) {
+        BaseWebSession session = Mockito.mock(BaseWebSession.class);
+        index.updateSession(session, topics, projectIds);
+        indexedSessions.add(session);
+        return session;
+    }
+
+    private void assertSubscribers(WSEvent event, Set<BaseWebSession> expected, Set<BaseWebSession> notExpected) {
+        List<BaseWebSession> subscribers = index.getSubscribedSessions(event);
+        // Index may also contain sessions of other tests
+        Set<BaseWebSession> testSubscribers = new HashSet<>(subscribers);
+        testSubscribers.retainAll(indexedSessions);
+        Assert.assertEquals(expected, testSubscribers);
+        Assert.assertEquals("Session returned twice", new HashSet<>(subscribers).size(), subscribers.size());
+        for (BaseWebSession session : expected) {
+            Assert.assertTrue(index.isSubscribed(session, event));
+        }
+        for (BaseWebSession session : notExpected) {
+            Assert.assertFalse(index.isSubscribed(session, event));
+        }
+    }
+}
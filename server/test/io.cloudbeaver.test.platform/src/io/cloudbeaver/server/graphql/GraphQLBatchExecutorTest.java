@@ -0,0 +1,138 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class GraphQLBatchExecutorTest {
+
+    private static final int OPERATION_COUNT = 20;
+
+    private static GraphQLBatchExecutor batchExecutor;
+
+    @BeforeClass
+    public static void createExecutor() {
+        batchExecutor = new GraphQLBatchExecutor();
+    }
+
+    @AfterClass
+    public static void shutdownExecutor() {
+        batchExecutor.shutdown();
+    }
+
+    @Test
+    public void testResultsOrder() {
+        List<Supplier<Map<String, Object>>> operations = new ArrayList<>();
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            int index = i;
+            operations.add(() -> {
+                // Earlier operations finish later
+                sleep((OPERATION_COUNT - index) * 5L);
+                return Map.of("data", index);
+            });
+        }
+        List<Map<String, Object>> results = batchExecutor.execute("test-order", operations);
+        Assert.assertEquals(OPERATION_COUNT, results.size());
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            Assert.assertEquals(i, results.get(i).get("data"));
+        }
+    }
+
+    @Test
+    public void testErrorIsolation() {
+        List<Supplier<Map<String, Object>>> operations = new ArrayList<>();
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            int index = i;
+            operations.add(() -> {
+                // Failures in pool threads and in the calling thread (the last operation)
+                if (index % 3 == 0 || index == OPERATION_COUNT - 1) {
+                    throw new IllegalStateException("Operation " + index + " failed");
+                }
+                return Map.of("data", index);
+            });
+        }
+        List<Map<String, Object>> results = batchExecutor.execute("test-errors", operations);
+        Assert.assertEquals(OPERATION_COUNT, results.size());
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            Map<String, Object> result = results.get(i);
+            if (i % 3 == 0 || i == OPERATION_COUNT - 1) {
+                Assert.assertNull(result.get("data"));
+                Assert.assertEquals(
+                    List.of(Map.of("message", "Operation " + i + " failed")),
+                    result.get("errors"));
+            } else {
+                Assert.assertEquals(i, result.get("data"));
+            }
+        }
+    }
+
+    @Test
+    public void testSessionThreadsLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Supplier<Map<String, Object>>> operations = new ArrayList<>();
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            operations.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(10);
+                running.decrementAndGet();
+                return Map.of();
+            });
+        }
+        batchExecutor.execute("test-limit", operations);
+        // Pool threads plus the calling thread
+        Assert.assertTrue(maxRunning.get() <= GraphQLBatchExecutor.MAX_SESSION_THREADS + 1);
+    }
+
+    @Test
+    public void testMutationsAreNotConcurrent() {
+        GraphQLDocumentCache documentCache = new GraphQLDocumentCache();
+        Assert.assertTrue(documentCache.isQueryOperation("{ serverConfig { version } }", null));
+        Assert.assertTrue(documentCache.isQueryOperation("query config { serverConfig { version } }", null));
+        // Keywords in names and string literals must not affect operation type
+        Assert.assertTrue(documentCache.isQueryOperation(
+            "query mutationLog { readLog(filter: \"after mutation\") { message } }", null));
+
+        Assert.assertFalse(documentCache.isQueryOperation("mutation { touchSession }", null));
+        Assert.assertFalse(documentCache.isQueryOperation("subscription events { events { id } }", null));
+
+        String document = "query config { serverConfig { version } } mutation touch { touchSession }";
+        Assert.assertTrue(documentCache.isQueryOperation(document, "config"));
+        Assert.assertFalse(documentCache.isQueryOperation(document, "touch"));
+        // Ambiguous and unknown operations are executed sequentially
+        Assert.assertFalse(documentCache.isQueryOperation(document, null));
+        Assert.assertFalse(documentCache.isQueryOperation(document, "unknown"));
+        Assert.assertFalse(documentCache.isQueryOperation("query { serverConfig {", null));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
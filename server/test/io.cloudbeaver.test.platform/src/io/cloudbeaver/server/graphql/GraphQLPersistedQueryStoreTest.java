@@ -0,0 +1,63 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Locale;
+
+public class GraphQLPersistedQueryStoreTest {
+
+    private static final String QUERY = "query serverConfig { serverConfig { name version } }";
+
+    @Test
+    public void testHashHit() {
+        GraphQLPersistedQueryStore store = new GraphQLPersistedQueryStore();
+        String hash = GraphQLDocumentCache.getQueryHash(QUERY);
+        Assert.assertTrue(store.registerQuery(hash, QUERY));
+        Assert.assertEquals(QUERY, store.getQuery(hash));
+        // Hex digits case doesn't matter
+        Assert.assertEquals(QUERY, store.getQuery(hash.toUpperCase(Locale.ROOT)));
+    }
+
+    @Test
+    public void testHashMiss() {
+        GraphQLPersistedQueryStore store = new GraphQLPersistedQueryStore();
+        String hash = GraphQLDocumentCache.getQueryHash(QUERY);
+        Assert.assertNull(store.getQuery(hash));
+
+        // Query which was only parsed is not persisted
+        GraphQLDocumentCache documentCache = new GraphQLDocumentCache();
+        Assert.assertTrue(documentCache.isQueryOperation(QUERY, null));
+        Assert.assertNull(store.getQuery(hash));
+    }
+
+    @Test
+    public void testHashMismatch() {
+        GraphQLPersistedQueryStore store = new GraphQLPersistedQueryStore();
+        String otherQuery = "query activeUser { activeUser { userId } }";
+        String otherHash = GraphQLDocumentCache.getQueryHash(otherQuery);
+        Assert.assertFalse(store.registerQuery(otherHash, QUERY));
+        // Neither query is registered under the wrong hash
+        Assert.assertNull(store.getQuery(otherHash));
+        Assert.assertNull(store.getQuery(GraphQLDocumentCache.getQueryHash(QUERY)));
+
+        Assert.assertTrue(store.registerQuery(otherHash, otherQuery));
+        Assert.assertEquals(otherQuery, store.getQuery(otherHash));
+    }
+}
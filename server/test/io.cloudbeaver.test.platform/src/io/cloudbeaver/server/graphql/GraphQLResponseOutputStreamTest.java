@@ -0,0 +1,177 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public class GraphQLResponseOutputStreamTest {
+
+    private static final int COMPRESS_THRESHOLD = 1024;
+
+    @Test
+    public void testNegotiateEncoding() {
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding(null));
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding(""));
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding("identity"));
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding("br"));
+
+        Assert.assertEquals("gzip", GraphQLResponseOutputStream.negotiateEncoding("gzip"));
+        Assert.assertEquals("gzip", GraphQLResponseOutputStream.negotiateEncoding("gzip, deflate, br"));
+        Assert.assertEquals("deflate", GraphQLResponseOutputStream.negotiateEncoding("deflate"));
+        Assert.assertEquals("deflate", GraphQLResponseOutputStream.negotiateEncoding("gzip;q=0.5, deflate"));
+    }
+
+    @Test
+    public void testNegotiateZeroQuality() {
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding("gzip;q=0"));
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding("gzip; q=0.0, identity"));
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding("gzip;q=0.000, deflate;q=0"));
+        Assert.assertEquals("deflate", GraphQLResponseOutputStream.negotiateEncoding("gzip;q=0, deflate"));
+        // Non-zero quality
+        Assert.assertEquals("gzip", GraphQLResponseOutputStream.negotiateEncoding("gzip;q=0.01"));
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding("gzip;q=bad"));
+    }
+
+    @Test
+    public void testNegotiateWildcard() {
+        Assert.assertEquals("gzip", GraphQLResponseOutputStream.negotiateEncoding("*"));
+        Assert.assertEquals("gzip", GraphQLResponseOutputStream.negotiateEncoding("identity, *;q=0.5"));
+        Assert.assertEquals("deflate", GraphQLResponseOutputStream.negotiateEncoding("*, gzip;q=0"));
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding("*;q=0"));
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding("br, *;q=0"));
+    }
+
+    @Test
+    public void testNegotiateMixedCase() {
+        Assert.assertEquals("gzip", GraphQLResponseOutputStream.negotiateEncoding("GZIP"));
+        Assert.assertEquals("deflate", GraphQLResponseOutputStream.negotiateEncoding("Deflate, GZip;Q=0"));
+        Assert.assertNull(GraphQLResponseOutputStream.negotiateEncoding("GZIP;Q=0"));
+    }
+
+    @Test
+    public void testResponseBelowThreshold() throws IOException {
+        byte[] data = makeData(COMPRESS_THRESHOLD);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HttpServletResponse response = mockResponse(output);
+
+        try (OutputStream out = new GraphQLResponseOutputStream(mockRequest("gzip"), response, COMPRESS_THRESHOLD)) {
+            out.write(data);
+        }
+
+        Mockito.verify(response, Mockito.never())
+            .setHeader(Mockito.eq(GraphQLResponseOutputStream.HEADER_CONTENT_ENCODING), Mockito.anyString());
+        Mockito.verify(response).setContentLength(data.length);
+        Mockito.verify(response).addHeader(GraphQLResponseOutputStream.HEADER_VARY, GraphQLResponseOutputStream.HEADER_ACCEPT_ENCODING);
+        Assert.assertArrayEquals(data, output.toByteArray());
+    }
+
+    @Test
+    public void testResponseAboveThreshold() throws IOException {
+        byte[] data = makeData(COMPRESS_THRESHOLD * 10);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HttpServletResponse response = mockResponse(output);
+        try (OutputStream out = new GraphQLResponseOutputStream(mockRequest("gzip, deflate"), response, COMPRESS_THRESHOLD)) {
+            // Small writes are buffered until the threshold is reached
+            out.write(data, 0, 10);
+            out.write(data[10]);
+            out.write(data, 11, data.length - 11);
+        }
+        Mockito.verify(response).setHeader(GraphQLResponseOutputStream.HEADER_CONTENT_ENCODING, "gzip");
+        Assert.assertTrue(output.size() < data.length);
+        Assert.assertArrayEquals(data, new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())).readAllBytes());
+
+        output = new ByteArrayOutputStream();
+        response = mockResponse(output);
+        try (OutputStream out = new GraphQLResponseOutputStream(mockRequest("deflate"), response, COMPRESS_THRESHOLD)) {
+            out.write(data);
+        }
+        Mockito.verify(response).setHeader(GraphQLResponseOutputStream.HEADER_CONTENT_ENCODING, "deflate");
+        Assert.assertArrayEquals(data, new InflaterInputStream(new ByteArrayInputStream(output.toByteArray())).readAllBytes());
+    }
+
+    @Test
+    public void testResponseWithoutCompression() throws IOException {
+        byte[] data = makeData(COMPRESS_THRESHOLD * 10);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HttpServletResponse response = mockResponse(output);
+
+        try (OutputStream out = new GraphQLResponseOutputStream(mockRequest("identity"), response, COMPRESS_THRESHOLD)) {
+            out.write(data);
+        }
+
+        Mockito.verify(response, Mockito.never())
+            .setHeader(Mockito.eq(GraphQLResponseOutputStream.HEADER_CONTENT_ENCODING), Mockito.anyString());
+        Mockito.verify(response, Mockito.never()).addHeader(Mockito.eq(GraphQLResponseOutputStream.HEADER_VARY), Mockito.anyString());
+        Assert.assertArrayEquals(data, output.toByteArray());
+    }
+
+    private static byte[] makeData(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; text.length() < length; i++) {
+            text.append("{\"id\":").append(i).append(",\"name\":\"connection\"},");
+        }
+        text.setLength(length);
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static HttpServletRequest mockRequest(String acceptEncoding) {
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getHeader(GraphQLResponseOutputStream.HEADER_ACCEPT_ENCODING)).thenReturn(acceptEncoding);
+        return request;
+    }
+
+    private static HttpServletResponse mockResponse(ByteArrayOutputStream output) throws IOException {
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        ServletOutputStream servletOutput = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                output.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                output.write(b, off, len);
+            }
+        };
+        Mockito.when(response.getOutputStream()).thenReturn(servletOutput);
+        return response;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.websockets;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.jkiss.dbeaver.model.websocket.event.MessageType;
+import org.jkiss.dbeaver.model.websocket.event.WSEvent;
+import org.jkiss.dbeaver.model.websocket.event.WSSessionLogUpdatedEvent;
+import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceEvent;
+import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceProperty;
+import org.jkiss.dbeaver.model.websocket.event.session.WSSessionStateEvent;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class CBAbstractWebSocketTest {
+
+    private Session session;
+    private TestWebSocket webSocket;
+    private final List<String> sentMessages = new ArrayList<>();
+    // Handlers of sends which are not completed yet
+    private final ArrayDeque<SendHandler> pendingSends = new ArrayDeque<>();
+    private boolean completeImmediately;
+
+    @Before
+    public void openSocket() {
+        RemoteEndpoint.Async remote = Mockito.mock(RemoteEndpoint.Async.class);
+        Mockito.doAnswer(invocation -> {
+            sentMessages.add(invocation.getArgument(0));
+            SendHandler handler = invocation.getArgument(1);
+            if (completeImmediately) {
+                handler.onResult(new SendResult());
+            } else {
+                pendingSends.add(handler);
+            }
+            return null;
+        }).when(remote).sendText(Mockito.anyString(), Mockito.any(SendHandler.class));
+        session = Mockito.mock(Session.class);
+        Mockito.when(session.isOpen()).thenReturn(true);
+        Mockito.when(session.getAsyncRemote()).thenReturn(remote);
+        webSocket = new TestWebSocket();
+        webSocket.onOpen(session, null);
+    }
+
+    @Test
+    public void testEventsOrder() {
+        completeImmediately = true;
+        List<WSEvent> events = List.of(dataSourceEvent(1), dataSourceEvent(2), dataSourceEvent(3));
+        for (WSEvent event : events) {
+            webSocket.handleEvent(event);
+        }
+        Assert.assertEquals(toMessages(events), sentMessages);
+
+        // Events queued while the client is slow keep their order
+        sentMessages.clear();
+        completeImmediately = false;
+        events = List.of(dataSourceEvent(4), dataSourceEvent(5), dataSourceEvent(6));
+        for (WSEvent event : events) {
+            webSocket.handleEvent(event);
+        }
+        Assert.assertEquals(1, sentMessages.size());
+        completeAllSends();
+        Assert.assertEquals(toMessages(events), sentMessages);
+    }
+
+    @Test
+    public void testStateEventsCoalescing() {
+        WSEvent inFlight = dataSourceEvent(1);
+        webSocket.handleEvent(inFlight);
+
+        WSEvent dataSourceEvent = dataSourceEvent(2);
+        WSEvent lastStateEvent = stateEvent(3000);
+        WSEvent lastLogEvent = logEvent("second");
+        webSocket.handleEvent(stateEvent(1000));
+        webSocket.handleEvent(logEvent("first"));
+        webSocket.handleEvent(dataSourceEvent);
+        webSocket.handleEvent(stateEvent(2000));
+        webSocket.handleEvent(lastStateEvent);
+        webSocket.handleEvent(lastLogEvent);
+        completeAllSends();
+
+        // Only the latest state and log events are sent, they are moved to the end of the queue
+        Assert.assertEquals(toMessages(List.of(inFlight, dataSourceEvent, lastStateEvent, lastLogEvent)), sentMessages);
+    }
+
+    @Test
+    public void testQueueOverflowClosesSocket() {
+        WSEvent inFlight = dataSourceEvent(0);
+        webSocket.handleEvent(inFlight);
+        for (int i = 1; i <= TestWebSocket.getMaxQueuedEvents(); i++) {
+            webSocket.handleEvent(dataSourceEvent(i));
+        }
+        Mockito.verify(session, Mockito.never()).close(Mockito.any(CloseReason.class));
+
+        webSocket.handleEvent(dataSourceEvent(-1));
+        Mockito.verify(session).close(Mockito.any(CloseReason.class));
+
+        // Queued events are dropped, new events are ignored
+        webSocket.handleEvent(dataSourceEvent(-2));
+        completeAllSends();
+        Assert.assertEquals(toMessages(List.of(inFlight)), sentMessages);
+    }
+
+    @Test
+    public void testCloseWaitsForQueueDrain() throws Exception {
+        List<WSEvent> events = List.of(dataSourceEvent(1), dataSourceEvent(2));
+        for (WSEvent event : events) {
+            webSocket.handleEvent(event);
+        }
+        webSocket.close();
+        Mockito.verify(session, Mockito.never()).close();
+
+        completeSend();
+        Assert.assertEquals(2, sentMessages.size());
+        Mockito.verify(session, Mockito.never()).close();
+
+        completeSend();
+        Mockito.verify(session).close();
+        Assert.assertEquals(toMessages(events), sentMessages);
+
+        // Socket without pending events is closed immediately
+        TestWebSocket idleSocket = new TestWebSocket();
+        Session idleSession = Mockito.mock(Session.class);
+        Mockito.when(idleSession.isOpen()).thenReturn(true);
+        idleSocket.onOpen(idleSession, null);
+        idleSocket.close();
+        Mockito.verify(idleSession).close();
+    }
+
+    private void completeSend() {
+        SendHandler handler = pendingSends.poll();
+        Assert.assertNotNull("No pending send", handler);
+        handler.onResult(new SendResult());
+    }
+
+    private void completeAllSends() {
+        while (!pendingSends.isEmpty()) {
+            completeSend();
+        }
+    }
+
+    private static List<String> toMessages(List<WSEvent> events) {
+        return events.stream().map(event -> CBEventMessage.forEvent(event).getText()).toList();
+    }
+
+    private static WSEvent dataSourceEvent(int index) {
+        return WSDataSourceEvent.create(
+            "test-sm-session", "test", "test-project", List.of("test-ds-" + index), WSDataSourceProperty.CONFIGURATION);
+    }
+
+    private static WSEvent stateEvent(long remainingTime) {
+        return new WSSessionStateEvent(0, remainingTime, true, false, "en", Map.of());
+    }
+
+    private static WSEvent logEvent(String message) {
+        return new WSSessionLogUpdatedEvent("test-sm-session", "test", MessageType.INFO, message);
+    }
+
+    private static class TestWebSocket extends CBAbstractWebSocket {
+        static int getMaxQueuedEvents() {
+            return MAX_QUEUED_EVENTS;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+public class WebDownloadUtilsTest {
+
+    private static final long FILE_SIZE = 1000;
+    private static final String ETAG = "\"3e8-18c\"";
+
+    @Test
+    public void testSingleRanges() {
+        assertRange(0, 99, WebDownloadUtils.parseRange("bytes=0-99", FILE_SIZE));
+        assertRange(500, 999, WebDownloadUtils.parseRange(" bytes=500-999 ", FILE_SIZE));
+        // End is limited by the file size
+        assertRange(900, 999, WebDownloadUtils.parseRange("bytes=900-5000", FILE_SIZE));
+    }
+
+    @Test
+    public void testOpenEndedRange() {
+        assertRange(100, 999, WebDownloadUtils.parseRange("bytes=100-", FILE_SIZE));
+        assertRange(999, 999, WebDownloadUtils.parseRange("bytes=999-", FILE_SIZE));
+    }
+
+    @Test
+    public void testSuffixRange() {
+        assertRange(900, 999, WebDownloadUtils.parseRange("bytes=-100", FILE_SIZE));
+        // Suffix longer than the file means the whole file
+        assertRange(0, 999, WebDownloadUtils.parseRange("bytes=-5000", FILE_SIZE));
+        Assert.assertNull(WebDownloadUtils.parseRange("bytes=-0", FILE_SIZE));
+    }
+
+    @Test
+    public void testUnsatisfiableRange() {
+        Assert.assertNull(WebDownloadUtils.parseRange("bytes=1000-", FILE_SIZE));
+        Assert.assertNull(WebDownloadUtils.parseRange("bytes=500-100", FILE_SIZE));
+    }
+
+    @Test
+    public void testMultipleRanges() {
+        // Multiple ranges are not supported, the whole file is sent
+        assertRange(0, 999, WebDownloadUtils.parseRange("bytes=0-99,200-299", FILE_SIZE));
+    }
+
+    @Test
+    public void testMalformedRange() {
+        assertRange(0, 999, WebDownloadUtils.parseRange("items=0-99", FILE_SIZE));
+        assertRange(0, 999, WebDownloadUtils.parseRange("bytes=100", FILE_SIZE));
+        assertRange(0, 999, WebDownloadUtils.parseRange("bytes=a-b", FILE_SIZE));
+        assertRange(0, 999, WebDownloadUtils.parseRange("bytes=-", FILE_SIZE));
+    }
+
+    @Test
+    public void testIfRange() {
+        long lastModified = Instant.parse("2025-01-15T10:20:30.456Z").toEpochMilli();
+        String lastModifiedDate = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+            ZonedDateTime.ofInstant(Instant.ofEpochMilli(lastModified), ZoneOffset.UTC));
+
+        Assert.assertTrue(WebDownloadUtils.isRangeValid(null, ETAG, lastModified));
+        Assert.assertTrue(WebDownloadUtils.isRangeValid(ETAG, ETAG, lastModified));
+        Assert.assertTrue(WebDownloadUtils.isRangeValid(lastModifiedDate, ETAG, lastModified));
+
+        // File was changed
+        Assert.assertFalse(WebDownloadUtils.isRangeValid("\"3e8-18d\"", ETAG, lastModified));
+        Assert.assertFalse(WebDownloadUtils.isRangeValid(lastModifiedDate, ETAG, lastModified + 1000));
+        // Weak tags can't be used
+        Assert.assertFalse(WebDownloadUtils.isRangeValid("W/" + ETAG, ETAG, lastModified));
+        // File version is unknown
+        Assert.assertFalse(WebDownloadUtils.isRangeValid(ETAG, null, lastModified));
+        Assert.assertFalse(WebDownloadUtils.isRangeValid("yesterday", ETAG, lastModified));
+    }
+
+    @Test
+    public void testCompleteDownload() throws Exception {
+        Path file = Files.createTempFile("download-test", ".bin");
+        try {
+            Files.writeString(file, "0123456789");
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            Assert.assertTrue(WebDownloadUtils.sendFile(mockRequest(null), mockResponse(content), file));
+            Assert.assertEquals("0123456789", content.toString(StandardCharsets.UTF_8));
+
+            // Range which ends at EOF doesn't complete the download
+            content.reset();
+            Assert.assertFalse(WebDownloadUtils.sendFile(mockRequest("bytes=5-"), mockResponse(content), file));
+            Assert.assertEquals("56789", content.toString(StandardCharsets.UTF_8));
+
+            // Range which covers the whole file does
+            content.reset();
+            Assert.assertTrue(WebDownloadUtils.sendFile(mockRequest("bytes=0-"), mockResponse(content), file));
+            Assert.assertEquals("0123456789", content.toString(StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testDeleteExpiredFiles() throws Exception {
+        Path folder = Files.createTempDirectory("download-test");
+        try {
+            Path oldFile = Files.writeString(folder.resolve("old.bin"), "old");
+            Files.setLastModifiedTime(oldFile, FileTime.fromMillis(System.currentTimeMillis() - 2 * 60 * 60 * 1000));
+            Path newFile = Files.writeString(folder.resolve("new.bin"), "new");
+
+            WebDownloadUtils.deleteExpiredFiles(folder, 60 * 60 * 1000);
+            Assert.assertFalse(Files.exists(oldFile));
+            Assert.assertTrue(Files.exists(newFile));
+        } finally {
+            try (var files = Files.list(folder)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(folder);
+        }
+    }
+
+    private static void assertRange(long start, long end, WebDownloadUtils.ByteRange range) {
+        Assert.assertNotNull(range);
+        Assert.assertEquals(start, range.start());
+        Assert.assertEquals(end, range.end());
+    }
+
+    private static HttpServletRequest mockRequest(String range) {
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getHeader("Range")).thenReturn(range);
+        return request;
+    }
+
+    private static HttpServletResponse mockResponse(ByteArrayOutputStream content) throws Exception {
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                content.write(b);
+            }
+        });
+        return response;
+    }
+}
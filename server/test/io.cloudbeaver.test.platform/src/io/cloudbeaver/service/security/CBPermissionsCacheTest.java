@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.security;
+
+import io.cloudbeaver.app.CEAppStarter;
+import io.cloudbeaver.auth.NoAuthCredentialsProvider;
+import io.cloudbeaver.service.security.db.CBDatabase;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.security.SMSubjectType;
+import org.jkiss.dbeaver.model.websocket.event.permissions.WSSubjectPermissionEvent;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks that cached permissions are reloaded right after they are changed.
+ */
+public class CBPermissionsCacheTest {
+
+    private static final String TEST_USER = "permissions_cache_user";
+    private static final String TEST_TEAM = "permissions_cache_team";
+    private static final String TEST_EMPTY_TEAM = "permissions_cache_empty_team";
+    private static final String GRANTOR = "test";
+    private static final String PERMISSION_A = "test-permission-a";
+    private static final String PERMISSION_B = "test-permission-b";
+    private static final long EVENT_TIMEOUT_MS = 10000;
+
+    private CBEmbeddedSecurityController<?> controller;
+
+    @Before
+    public void createSubjects() throws Exception {
+        CEAppStarter.startServerIfNotStarted();
+        controller = (CBEmbeddedSecurityController<?>) CEAppStarter.getTestApp()
+            .getAdminSecurityController(new NoAuthCredentialsProvider());
+        deleteSubjects();
+        controller.createUser(TEST_USER, Map.of(), true, null);
+        controller.createTeam(TEST_TEAM, TEST_TEAM, null, GRANTOR);
+        controller.setSubjectPermissions(TEST_TEAM, List.of(PERMISSION_A), GRANTOR);
+        controller.setUserTeams(TEST_USER, new String[]{TEST_TEAM}, GRANTOR);
+    }
+
+    @After
+    public void deleteSubjects() throws Exception {
+        if (controller.getUserById(TEST_USER) != null) {
+            controller.deleteUser(TEST_USER);
+        }
+        for (String teamId : List.of(TEST_TEAM, TEST_EMPTY_TEAM)) {
+            if (controller.findTeam(teamId) != null) {
+                controller.deleteTeam(teamId, true);
+            }
+        }
+    }
+
+    @Test
+    public void testSetSubjectPermissions() throws Exception {
+        Assert.assertEquals(Set.of(PERMISSION_A), controller.getSubjectPermissions(TEST_TEAM));
+        Assert.assertTrue(controller.getUserPermissions(TEST_USER).contains(PERMISSION_A));
+
+        controller.setSubjectPermissions(TEST_TEAM, List.of(PERMISSION_B), GRANTOR);
+        Assert.assertEquals(Set.of(PERMISSION_B), controller.getSubjectPermissions(TEST_TEAM));
+        Set<String> userPermissions = controller.getUserPermissions(TEST_USER);
+        Assert.assertTrue(userPermissions.contains(PERMISSION_B));
+        Assert.assertFalse(userPermissions.contains(PERMISSION_A));
+    }
+
+    @Test
+    public void testSetUserTeams() throws Exception {
+        Assert.assertTrue(controller.getUserPermissions(TEST_USER).contains(PERMISSION_A));
+
+        controller.setUserTeams(TEST_USER, new String[0], GRANTOR);
+        Assert.assertFalse(controller.getUserPermissions(TEST_USER).contains(PERMISSION_A));
+
+        controller.setUserTeams(TEST_USER, new String[]{TEST_TEAM}, GRANTOR);
+        Assert.assertTrue(controller.getUserPermissions(TEST_USER).contains(PERMISSION_A));
+    }
+
+    @Test
+    public void testDeleteUser() throws Exception {
+        controller.setSubjectPermissions(TEST_USER, List.of(PERMISSION_B), GRANTOR);
+        Assert.assertEquals(Set.of(PERMISSION_B), controller.getSubjectPermissions(TEST_USER));
+        Assert.assertTrue(controller.getUserPermissions(TEST_USER).contains(PERMISSION_A));
+
+        controller.deleteUser(TEST_USER);
+        Assert.assertTrue(controller.getSubjectPermissions(TEST_USER).isEmpty());
+        Assert.assertTrue(controller.getUserPermissions(TEST_USER).isEmpty());
+    }
+
+    @Test
+    public void testDeleteTeam() throws Exception {
+        Assert.assertTrue(controller.getUserPermissions(TEST_USER).contains(PERMISSION_A));
+        controller.deleteTeam(TEST_TEAM, true);
+        Assert.assertFalse(controller.getUserPermissions(TEST_USER).contains(PERMISSION_A));
+
+        // Team without members is deleted without permission events
+        controller.createTeam(TEST_EMPTY_TEAM, TEST_EMPTY_TEAM, null, GRANTOR);
+        controller.setSubjectPermissions(TEST_EMPTY_TEAM, List.of(PERMISSION_B), GRANTOR);
+        Assert.assertEquals(Set.of(PERMISSION_B), controller.getSubjectPermissions(TEST_EMPTY_TEAM));
+        controller.deleteTeam(TEST_EMPTY_TEAM, false);
+        Assert.assertTrue(controller.getSubjectPermissions(TEST_EMPTY_TEAM).isEmpty());
+    }
+
+    @Test
+    public void testRemotePermissionsEvent() throws Exception {
+        Assert.assertTrue(controller.getUserPermissions(TEST_USER).contains(PERMISSION_A));
+
+        // Permissions are changed on another node, only the event is received by this node
+        CBDatabase database = EmbeddedSecurityControllerFactory.getDbInstance();
+        Assert.assertNotNull(database);
+        try (Connection dbCon = database.openConnection()) {
+            JDBCUtils.executeStatement(
+                dbCon,
+                database.normalizeTableNames("DELETE FROM {table_prefix}CB_AUTH_PERMISSIONS WHERE SUBJECT_ID=?"),
+                TEST_TEAM
+            );
+        }
+        CEAppStarter.getTestApp().getEventController().addEvent(
+            WSSubjectPermissionEvent.update(null, GRANTOR, SMSubjectType.team, TEST_TEAM)
+        );
+
+        long endTime = System.currentTimeMillis() + EVENT_TIMEOUT_MS;
+        while (controller.getUserPermissions(TEST_USER).contains(PERMISSION_A) && System.currentTimeMillis() < endTime) {
+            Thread.sleep(50);
+        }
+        Assert.assertFalse(controller.getUserPermissions(TEST_USER).contains(PERMISSION_A));
+    }
+
+    @Test
+    public void testExpiredEntriesPurge() throws Exception {
+        CBPermissionsCache cache = new CBPermissionsCache(1);
+        for (int i = 0; i < 10; i++) {
+            cache.getUserPermissions("user" + i, () -> Set.of(PERMISSION_A));
+        }
+        Thread.sleep(10);
+        // Next load removes expired entries of users which are not requested anymore
+        cache.getUserPermissions("other-user", () -> Set.of(PERMISSION_A));
+
+        Map<String, Object> statusInfo = new HashMap<>();
+        cache.getStatusInfo(statusInfo);
+        Assert.assertEquals(1, statusInfo.get("permissionsCache.users"));
+    }
+}
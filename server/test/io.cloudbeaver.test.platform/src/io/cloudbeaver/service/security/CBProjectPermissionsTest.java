@@ -0,0 +1,137 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.security;
+
+import io.cloudbeaver.app.CEAppStarter;
+import io.cloudbeaver.auth.NoAuthCredentialsProvider;
+import io.cloudbeaver.model.rm.local.LocalResourceController;
+import org.jkiss.dbeaver.model.auth.SMCredentials;
+import org.jkiss.dbeaver.model.auth.SMCredentialsProvider;
+import org.jkiss.dbeaver.model.rm.RMController;
+import org.jkiss.dbeaver.model.rm.RMProject;
+import org.jkiss.dbeaver.model.rm.RMProjectPermission;
+import org.jkiss.dbeaver.model.rm.RMProjectType;
+import org.jkiss.dbeaver.model.rm.RMUtils;
+import org.jkiss.dbeaver.model.security.SMController;
+import org.jkiss.dbeaver.model.security.SMObjectType;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks that project access granted to a team is visible to team members right after the change,
+ * though effective object permissions are cached.
+ */
+public class CBProjectPermissionsTest {
+
+    private static final String TEST_USER = "project_permissions_user";
+    private static final String TEST_TEAM = "project_permissions_team";
+    private static final String TEST_PROJECT = "project_permissions_test";
+    private static final String GRANTOR = "test";
+
+    private final String projectId = RMProjectType.SHARED.getPrefix() + "_" + TEST_PROJECT;
+    private Path projectPath;
+    private CBEmbeddedSecurityController<?> adminController;
+    private RMController userResourceController;
+
+    @Before
+    public void createSubjects() throws Exception {
+        CEAppStarter.startServerIfNotStarted();
+        adminController = (CBEmbeddedSecurityController<?>) CEAppStarter.getTestApp()
+            .getAdminSecurityController(new NoAuthCredentialsProvider());
+        projectPath = RMUtils.getSharedProjectsPath().resolve(TEST_PROJECT);
+        deleteSubjects();
+        adminController.createUser(TEST_USER, Map.of(), true, null);
+        adminController.createTeam(TEST_TEAM, TEST_TEAM, null, GRANTOR);
+        adminController.setUserTeams(TEST_USER, new String[]{TEST_TEAM}, GRANTOR);
+        Files.createDirectories(projectPath);
+
+        SMCredentials userCredentials = new SMCredentials("test-token", TEST_USER, null, Set.of());
+        SMCredentialsProvider credentialsProvider = () -> userCredentials;
+        SMController userSecurityController = CEAppStarter.getTestApp().createSecurityController(credentialsProvider);
+        userResourceController = LocalResourceController.builder(
+            credentialsProvider,
+            DBWorkbench.getPlatform().getWorkspace(),
+            () -> userSecurityController
+        ).build();
+    }
+
+    @After
+    public void deleteSubjects() throws Exception {
+        adminController.deleteAllObjectPermissions(projectId, SMObjectType.project);
+        if (adminController.getUserById(TEST_USER) != null) {
+            adminController.deleteUser(TEST_USER);
+        }
+        if (adminController.findTeam(TEST_TEAM) != null) {
+            adminController.deleteTeam(TEST_TEAM, true);
+        }
+        if (Files.exists(projectPath)) {
+            IOUtils.deleteDirectory(projectPath);
+        }
+    }
+
+    @Test
+    public void testTeamProjectPermissions() throws Exception {
+        Assert.assertFalse(isProjectAccessible());
+
+        adminController.setObjectPermissions(
+            Set.of(projectId),
+            SMObjectType.project,
+            Set.of(TEST_TEAM),
+            Set.of(RMProjectPermission.DATA_SOURCES_VIEW.getPermissionId()),
+            GRANTOR
+        );
+        Assert.assertTrue(isProjectAccessible());
+
+        adminController.deleteObjectPermissions(
+            Set.of(projectId),
+            SMObjectType.project,
+            Set.of(TEST_TEAM),
+            Set.of(RMProjectPermission.DATA_SOURCES_VIEW.getPermissionId())
+        );
+        Assert.assertFalse(isProjectAccessible());
+
+        // Access granted to the team again
+        adminController.setObjectPermissions(
+            Set.of(projectId),
+            SMObjectType.project,
+            Set.of(TEST_TEAM),
+            Set.of(RMProjectPermission.DATA_SOURCES_VIEW.getPermissionId()),
+            GRANTOR
+        );
+        Assert.assertTrue(isProjectAccessible());
+
+        // User leaves the team
+        adminController.setUserTeams(TEST_USER, new String[0], GRANTOR);
+        Assert.assertFalse(isProjectAccessible());
+    }
+
+    private boolean isProjectAccessible() throws Exception {
+        return Arrays.stream(userResourceController.listAccessibleProjects())
+            .map(RMProject::getId)
+            .anyMatch(projectId::equals);
+    }
+}
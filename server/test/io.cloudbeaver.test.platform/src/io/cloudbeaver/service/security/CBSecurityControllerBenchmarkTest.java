@@ -0,0 +1,140 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.security;
+
+import io.cloudbeaver.app.CEAppStarter;
+import io.cloudbeaver.service.security.db.CBDatabase;
+import org.apache.commons.dbcp2.PoolableConnection;
+import org.apache.commons.dbcp2.PoolingDataSource;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.security.SMObjectType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures auth and permission queries of the embedded security controller
+ * with and without prepared statements pooling.
+ * Queries are executed on separate connection pools, the server pool is not affected.
+ * It is a manual benchmark, it is not a part of the test suite.
+ */
+public class CBSecurityControllerBenchmarkTest {
+    private static final Log log = Log.getLog(CBSecurityControllerBenchmarkTest.class);
+
+    private static final String TEST_USER = "test";
+    private static final int WARMUP_ITERATIONS = 100;
+    private static final int ITERATIONS = 1000;
+    private static final int MAX_CACHED_STATEMENTS = 100;
+
+    // Same queries as the security controller executes on user login and on permission checks
+    private static final String SQL_READ_USER =
+        "SELECT U.USER_ID,U.IS_ACTIVE,U.DEFAULT_AUTH_ROLE,S.IS_SECRET_STORAGE FROM " +
+            "{table_prefix}CB_USER U, {table_prefix}CB_AUTH_SUBJECT S " +
+            "WHERE U.USER_ID=? AND U.USER_ID=S.SUBJECT_ID";
+    private static final String SQL_READ_USER_TEAMS =
+        "SELECT TEAM_ID FROM {table_prefix}CB_USER_TEAM UR WHERE USER_ID=?";
+    private static final String SQL_READ_TEAM_PERMISSIONS =
+        "SELECT DISTINCT AP.PERMISSION_ID FROM {table_prefix}CB_AUTH_PERMISSIONS AP, {table_prefix}CB_USER_TEAM UR\n" +
+            "WHERE UR.TEAM_ID = AP.SUBJECT_ID AND UR.USER_ID=?";
+    private static final String SQL_READ_SUBJECT_PERMISSIONS =
+        "SELECT PERMISSION_ID FROM {table_prefix}CB_AUTH_PERMISSIONS WHERE SUBJECT_ID=?";
+    private static final String SQL_READ_OBJECT_PERMISSIONS =
+        "SELECT OBJECT_ID,PERMISSION FROM {table_prefix}CB_OBJECT_PERMISSIONS WHERE SUBJECT_ID IN (";
+
+    @Test
+    public void benchmarkStatementsPooling() throws Exception {
+        CEAppStarter.startServerIfNotStarted();
+        CBDatabase database = EmbeddedSecurityControllerFactory.getDbInstance();
+        Assert.assertNotNull(database);
+
+        long uncachedTime = measureLookups(database, 0);
+        long cachedTime = measureLookups(database, MAX_CACHED_STATEMENTS);
+
+        log.info("User auth and permission queries: maxCachedStatements=0 "
+            + TimeUnit.NANOSECONDS.toMicros(uncachedTime / ITERATIONS) + "us/op, maxCachedStatements="
+            + MAX_CACHED_STATEMENTS + " " + TimeUnit.NANOSECONDS.toMicros(cachedTime / ITERATIONS) + "us/op");
+    }
+
+    private static long measureLookups(CBDatabase database, int maxCachedStatements) throws Exception {
+        PoolingDataSource<PoolableConnection> pool = database.createConnectionPool(maxCachedStatements);
+        try {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                lookupUser(database, pool);
+            }
+            long startTime = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                lookupUser(database, pool);
+            }
+            return System.nanoTime() - startTime;
+        } finally {
+            pool.close();
+        }
+    }
+
+    private static void lookupUser(CBDatabase database, PoolingDataSource<PoolableConnection> pool) throws SQLException {
+        // Each lookup takes a connection from the pool, as the security controller does
+        try (Connection dbCon = pool.getConnection()) {
+            Assert.assertFalse(readStrings(database, dbCon, SQL_READ_USER, TEST_USER).isEmpty());
+        }
+        Set<String> subjects = new LinkedHashSet<>();
+        subjects.add(TEST_USER);
+        Set<String> permissions = new LinkedHashSet<>();
+        try (Connection dbCon = pool.getConnection()) {
+            subjects.addAll(readStrings(database, dbCon, SQL_READ_USER_TEAMS, TEST_USER));
+        }
+        try (Connection dbCon = pool.getConnection()) {
+            permissions.addAll(readStrings(database, dbCon, SQL_READ_TEAM_PERMISSIONS, TEST_USER));
+            permissions.addAll(readStrings(database, dbCon, SQL_READ_SUBJECT_PERMISSIONS, TEST_USER));
+        }
+        try (Connection dbCon = pool.getConnection()) {
+            StringBuilder sql = new StringBuilder(database.normalizeTableNames(SQL_READ_OBJECT_PERMISSIONS));
+            sql.append("?,".repeat(subjects.size() - 1)).append("?) AND OBJECT_TYPE=?");
+            try (PreparedStatement dbStat = dbCon.prepareStatement(sql.toString())) {
+                int index = 1;
+                for (String subject : subjects) {
+                    dbStat.setString(index++, subject);
+                }
+                dbStat.setString(index, SMObjectType.project.name());
+                try (ResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        permissions.add(dbResult.getString(2));
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> readStrings(CBDatabase database, Connection dbCon, String sql, String param) throws SQLException {
+        Set<String> result = new LinkedHashSet<>();
+        try (PreparedStatement dbStat = dbCon.prepareStatement(database.normalizeTableNames(sql))) {
+            dbStat.setString(1, param);
+            try (ResultSet dbResult = dbStat.executeQuery()) {
+                while (dbResult.next()) {
+                    result.add(dbResult.getString(1));
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.session;
+
+import io.cloudbeaver.DBWebException;
+import io.cloudbeaver.app.CEAppStarter;
+import io.cloudbeaver.model.session.WebHttpRequestInfo;
+import io.cloudbeaver.model.session.WebSession;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.jkiss.dbeaver.Log;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CBSessionManagerTest {
+    private static final Log log = Log.getLog(CBSessionManagerTest.class);
+
+    private static final int SESSION_COUNT = 1000;
+    private static final int THREAD_COUNT = 16;
+    private static final int LOOKUPS_PER_THREAD = 20000;
+    private static final int CONTENDED_SESSION_COUNT = 50;
+
+    @Test
+    public void testConcurrentSessionAccess() throws Throwable {
+        var sessionManager = new CBSessionManager(CEAppStarter.getTestApp());
+        List<HttpServletRequest> requests = new ArrayList<>(SESSION_COUNT);
+        for (int i = 0; i < SESSION_COUNT; i++) {
+            requests.add(mockRequest("test-session-" + i));
+        }
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        Map<String, WebSession> createdSessions = new ConcurrentHashMap<>();
+        AtomicReference<Throwable> exceptionReference = new AtomicReference<>();
+
+        // All threads request the same sessions, each session must be created only once
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch createLatch = new CountDownLatch(THREAD_COUNT);
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (HttpServletRequest request : requests) {
+                        WebSession webSession = sessionManager.getWebSession(request, response, false);
+                        WebSession prevSession = createdSessions.putIfAbsent(webSession.getSessionId(), webSession);
+                        Assert.assertTrue("Session created twice", prevSession == null || prevSession == webSession);
+                    }
+                } catch (Throwable e) {
+                    exceptionReference.compareAndSet(null, e);
+                } finally {
+                    createLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        Assert.assertTrue(createLatch.await(5, TimeUnit.MINUTES));
+        if (exceptionReference.get() != null) {
+            throw exceptionReference.get();
+        }
+        Assert.assertEquals(SESSION_COUNT, sessionManager.getAllActiveSessions().size());
+
+        // Lookups of existing sessions mixed with expiration checks
+        CountDownLatch lookupLatch = new CountDownLatch(THREAD_COUNT);
+        long startTime = System.currentTimeMillis();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            executor.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+                        HttpServletRequest request = requests.get(random.nextInt(SESSION_COUNT));
+                        Assert.assertNotNull(sessionManager.findWebSession(request));
+                        if (i % 1000 == 0) {
+                            sessionManager.expireIdleSessions();
+                        }
+                    }
+                } catch (Throwable e) {
+                    exceptionReference.compareAndSet(null, e);
+                } finally {
+                    lookupLatch.countDown();
+                }
+            });
+        }
+        Assert.assertTrue(lookupLatch.await(5, TimeUnit.MINUTES));
+        log.info(THREAD_COUNT * LOOKUPS_PER_THREAD + " session lookups in " + SESSION_COUNT + " sessions took "
+            + (System.currentTimeMillis() - startTime) + "ms");
+        executor.shutdown();
+        if (exceptionReference.get() != null) {
+            throw exceptionReference.get();
+        }
+
+        sessionManager.closeAllSessions(null);
+        Assert.assertTrue(sessionManager.getAllActiveSessions().isEmpty());
+        sessionManager.dispose();
+    }
+
+    /**
+     * Session creation which fails or returns nothing must not let other threads create the same session twice.
+     */
+    @Test
+    public void testConcurrentSessionCreateFailures() throws Throwable {
+        var sessionManager = new CBSessionManager(CEAppStarter.getTestApp());
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        List<Set<WebSession>> createdSessions = new ArrayList<>(CONTENDED_SESSION_COUNT);
+        List<HttpServletRequest> requests = new ArrayList<>(CONTENDED_SESSION_COUNT);
+        for (int i = 0; i < CONTENDED_SESSION_COUNT; i++) {
+            // Not new http session: creation fails if session can't be restored and error is requested
+            requests.add(mockRequest("test-contended-session-" + i, false));
+            createdSessions.add(ConcurrentHashMap.newKeySet());
+        }
+        AtomicReference<Throwable> exceptionReference = new AtomicReference<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch finishLatch = new CountDownLatch(THREAD_COUNT);
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            int threadIndex = t;
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (int i = 0; i < CONTENDED_SESSION_COUNT; i++) {
+                        HttpServletRequest request = requests.get(i);
+                        WebSession webSession = null;
+                        switch ((threadIndex + i) % 3) {
+                            case 0 -> webSession = sessionManager.getWebSession(request, response, false);
+                            case 1 -> {
+                                try {
+                                    webSession = sessionManager.getWebSession(request, response, true);
+                                } catch (DBWebException e) {
+                                    // Session has expired
+                                }
+                            }
+                            default -> webSession = sessionManager.getOrRestoreWebSession(new WebHttpRequestInfo(request));
+                        }
+                        if (webSession != null) {
+                            createdSessions.get(i).add(webSession);
+                        }
+                    }
+                } catch (Throwable e) {
+                    exceptionReference.compareAndSet(null, e);
+                } finally {
+                    finishLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        Assert.assertTrue(finishLatch.await(5, TimeUnit.MINUTES));
+        executor.shutdown();
+        if (exceptionReference.get() != null) {
+            throw exceptionReference.get();
+        }
+        for (int i = 0; i < CONTENDED_SESSION_COUNT; i++) {
+            Set<WebSession> sessions = createdSessions.get(i);
+            Assert.assertEquals("Session created twice", 1, sessions.size());
+            Assert.assertSame(
+                sessions.iterator().next(),
+                sessionManager.findWebSession(requests.get(i)));
+        }
+        Assert.assertEquals(CONTENDED_SESSION_COUNT, sessionManager.getAllActiveSessions().size());
+
+        sessionManager.closeAllSessions(null);
+        Assert.assertTrue(sessionManager.getAllActiveSessions().isEmpty());
+        sessionManager.dispose();
+    }
+
+    private static HttpServletRequest mockRequest(String sessionId) {
+        return mockRequest(sessionId, true);
+    }
+
+    private static HttpServletRequest mockRequest(String sessionId, boolean newSession) {
+        HttpSession httpSession = Mockito.mock(HttpSession.class);
+        Mockito.when(httpSession.getId()).thenReturn(sessionId);
+        Mockito.when(httpSession.isNew()).thenReturn(newSession);
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getSession()).thenReturn(httpSession);
+        Mockito.when(request.getSession(Mockito.anyBoolean())).thenReturn(httpSession);
+        Mockito.when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.jkiss.dbeaver.Log;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares MessagePack result payload with JSON payload of the same results returned by GraphQL API.
+ */
+public class WebSQLMessagePackBenchmarkTest {
+    private static final Log log = Log.getLog(WebSQLMessagePackBenchmarkTest.class);
+
+    private static final int ROW_COUNT = 10000;
+    private static final int ITERATIONS = 20;
+
+    // Same settings as GraphQL endpoint uses for responses
+    private static final Gson gson = new GsonBuilder()
+        .serializeNulls()
+        .create();
+
+    @Test
+    public void benchmarkResultPayload() throws Exception {
+        WebSQLExecuteInfo executeInfo = makeExecuteInfo();
+        Map<String, Object> msgpackResult = WebSQLUtils.serializeExecuteInfo(executeInfo, -1);
+        Assert.assertNotNull(msgpackResult);
+        Map<String, Object> jsonResult = makeGraphQLResult(executeInfo);
+
+        byte[] msgpackData = WebSQLMessagePackWriterTest.encode(msgpackResult);
+        byte[] jsonData = writeJson(jsonResult);
+
+        Map<?, ?> decoded = (Map<?, ?>) WebSQLMessagePackWriterTest.decode(msgpackData);
+        Map<?, ?> decodedResultSet = (Map<?, ?>) ((Map<?, ?>) ((List<?>) decoded.get("results")).get(0)).get("resultSet");
+        Assert.assertEquals(ROW_COUNT, ((List<?>) decodedResultSet.get("rows")).size());
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            WebSQLMessagePackWriterTest.encode(WebSQLUtils.serializeExecuteInfo(executeInfo, -1));
+        }
+        long msgpackTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            writeJson(makeGraphQLResult(executeInfo));
+        }
+        long jsonTime = System.nanoTime() - startTime;
+
+        log.info(ROW_COUNT + " rows payload: MessagePack " + msgpackData.length + " bytes, "
+            + TimeUnit.NANOSECONDS.toMicros(msgpackTime / ITERATIONS) + "us/op; JSON "
+            + jsonData.length + " bytes, " + TimeUnit.NANOSECONDS.toMicros(jsonTime / ITERATIONS) + "us/op");
+        Assert.assertTrue("MessagePack payload is larger than JSON", msgpackData.length < jsonData.length);
+    }
+
+    private static WebSQLExecuteInfo makeExecuteInfo() throws Exception {
+        Random random = new Random(ROW_COUNT);
+        List<WebSQLQueryResultSetRow> rows = new ArrayList<>(ROW_COUNT);
+        long baseTime = Timestamp.valueOf("2025-01-01 12:00:00").getTime();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Object[] values = {
+                i,
+                "customer-" + random.nextInt(100000),
+                random.nextDouble() * 1000,
+                new BigDecimal(random.nextInt(1000000)).movePointLeft(2),
+                random.nextBoolean(),
+                i % 10 == 0 ? null : new Timestamp(baseTime + TimeUnit.DAYS.toMillis(i % 28))
+            };
+            // Rows contain values converted as query data receiver does, numbers and dates are sent as strings
+            for (int k = 0; k < values.length; k++) {
+                values[k] = WebSQLUtils.makeWebCellValue(null, null, values[k], WebDataFormat.resultset);
+            }
+            rows.add(new WebSQLQueryResultSetRow(values, null));
+        }
+        WebSQLQueryResultSet resultSet = new WebSQLQueryResultSet();
+        resultSet.setRows(rows);
+
+        WebSQLQueryResults results = Mockito.mock(WebSQLQueryResults.class);
+        Mockito.when(results.getDataFormat()).thenReturn(WebDataFormat.resultset);
+        Mockito.when(results.getResultSet()).thenReturn(resultSet);
+
+        WebSQLExecuteInfo executeInfo = new WebSQLExecuteInfo();
+        executeInfo.setStatusMessage("Success");
+        executeInfo.setFullQuery("SELECT * FROM customers");
+        executeInfo.setResults(new WebSQLQueryResults[] {results});
+        return executeInfo;
+    }
+
+    /**
+     * Builds a response of the {@code asyncSqlExecuteResults} query which fetches rows with metadata.
+     */
+    private static Map<String, Object> makeGraphQLResult(WebSQLExecuteInfo executeInfo) {
+        List<Map<String, Object>> resultList = new ArrayList<>();
+        for (WebSQLQueryResults results : executeInfo.getResults()) {
+            WebSQLQueryResultSet resultSet = results.getResultSet();
+            List<Map<String, Object>> rows = new ArrayList<>(resultSet.getRowCount());
+            for (WebSQLQueryResultSetRow row : resultSet.getRowsWithMetaData()) {
+                Map<String, Object> rowMap = new LinkedHashMap<>();
+                rowMap.put("data", row.getData());
+                rowMap.put("metaData", row.getMetaData());
+                rows.add(rowMap);
+            }
+            Map<String, Object> resultSetMap = new LinkedHashMap<>();
+            resultSetMap.put("id", resultSet.getId());
+            resultSetMap.put("columns", resultSet.getColumns());
+            resultSetMap.put("rowsWithMetaData", rows);
+            resultSetMap.put("hasMoreData", resultSet.isHasMoreData());
+            resultSetMap.put("singleEntity", resultSet.isSingleEntity());
+            resultSetMap.put("hasRowIdentifier", resultSet.isHasRowIdentifier());
+            resultSetMap.put("hasChildrenCollection", resultSet.isHasChildrenCollection());
+            resultSetMap.put("isSupportsDataFilter", resultSet.isSupportsDataFilter());
+            resultSetMap.put("hasDynamicTrace", resultSet.isHasDynamicTrace());
+
+            Map<String, Object> resultMap = new LinkedHashMap<>();
+            resultMap.put("updateRowCount", results.getUpdateRowCount());
+            resultMap.put("dataFormat", results.getDataFormat());
+            resultMap.put("resultSet", resultSetMap);
+            resultList.add(resultMap);
+        }
+        Map<String, Object> executeInfoMap = new LinkedHashMap<>();
+        executeInfoMap.put("statusMessage", executeInfo.getStatusMessage());
+        executeInfoMap.put("duration", executeInfo.getDuration());
+        executeInfoMap.put("filterText", executeInfo.getFilterText());
+        executeInfoMap.put("fullQuery", executeInfo.getFullQuery());
+        executeInfoMap.put("results", resultList);
+        return Map.of("data", Map.of("result", executeInfoMap));
+    }
+
+    private static byte[] writeJson(Object result) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8)) {
+            gson.toJson(result, writer);
+        }
+        return buffer.toByteArray();
+    }
+}
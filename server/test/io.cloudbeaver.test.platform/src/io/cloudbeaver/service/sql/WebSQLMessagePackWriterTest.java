@@ -0,0 +1,269 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class WebSQLMessagePackWriterTest {
+
+    @Test
+    public void testIntegerBoundaries() throws IOException {
+        assertEncoding(0L, 0x00);
+        assertEncoding(127L, 0x7f);
+        assertEncoding(128L, 0xcc);
+        assertEncoding(255L, 0xcc);
+        assertEncoding(256L, 0xcd);
+        assertEncoding(65535L, 0xcd);
+        assertEncoding(65536L, 0xce);
+        assertEncoding(0xffffffffL, 0xce);
+        assertEncoding(0x100000000L, 0xcf);
+        assertEncoding(Long.MAX_VALUE, 0xcf);
+
+        assertEncoding(-1L, 0xff);
+        assertEncoding(-32L, 0xe0);
+        assertEncoding(-33L, 0xd0);
+        assertEncoding(-128L, 0xd0);
+        assertEncoding(-129L, 0xd1);
+        assertEncoding(-32768L, 0xd1);
+        assertEncoding(-32769L, 0xd2);
+        assertEncoding((long) Integer.MIN_VALUE, 0xd2);
+        assertEncoding(Integer.MIN_VALUE - 1L, 0xd3);
+        assertEncoding(Long.MIN_VALUE, 0xd3);
+
+        // Narrow java types are written as integers too
+        Assert.assertEquals(-5L, decode(encode((byte) -5)));
+        Assert.assertEquals(300L, decode(encode((short) 300)));
+        Assert.assertEquals(70000L, decode(encode(70000)));
+    }
+
+    @Test
+    public void testStringBoundaries() throws IOException {
+        assertEncoding("", 0xa0);
+        assertEncoding("a".repeat(31), 0xbf);
+        assertEncoding("a".repeat(32), 0xd9);
+        assertEncoding("a".repeat(255), 0xd9);
+        assertEncoding("a".repeat(256), 0xda);
+        assertEncoding("a".repeat(65535), 0xda);
+        assertEncoding("a".repeat(65536), 0xdb);
+        // Length is counted in UTF-8 bytes, not in characters
+        assertEncoding("ж".repeat(15), 0xbe);
+        assertEncoding("ж".repeat(16), 0xd9);
+    }
+
+    @Test
+    public void testBinaryBoundaries() throws IOException {
+        for (int length : new int[] {0, 255}) {
+            assertBinaryEncoding(length, 0xc4);
+        }
+        for (int length : new int[] {256, 65535}) {
+            assertBinaryEncoding(length, 0xc5);
+        }
+        assertBinaryEncoding(65536, 0xc6);
+    }
+
+    @Test
+    public void testContainerBoundaries() throws IOException {
+        assertEncoding(makeList(0), 0x90);
+        assertEncoding(makeList(15), 0x9f);
+        assertEncoding(makeList(16), 0xdc);
+        assertEncoding(makeList(65535), 0xdc);
+        assertEncoding(makeList(65536), 0xdd);
+
+        assertEncoding(makeMap(0), 0x80);
+        assertEncoding(makeMap(15), 0x8f);
+        assertEncoding(makeMap(16), 0xde);
+        assertEncoding(makeMap(65535), 0xde);
+        assertEncoding(makeMap(65536), 0xdf);
+    }
+
+    @Test
+    public void testValues() throws IOException {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("null", null);
+        value.put("true", true);
+        value.put("false", false);
+        value.put("double", 1.5d);
+        value.put("float", 0.25f);
+        value.put("decimal", new BigDecimal("12345678901234567890.000001"));
+        value.put("enum", WebDataFormat.resultset);
+        value.put("row", new Object[] {1, "text", null, new byte[] {1, 2, 3}});
+
+        Map<String, Object> decoded = (Map<String, Object>) decode(encode(value));
+        Assert.assertEquals(new ArrayList<>(value.keySet()), new ArrayList<>(decoded.keySet()));
+        Assert.assertTrue(decoded.containsKey("null"));
+        Assert.assertNull(decoded.get("null"));
+        Assert.assertEquals(true, decoded.get("true"));
+        Assert.assertEquals(false, decoded.get("false"));
+        Assert.assertEquals(1.5d, decoded.get("double"));
+        Assert.assertEquals(0.25d, decoded.get("float"));
+        Assert.assertEquals("12345678901234567890.000001", decoded.get("decimal"));
+        Assert.assertEquals("resultset", decoded.get("enum"));
+        List<Object> row = (List<Object>) decoded.get("row");
+        Assert.assertEquals(4, row.size());
+        Assert.assertEquals(1L, row.get(0));
+        Assert.assertEquals("text", row.get(1));
+        Assert.assertNull(row.get(2));
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) row.get(3));
+    }
+
+    private static void assertEncoding(Object value, int formatByte) throws IOException {
+        byte[] data = encode(value);
+        Assert.assertEquals("Format of " + describe(value), formatByte, data[0] & 0xff);
+        Assert.assertEquals("Value of " + describe(value), value, decode(data));
+    }
+
+    private static void assertBinaryEncoding(int length, int formatByte) throws IOException {
+        byte[] value = new byte[length];
+        new Random(length).nextBytes(value);
+        byte[] data = encode(value);
+        Assert.assertEquals("Format of binary[" + length + "]", formatByte, data[0] & 0xff);
+        Assert.assertArrayEquals(value, (byte[]) decode(data));
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof String str) {
+            return "string[" + str.length() + "]";
+        } else if (value instanceof Collection<?> collection) {
+            return "array[" + collection.size() + "]";
+        } else if (value instanceof Map<?, ?> map) {
+            return "map[" + map.size() + "]";
+        }
+        return String.valueOf(value);
+    }
+
+    private static List<Object> makeList(int size) {
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add((long) i);
+        }
+        return list;
+    }
+
+    private static Map<String, Object> makeMap(int size) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put("k" + i, (long) i);
+        }
+        return map;
+    }
+
+    static byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        WebSQLMessagePackWriter writer = new WebSQLMessagePackWriter(buffer);
+        writer.writeValue(value);
+        writer.flush();
+        return buffer.toByteArray();
+    }
+
+    static Object decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        Object value = readValue(in);
+        Assert.assertEquals("Trailing bytes", -1, in.read());
+        return value;
+    }
+
+    /**
+     * Reference decoder written from the format specification,
+     * see https://github.com/msgpack/msgpack/blob/master/spec.md
+     */
+    private static Object readValue(DataInputStream in) throws IOException {
+        int format = in.readUnsignedByte();
+        if (format <= 0x7f) {
+            return (long) format;
+        } else if (format <= 0x8f) {
+            return readMap(in, format & 0x0f);
+        } else if (format <= 0x9f) {
+            return readArray(in, format & 0x0f);
+        } else if (format <= 0xbf) {
+            return readString(in, format & 0x1f);
+        } else if (format >= 0xe0) {
+            return (long) (byte) format;
+        }
+        return switch (format) {
+            case 0xc0 -> null;
+            case 0xc2 -> false;
+            case 0xc3 -> true;
+            case 0xc4 -> readBytes(in, in.readUnsignedByte());
+            case 0xc5 -> readBytes(in, in.readUnsignedShort());
+            case 0xc6 -> readBytes(in, readLength(in));
+            case 0xca -> (double) in.readFloat();
+            case 0xcb -> in.readDouble();
+            case 0xcc -> (long) in.readUnsignedByte();
+            case 0xcd -> (long) in.readUnsignedShort();
+            case 0xce -> in.readInt() & 0xffffffffL;
+            case 0xcf -> {
+                long value = in.readLong();
+                Assert.assertTrue("uint64 overflow", value >= 0);
+                yield value;
+            }
+            case 0xd0 -> (long) in.readByte();
+            case 0xd1 -> (long) in.readShort();
+            case 0xd2 -> (long) in.readInt();
+            case 0xd3 -> in.readLong();
+            case 0xd9 -> readString(in, in.readUnsignedByte());
+            case 0xda -> readString(in, in.readUnsignedShort());
+            case 0xdb -> readString(in, readLength(in));
+            case 0xdc -> readArray(in, in.readUnsignedShort());
+            case 0xdd -> readArray(in, readLength(in));
+            case 0xde -> readMap(in, in.readUnsignedShort());
+            case 0xdf -> readMap(in, readLength(in));
+            default -> throw new IOException("Unsupported format 0x" + Integer.toHexString(format));
+        };
+    }
+
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Length is too big");
+        }
+        return length;
+    }
+
+    private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static String readString(DataInputStream in, int length) throws IOException {
+        return new String(readBytes(in, length), StandardCharsets.UTF_8);
+    }
+
+    private static List<Object> readArray(DataInputStream in, int size) throws IOException {
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readValue(in));
+        }
+        return list;
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in, int size) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Object key = readValue(in);
+            Assert.assertTrue("Map key must be a string", key instanceof String);
+            map.put((String) key, readValue(in));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.meta.MetaData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares cached metadata accessors with the per-cell reflection lookup used before.
+ * It is a manual benchmark, it is not a part of the test suite.
+ */
+public class WebSQLMetaDataExtractorBenchmarkTest {
+    private static final Log log = Log.getLog(WebSQLMetaDataExtractorBenchmarkTest.class);
+
+    private static final int ROW_COUNT = 10000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+
+    public static class TestCellValue {
+        private final int index;
+
+        public TestCellValue(int index) {
+            this.index = index;
+        }
+
+        @MetaData(name = "index")
+        public int getIndex() {
+            return index;
+        }
+
+        @MetaData(name = "label")
+        public String getLabel() {
+            return "value-" + index;
+        }
+
+        @Override
+        public String toString() {
+            return getLabel();
+        }
+    }
+
+    @Test
+    public void benchmarkMetaDataExtraction() throws Exception {
+        List<Object[]> rows = makeRows();
+        for (Object[] row : rows) {
+            Assert.assertEquals(extractWithReflection(row), extractCached(row));
+        }
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            extractAll(rows, false);
+            extractAll(rows, true);
+        }
+        // Results are summed so extraction is not optimized out
+        int reflectionCount = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            reflectionCount += extractAll(rows, false);
+        }
+        long reflectionTime = System.nanoTime() - startTime;
+
+        int cachedCount = 0;
+        startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            cachedCount += extractAll(rows, true);
+        }
+        long cachedTime = System.nanoTime() - startTime;
+        Assert.assertEquals(reflectionCount, cachedCount);
+
+        log.info(ROW_COUNT + " rows metadata: per-cell reflection "
+            + TimeUnit.NANOSECONDS.toMicros(reflectionTime / ITERATIONS) + "us/op, cached accessors "
+            + TimeUnit.NANOSECONDS.toMicros(cachedTime / ITERATIONS) + "us/op");
+    }
+
+    private static List<Object[]> makeRows() {
+        List<Object[]> rows = new ArrayList<>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows.add(new Object[] {
+                i,
+                "customer-" + i,
+                i * 0.5,
+                i % 2 == 0,
+                new TestCellValue(i),
+                i % 10 == 0 ? null : new StringBuilder("note-").append(i)
+            });
+        }
+        return rows;
+    }
+
+    private static int extractAll(List<Object[]> rows, boolean cached) throws Exception {
+        int metaDataCount = 0;
+        for (Object[] row : rows) {
+            Map<String, Object> metaData = cached ? extractCached(row) : extractWithReflection(row);
+            if (metaData != null) {
+                metaDataCount += metaData.size();
+            }
+        }
+        return metaDataCount;
+    }
+
+    private static Map<String, Object> extractCached(Object[] row) throws Exception {
+        Map<String, Object> metaDataMap = null;
+        for (Object cellValue : row) {
+            if (cellValue != null) {
+                metaDataMap = WebSQLMetaDataExtractor.extractMetaData(cellValue, metaDataMap);
+            }
+        }
+        return metaDataMap;
+    }
+
+    /**
+     * Metadata lookup as it was done in {@link WebSQLQueryDataReceiver} for each cell.
+     */
+    private static Map<String, Object> extractWithReflection(Object[] row) throws Exception {
+        Map<String, Object> metaDataMap = null;
+        for (Object cellValue : row) {
+            if (cellValue == null) {
+                continue;
+            }
+            for (Method method : cellValue.getClass().getMethods()) {
+                if (method.isAnnotationPresent(MetaData.class)) {
+                    if (metaDataMap == null) {
+                        metaDataMap = new HashMap<>();
+                    }
+                    metaDataMap.put(method.getAnnotation(MetaData.class).name(), method.invoke(cellValue));
+                }
+            }
+        }
+        return metaDataMap;
+    }
+}
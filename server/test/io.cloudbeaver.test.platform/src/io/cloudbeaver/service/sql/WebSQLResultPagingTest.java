@@ -0,0 +1,219 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import io.cloudbeaver.DBWebException;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDRowIdentifier;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WebSQLResultPagingTest {
+
+    private static final int PAGE_SIZE = 200;
+    private static final int THREAD_COUNT = 16;
+
+    @Test
+    public void testKeysetIsOptional() {
+        Assert.assertFalse(new WebSQLDataFilter().isUseKeyset());
+        Assert.assertFalse(new WebSQLDataFilter(Map.of("offset", PAGE_SIZE)).isUseKeyset());
+        Assert.assertTrue(new WebSQLDataFilter(Map.of("offset", PAGE_SIZE, "useKeyset", true)).isUseKeyset());
+    }
+
+    @Test
+    public void testKeysetFilter() {
+        DBDAttributeBinding keyAttribute = mockKeyAttribute();
+        WebSQLResultsInfo resultsInfo = makeResultsInfo(keyAttribute, 42);
+
+        DBDAttributeConstraint orderConstraint = new DBDAttributeConstraint(keyAttribute);
+        orderConstraint.setOrderPosition(1);
+        DBDDataFilter dataFilter = new DBDDataFilter(List.of(orderConstraint));
+
+        DBDDataFilter keysetFilter = WebSQLProcessor.makeKeysetDataFilter(resultsInfo, dataFilter, PAGE_SIZE);
+        Assert.assertNotNull(keysetFilter);
+        Assert.assertNotSame(dataFilter, keysetFilter);
+        DBDAttributeConstraint keyConstraint = keysetFilter.getConstraints().get(0);
+        Assert.assertEquals(DBCLogicalOperator.GREATER, keyConstraint.getOperator());
+        Assert.assertEquals(42, keyConstraint.getValue());
+        // Key condition must not leak into the user filter
+        Assert.assertNull(orderConstraint.getOperator());
+        Assert.assertNull(orderConstraint.getValue());
+
+        orderConstraint.setOrderDescending(true);
+        keysetFilter = WebSQLProcessor.makeKeysetDataFilter(resultsInfo, dataFilter, PAGE_SIZE);
+        Assert.assertNotNull(keysetFilter);
+        Assert.assertEquals(DBCLogicalOperator.LESS, keysetFilter.getConstraints().get(0).getOperator());
+
+        // Page doesn't follow the previous one
+        Assert.assertNull(WebSQLProcessor.makeKeysetDataFilter(resultsInfo, dataFilter, PAGE_SIZE * 2));
+    }
+
+    @Test
+    public void testKeysetRequiresKeyOrdering() {
+        DBDAttributeBinding keyAttribute = mockKeyAttribute();
+        WebSQLResultsInfo resultsInfo = makeResultsInfo(keyAttribute, 42);
+
+        // Not ordered
+        DBDDataFilter dataFilter = new DBDDataFilter(List.of(new DBDAttributeConstraint(keyAttribute)));
+        Assert.assertNull(WebSQLProcessor.makeKeysetDataFilter(resultsInfo, dataFilter, PAGE_SIZE));
+
+        // Ordered by another attribute
+        DBDAttributeConstraint otherConstraint = new DBDAttributeConstraint(Mockito.mock(DBDAttributeBinding.class));
+        otherConstraint.setOrderPosition(1);
+        dataFilter = new DBDDataFilter(List.of(otherConstraint));
+        Assert.assertNull(WebSQLProcessor.makeKeysetDataFilter(resultsInfo, dataFilter, PAGE_SIZE));
+
+        // Key already has a condition
+        DBDAttributeConstraint keyConstraint = new DBDAttributeConstraint(keyAttribute);
+        keyConstraint.setOrderPosition(1);
+        keyConstraint.setOperator(DBCLogicalOperator.EQUALS);
+        keyConstraint.setValue(1);
+        dataFilter = new DBDDataFilter(List.of(keyConstraint));
+        Assert.assertNull(WebSQLProcessor.makeKeysetDataFilter(resultsInfo, dataFilter, PAGE_SIZE));
+    }
+
+    @Test
+    public void testCursorClaimIsExclusive() throws Exception {
+        WebSQLDataFilter firstPage = new WebSQLDataFilter(Map.of("limit", PAGE_SIZE, "useCursor", true));
+        WebSQLResultCursor cursor = makeCursor(firstPage);
+        WebSQLDataFilter nextPage = new WebSQLDataFilter(Map.of("offset", 0, "limit", PAGE_SIZE, "useCursor", true));
+
+        AtomicInteger claimCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                if (cursor.claimNextPage(nextPage)) {
+                    claimCount.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        Assert.assertEquals("Page consumed by several requests", 1, claimCount.get());
+    }
+
+    @Test
+    public void testCursorClosedByOtherFilter() {
+        WebSQLDataFilter firstPage = new WebSQLDataFilter(Map.of("limit", PAGE_SIZE, "useCursor", true));
+        WebSQLResultCursor cursor = makeCursor(firstPage);
+
+        WebSQLDataFilter otherPage = new WebSQLDataFilter(Map.of("offset", PAGE_SIZE * 3, "limit", PAGE_SIZE));
+        Assert.assertFalse(cursor.claimNextPage(otherPage));
+        // Cursor was closed
+        Assert.assertFalse(cursor.claimNextPage(firstPage));
+    }
+
+    @Test
+    public void testCursorReadErrorAfterFirstPage() throws Exception {
+        DBCSession session = Mockito.mock(DBCSession.class);
+        DBCExecutionContext cursorContext = Mockito.mock(DBCExecutionContext.class);
+        Mockito.when(cursorContext.openSession(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(session);
+        DBSInstance instance = Mockito.mock(DBSInstance.class);
+        Mockito.when(instance.openIsolatedContext(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(cursorContext);
+        DBCExecutionContext executionContext = Mockito.mock(DBCExecutionContext.class);
+        Mockito.when(executionContext.getOwnerInstance()).thenReturn(instance);
+        DBSDataContainer dataContainer = Mockito.mock(DBSDataContainer.class);
+
+        WebSQLDataFilter firstPage = new WebSQLDataFilter(Map.of("limit", PAGE_SIZE, "useCursor", true));
+        WebSQLResultCursor cursor = new WebSQLResultCursor(
+            Mockito.mock(WebSQLContextInfo.class),
+            executionContext,
+            dataContainer,
+            new DBDDataFilter(),
+            firstPage,
+            null,
+            60000);
+        // Reader returns the first page and fails on the second one
+        Mockito.when(dataContainer.readData(
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyLong(), Mockito.anyLong(), Mockito.anyLong(), Mockito.anyInt())
+        ).thenAnswer(invocation -> {
+            WebSQLQueryResultSet resultSet = new WebSQLQueryResultSet();
+            resultSet.setResultsInfo(new WebSQLResultsInfo(dataContainer, "1"));
+            cursor.onResultStart(resultSet);
+            List<WebSQLQueryResultSetRow> rows = new ArrayList<>();
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                rows.add(new WebSQLQueryResultSetRow(new Object[]{i}, null));
+            }
+            cursor.onResultRows(rows);
+            throw new DBCException("Connection lost");
+        });
+
+        Assert.assertTrue(cursor.claimNextPage(firstPage));
+        cursor.open();
+        WebSQLQueryResultSet page = cursor.nextPage(new VoidProgressMonitor());
+        Assert.assertEquals(PAGE_SIZE, page.getRowCount());
+        Assert.assertTrue(page.isHasMoreData());
+
+        WebSQLDataFilter secondPage = new WebSQLDataFilter(
+            Map.of("offset", PAGE_SIZE, "limit", PAGE_SIZE, "useCursor", true));
+        Assert.assertTrue(cursor.claimNextPage(secondPage));
+        // Error must not look like the end of data
+        DBWebException error = Assert.assertThrows(DBWebException.class, () -> cursor.nextPage(new VoidProgressMonitor()));
+        Assert.assertTrue(error.getCause() instanceof DBCException);
+    }
+
+    private static WebSQLResultCursor makeCursor(WebSQLDataFilter webFilter) {
+        return new WebSQLResultCursor(
+            Mockito.mock(WebSQLContextInfo.class),
+            Mockito.mock(DBCExecutionContext.class),
+            Mockito.mock(DBSDataContainer.class),
+            new DBDDataFilter(),
+            webFilter,
+            null,
+            60000);
+    }
+
+    private static DBDAttributeBinding mockKeyAttribute() {
+        DBDAttributeBinding keyAttribute = Mockito.mock(DBDAttributeBinding.class);
+        DBDRowIdentifier rowIdentifier = Mockito.mock(DBDRowIdentifier.class);
+        Mockito.when(rowIdentifier.getAttributes()).thenReturn(List.of(keyAttribute));
+        Mockito.when(keyAttribute.getRowIdentifier()).thenReturn(rowIdentifier);
+        return keyAttribute;
+    }
+
+    private static WebSQLResultsInfo makeResultsInfo(DBDAttributeBinding keyAttribute, Object lastKey) {
+        WebSQLResultsInfo resultsInfo = new WebSQLResultsInfo(Mockito.mock(DBSDataContainer.class), "1");
+        resultsInfo.setAttributes(new DBDAttributeBinding[]{keyAttribute});
+        resultsInfo.setLastRowKey(new Object[]{lastKey});
+        resultsInfo.setNextRowOffset(PAGE_SIZE);
+        return resultsInfo;
+    }
+}
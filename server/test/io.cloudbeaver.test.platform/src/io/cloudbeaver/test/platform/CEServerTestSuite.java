@@ -20,6 +20,18 @@ package io.cloudbeaver.test.platform;
 import io.cloudbeaver.app.CEAppStarter;
 import io.cloudbeaver.model.rm.RMNIOTest;
 import io.cloudbeaver.model.rm.lock.RMLockTest;
+import io.cloudbeaver.model.session.WebAsyncTaskSchedulerTest;
+import io.cloudbeaver.model.session.WebSessionEventsIndexTest;
+import io.cloudbeaver.server.graphql.GraphQLBatchExecutorTest;
+import io.cloudbeaver.server.graphql.GraphQLPersistedQueryStoreTest;
+import io.cloudbeaver.server.graphql.GraphQLResponseOutputStreamTest;
+import io.cloudbeaver.server.websockets.CBAbstractWebSocketTest;
+import io.cloudbeaver.service.WebDownloadUtilsTest;
+import io.cloudbeaver.service.security.CBPermissionsCacheTest;
+import io.cloudbeaver.service.security.CBProjectPermissionsTest;
+import io.cloudbeaver.service.session.CBSessionManagerTest;
+import io.cloudbeaver.service.sql.WebSQLMessagePackWriterTest;
+import io.cloudbeaver.service.sql.WebSQLResultPagingTest;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.runner.RunWith;
@@ -33,7 +45,19 @@ import org.junit.runners.Suite;
         AuthenticationTest.class,
         ResourceManagerTest.class,
         RMLockTest.class,
-        RMNIOTest.class
+        RMNIOTest.class,
+        CBSessionManagerTest.class,
+        GraphQLBatchExecutorTest.class,
+        GraphQLPersistedQueryStoreTest.class,
+        GraphQLResponseOutputStreamTest.class,
+        WebSQLResultPagingTest.class,
+        WebDownloadUtilsTest.class,
+        WebSQLMessagePackWriterTest.class,
+        WebAsyncTaskSchedulerTest.class,
+        WebSessionEventsIndexTest.class,
+        CBAbstractWebSocketTest.class,
+        CBPermissionsCacheTest.class,
+        CBProjectPermissionsTest.class
     }
 )
 public class CEServerTestSuite {
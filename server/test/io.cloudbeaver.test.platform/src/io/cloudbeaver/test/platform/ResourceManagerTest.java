@@ -20,6 +20,7 @@ package io.cloudbeaver.test.platform;
 import io.cloudbeaver.CloudbeaverMockTest;
 import io.cloudbeaver.app.CEAppStarter;
 import io.cloudbeaver.model.rm.local.LocalResourceController;
+import io.cloudbeaver.model.rm.local.RMResourceMetadataCache;
 import io.cloudbeaver.server.CBApplication;
 import io.cloudbeaver.test.WebGQLClient;
 import org.jkiss.code.NotNull;
@@ -32,7 +33,10 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public class ResourceManagerTest extends CloudbeaverMockTest {
 
@@ -46,6 +50,22 @@ public class ResourceManagerTest extends CloudbeaverMockTest {
             forceOverwrite: $forceOverwrite
           )
         }""";
+    private static final String GQL_RESOURCES_CREATE_EMPTY = """
+        mutation rmCreateResource($projectId: String!, $resourcePath: String!, $isFolder: Boolean!) {
+          result: rmCreateResource(
+            projectId: $projectId
+            resourcePath: $resourcePath
+            isFolder: $isFolder
+          )
+        }""";
+    private static final String GQL_RESOURCES_MOVE = """
+        mutation rmMoveResource($projectId: String!, $oldResourcePath: String!, $newResourcePath: String) {
+          result: rmMoveResource(
+            projectId: $projectId
+            oldResourcePath: $oldResourcePath
+            newResourcePath: $newResourcePath
+          )
+        }""";
     private static final String GQL_RESOURCES_DELETE = """
         mutation rmDeleteResource($projectId: String!, $resourcePath: String!, $recursive: Boolean!) {
           result: rmDeleteResource(
@@ -65,6 +85,7 @@ public class ResourceManagerTest extends CloudbeaverMockTest {
           ) {
             name
             folder
+            length
           }
         }""";
 
@@ -99,6 +120,49 @@ public class ResourceManagerTest extends CloudbeaverMockTest {
         );
     }
 
+    @Test
+    public void resourceChangesInvalidateListingsTest() throws Exception {
+        String projectId = "u_test";
+        String folder = "cacheTestFolder";
+        String resourcePath = folder + "/cacheTestScript.sql";
+        String movedResourcePath = folder + "/cacheTestScriptMoved.sql";
+
+        // Listings are cached after the first read
+        Assert.assertFalse(listResources(projectId, null).containsKey(folder));
+        long invalidations = getCacheInvalidations();
+        client.sendQuery(GQL_RESOURCES_CREATE_EMPTY, Map.of("projectId", projectId, "resourcePath", folder, "isFolder", true));
+        invalidations = assertInvalidated(invalidations);
+        Map<String, Object> rootResources = listResources(projectId, null);
+        Assert.assertTrue(rootResources.containsKey(folder));
+        Assert.assertEquals(true, JSONUtils.getObject(rootResources, folder).get("folder"));
+
+        Assert.assertTrue(listResources(projectId, folder).isEmpty());
+        client.sendQuery(GQL_RESOURCES_CREATE_EMPTY, Map.of("projectId", projectId, "resourcePath", resourcePath, "isFolder", false));
+        invalidations = assertInvalidated(invalidations);
+        Assert.assertEquals(0, getResourceLength(projectId, folder, "cacheTestScript.sql"));
+
+        Assert.assertTrue(createResource(projectId, resourcePath, true));
+        invalidations = assertInvalidated(invalidations);
+        Assert.assertEquals("TEST SCRIPT".length(), getResourceLength(projectId, folder, "cacheTestScript.sql"));
+
+        client.sendQuery(GQL_RESOURCES_MOVE, Map.of(
+            "projectId", projectId,
+            "oldResourcePath", resourcePath,
+            "newResourcePath", movedResourcePath));
+        invalidations = assertInvalidated(invalidations);
+        Map<String, Object> folderResources = listResources(projectId, folder);
+        Assert.assertFalse(folderResources.containsKey("cacheTestScript.sql"));
+        Assert.assertTrue(folderResources.containsKey("cacheTestScriptMoved.sql"));
+
+        Assert.assertTrue(deleteResource(projectId, movedResourcePath));
+        invalidations = assertInvalidated(invalidations);
+        Assert.assertTrue(listResources(projectId, folder).isEmpty());
+
+        Assert.assertTrue(deleteResource(projectId, folder));
+        assertInvalidated(invalidations);
+        Assert.assertFalse(listResources(projectId, null).containsKey(folder));
+    }
+
     private boolean createResource(@NotNull String projectId, @NotNull String resourcePath, boolean forceOverwrite) throws Exception {
         Map<String, Object> variables = Map.of(
             "projectId", projectId,
@@ -119,4 +183,39 @@ public class ResourceManagerTest extends CloudbeaverMockTest {
         return client.sendQuery(GQL_RESOURCES_DELETE, variables);
     }
 
+    /**
+     * Returns resources of the folder by name
+     */
+    @NotNull
+    private Map<String, Object> listResources(@NotNull String projectId, String folder) throws Exception {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("projectId", projectId);
+        if (folder != null) {
+            variables.put("folder", folder);
+        }
+        List<Map<String, Object>> resources = client.sendQuery(GQL_RESOURCES_LIST, variables);
+        return resources.stream().collect(Collectors.toMap(resource -> JSONUtils.getString(resource, "name"), resource -> resource));
+    }
+
+    private int getResourceLength(@NotNull String projectId, @NotNull String folder, @NotNull String name) throws Exception {
+        Map<String, Object> resource = JSONUtils.getObject(listResources(projectId, folder), name);
+        Assert.assertFalse("Resource '" + name + "' not found", resource.isEmpty());
+        return ((Number) resource.get("length")).intValue();
+    }
+
+    private static long getCacheInvalidations() {
+        Map<String, Object> infoMap = new HashMap<>();
+        RMResourceMetadataCache.getInstance().getStatusInfo(infoMap);
+        return (Long) infoMap.get("rm.metadataCache.invalidations");
+    }
+
+    /**
+     * Resource controller must invalidate listings itself, without waiting for the file watcher
+     */
+    private static long assertInvalidated(long previousInvalidations) {
+        long invalidations = getCacheInvalidations();
+        Assert.assertTrue("Resource listings were not invalidated", invalidations > previousInvalidations);
+        return invalidations;
+    }
+
 }